@@ -0,0 +1,106 @@
+package com.arm.cli.mergejsonfiles.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static com.fasterxml.jackson.core.JsonEncoding.UTF8;
+
+/**
+ * Generates input files of a given shape for benchmarks. Datasets are generated with a fixed seed, so every
+ * run & every merge engine sees the same input.
+ */
+public final class BenchmarkDataset {
+    private static final long SEED = 42;
+    private static final String[] CORES = {"Cortex-M0+", "Cortex-M3", "Cortex-M4", "Cortex-M7", "Cortex-M33", "Cortex-A53", "Cortex-A72"};
+
+    /**
+     * Dataset shapes, all generate roughly 100k board records except where the shape is about the count itself.
+     */
+    public enum Shape {
+        MANY_TINY_FILES(5_000, 20, 100_000, 50),
+        FEW_HUGE_FILES(4, 25_000, 100_000, 50),
+        HIGH_DUPLICATE_RATIO(200, 500, 5_000, 50),
+        MANY_VENDORS(100, 1_000, 100_000, 10_000),
+        FEW_VENDORS(100, 1_000, 100_000, 3);
+
+        private final int noOfFiles;
+        private final int boardsPerFile;
+        private final int uniqueBoards;
+        private final int noOfVendors;
+
+        Shape(final int noOfFiles,
+              final int boardsPerFile,
+              final int uniqueBoards,
+              final int noOfVendors) {
+            this.noOfFiles = noOfFiles;
+            this.boardsPerFile = boardsPerFile;
+            this.uniqueBoards = uniqueBoards;
+            this.noOfVendors = noOfVendors;
+        }
+    }
+
+    private BenchmarkDataset() {
+    }
+
+    /**
+     * Generates dataset files into the dir. Boards are picked from a pool of unique boards, so the pool size
+     * controls duplicate ratio.
+     *
+     * @param shape {@link Shape} of the dataset.
+     * @param sourceDirPath dir files are generated into.
+     *
+     * @return generated files sorted by file name.
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    public static List<Path> generate(final Shape shape,
+                                      final Path sourceDirPath) throws IOException {
+        final JsonFactory jsonFactory = new JsonFactory();
+        final Random random = new Random(SEED);
+        for (int fileIndex = 0; fileIndex < shape.noOfFiles; fileIndex++) {
+            final Path jsonFile = sourceDirPath.resolve("boards-%06d.json".formatted(fileIndex));
+            try (final JsonGenerator jsonGenerator = jsonFactory.createGenerator(jsonFile.toFile(), UTF8)) {
+                jsonGenerator.useDefaultPrettyPrinter();
+                jsonGenerator.writeStartObject();
+                jsonGenerator.writeFieldName("boards");
+                jsonGenerator.writeStartArray();
+                for (int index = 0; index < shape.boardsPerFile; index++) {
+                    final int boardId = random.nextInt(shape.uniqueBoards);
+                    jsonGenerator.writeStartObject();
+                    jsonGenerator.writeStringField("name", "Board-%07d".formatted(boardId));
+                    jsonGenerator.writeStringField("vendor", "Vendor %05d Inc.".formatted(boardId % shape.noOfVendors));
+                    jsonGenerator.writeStringField("core", CORES[boardId % CORES.length]);
+                    jsonGenerator.writeBooleanField("has_wifi", random.nextBoolean());
+                    jsonGenerator.writeEndObject();
+                }
+                jsonGenerator.writeEndArray();
+                jsonGenerator.writeEndObject();
+            }
+        }
+        try (final Stream<Path> paths = Files.list(sourceDirPath)) {
+            return paths.sorted(Comparator.comparing(Path::getFileName)).toList();
+        }
+    }
+
+    /**
+     * Deletes dir & everything below it.
+     *
+     * @param dirPath dir to delete.
+     *
+     * @throws IOException if an I/O error occurs during deleting files.
+     */
+    public static void delete(final Path dirPath) throws IOException {
+        try (final Stream<Path> paths = Files.walk(dirPath)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.arm.cli.mergejsonfiles.service;
+
+import com.arm.cli.mergejsonfiles.model.MergeOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares end-to-end merge of the available merge engines on the same datasets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MergeEngineBenchmark {
+    /**
+     * Merge engines, each one selected by its {@link MergeOptions}.
+     */
+    public enum Engine {
+        DEFAULT(MergeOptions::new),
+        PARALLEL(() -> new MergeOptions().withParallelism(Runtime.getRuntime().availableProcessors())),
+        EXTERNAL_SORT(() -> new MergeOptions().withMemoryBudgetBytes(16L * 1024 * 1024)),
+        COMPACT_INDEX(() -> new MergeOptions().withCompactIndex(true)),
+        HASH_INDEX(() -> new MergeOptions().withHashIndex(true)),
+        OFF_HEAP_STORE(() -> new MergeOptions().withOffHeapStore(true)),
+        INCREMENTAL_UNCHANGED(() -> new MergeOptions().withIncremental(true));
+
+        private final Supplier<MergeOptions> mergeOptions;
+
+        Engine(final Supplier<MergeOptions> mergeOptions) {
+            this.mergeOptions = mergeOptions;
+        }
+    }
+
+    @Param
+    public BenchmarkDataset.Shape shape;
+    @Param
+    public Engine engine;
+
+    private final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+    private Path workDirPath;
+    private Path sourceDirPath;
+    private Path outputFilePath;
+    private MergeOptions mergeOptions;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDirPath = Files.createTempDirectory("merge-json-files-benchmark-");
+        sourceDirPath = Files.createDirectory(workDirPath.resolve("source"));
+        outputFilePath = workDirPath.resolve("combined-json-file.json");
+        BenchmarkDataset.generate(shape, sourceDirPath);
+        mergeOptions = engine.mergeOptions.get();
+        // Incremental engine measures a re-merge with nothing changed, first merge builds the manifest
+        if (mergeOptions.isIncremental()) {
+            defaultMergeFilesService.merge(sourceDirPath, outputFilePath, mergeOptions);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkDataset.delete(workDirPath);
+    }
+
+    @Benchmark
+    public void merge() throws IOException {
+        defaultMergeFilesService.merge(sourceDirPath, outputFilePath, mergeOptions);
+    }
+}
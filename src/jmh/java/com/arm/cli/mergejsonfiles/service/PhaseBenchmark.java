@@ -0,0 +1,103 @@
+package com.arm.cli.mergejsonfiles.service;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+import com.arm.cli.mergejsonfiles.service.quarantine.LoggingRejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.quarantine.RejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single merge phases of {@link DefaultMergeFilesService} in isolation, each phase gets the output of
+ * the previous one prepared during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PhaseBenchmark {
+    @Param
+    public BenchmarkDataset.Shape shape;
+
+    private final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final RejectedRecordCollector rejectedRecordCollector = new LoggingRejectedRecordCollector();
+    private final BoardRecordBuffer boardRecordBuffer = new BoardRecordBuffer();
+    private Path workDirPath;
+    private Path sourceDirPath;
+    private Path outputFilePath;
+    private List<Path> jsonFiles;
+    private List<BoardRecordBuffer> parsedBoardRecordBuffers;
+    private TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDirPath = Files.createTempDirectory("merge-json-files-benchmark-");
+        sourceDirPath = Files.createDirectory(workDirPath.resolve("source"));
+        outputFilePath = workDirPath.resolve("combined-json-file.json");
+        jsonFiles = BenchmarkDataset.generate(shape, sourceDirPath);
+        parsedBoardRecordBuffers = new ArrayList<>(jsonFiles.size());
+        parsedJsonData = new TreeMap<>();
+        for (final Path jsonFile : jsonFiles) {
+            final BoardRecordBuffer parsedBoardRecordBuffer = new BoardRecordBuffer();
+            defaultMergeFilesService.parseJsonFile(jsonFactory, jsonFile.toFile(), parsedBoardRecordBuffer, rejectedRecordCollector);
+            defaultMergeFilesService.buildTreeMapData(parsedBoardRecordBuffer, parsedJsonData);
+            parsedBoardRecordBuffers.add(parsedBoardRecordBuffer);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkDataset.delete(workDirPath);
+    }
+
+    @Benchmark
+    public void parseJsonFile(final Blackhole blackhole) {
+        for (final Path jsonFile : jsonFiles) {
+            blackhole.consume(defaultMergeFilesService.parseJsonFile(jsonFactory, jsonFile.toFile(), boardRecordBuffer, rejectedRecordCollector));
+            blackhole.consume(boardRecordBuffer.size());
+        }
+    }
+
+    @Benchmark
+    public TreeMap<String, TreeMap<String, BoardDataSlice>> buildTreeMapData() {
+        final TreeMap<String, TreeMap<String, BoardDataSlice>> builtJsonData = new TreeMap<>();
+        for (final BoardRecordBuffer parsedBoardRecordBuffer : parsedBoardRecordBuffers) {
+            defaultMergeFilesService.buildTreeMapData(parsedBoardRecordBuffer, builtJsonData);
+        }
+        return builtJsonData;
+    }
+
+    @Benchmark
+    public void writeCombinedJsonFileData() throws IOException {
+        defaultMergeFilesService.writeCombinedJsonFileData(parsedJsonData, outputFilePath);
+    }
+
+    @Benchmark
+    public void merge() throws IOException {
+        defaultMergeFilesService.merge(sourceDirPath, outputFilePath);
+    }
+}
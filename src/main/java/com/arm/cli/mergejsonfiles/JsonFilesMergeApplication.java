@@ -1,7 +1,9 @@
 package com.arm.cli.mergejsonfiles;
 
 import com.arm.cli.mergejsonfiles.cli.CliExecutor;
+import com.arm.cli.mergejsonfiles.cli.JobsFileParser;
 import com.arm.cli.mergejsonfiles.cli.OptionParser;
+import com.arm.cli.mergejsonfiles.cli.ServerOptionParser;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.ExitCodeGenerator;
@@ -31,6 +33,10 @@ public class JsonFilesMergeApplication implements ApplicationRunner {
      * @param args program arguments.
      */
     public static void main(final String... args) {
+        // Combined records go to stdout, keep banner & logs out of them
+        if (OptionParser.writesToStandardOutput(args)) {
+            System.setOut(System.err);
+        }
         SpringApplication.run(JsonFilesMergeApplication.class, args);
     }
 
@@ -41,6 +47,18 @@ public class JsonFilesMergeApplication implements ApplicationRunner {
      */
     @Override
     public void run(final ApplicationArguments args) {
+        if (ServerOptionParser.isServerRequested(args)) {
+            terminateApplication(() -> cliExecutor
+                    .serve(new ServerOptionParser(args))
+                    .getValue());
+            return;
+        }
+        if (JobsFileParser.isJobsFileRequested(args)) {
+            terminateApplication(() -> cliExecutor
+                    .executeJobs(new JobsFileParser(args))
+                    .getValue());
+            return;
+        }
         terminateApplication(() -> cliExecutor
                 .execute(new OptionParser(args))
                 .getValue());
@@ -0,0 +1,80 @@
+package com.arm.cli.mergejsonfiles;
+
+import com.arm.cli.mergejsonfiles.cli.CliExecutor;
+import com.arm.cli.mergejsonfiles.cli.JobsFileParser;
+import com.arm.cli.mergejsonfiles.cli.OptionParser;
+import com.arm.cli.mergejsonfiles.cli.ServerOptionParser;
+import com.arm.cli.mergejsonfiles.config.JsonFilesMergeConfig;
+import com.arm.cli.mergejsonfiles.constants.ApplicationStatus;
+import com.arm.cli.mergejsonfiles.exception.ClientException;
+import com.arm.cli.mergejsonfiles.service.DefaultMergeFilesService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.arm.cli.mergejsonfiles.constants.ApplicationStatus.APPLICATION_FAILED;
+import static java.lang.System.exit;
+
+/**
+ * Plain launcher to start program without Spring application context, wires the same beans as
+ * {@link JsonFilesMergeConfig} by hand. Meant for short runs started many times e.g. from build pipelines.
+ */
+public final class JsonFilesMergeLauncher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonFilesMergeLauncher.class);
+
+    private JsonFilesMergeLauncher() {
+    }
+
+    /**
+     * Main method to start program.
+     *
+     * @param args program arguments.
+     */
+    public static void main(final String... args) {
+        // Combined records go to stdout, keep logs out of them
+        if (OptionParser.writesToStandardOutput(args)) {
+            System.setOut(System.err);
+        }
+        exit(launch(args).getValue());
+    }
+
+    /**
+     * Parses arguments & runs merge, all merges of a jobs file or the merge server.
+     *
+     * @param args program arguments.
+     *
+     * @return {@link ApplicationStatus} status of the application success/failure.
+     */
+    static ApplicationStatus launch(final String... args) {
+        if (ServerOptionParser.isServerRequested(args)) {
+            final ServerOptionParser serverOptionParser;
+            try {
+                serverOptionParser = new ServerOptionParser(args);
+            } catch (ClientException clientException) {
+                LOGGER.error(clientException.getMessage());
+                return APPLICATION_FAILED;
+            }
+            return new CliExecutor(new DefaultMergeFilesService())
+                    .serve(serverOptionParser);
+        }
+        if (JobsFileParser.isJobsFileRequested(args)) {
+            final JobsFileParser jobsFileParser;
+            try {
+                jobsFileParser = new JobsFileParser(args);
+            } catch (ClientException clientException) {
+                LOGGER.error(clientException.getMessage());
+                return APPLICATION_FAILED;
+            }
+            return new CliExecutor(new DefaultMergeFilesService())
+                    .executeJobs(jobsFileParser);
+        }
+        final OptionParser optionParser;
+        try {
+            optionParser = new OptionParser(args);
+        } catch (ClientException clientException) {
+            LOGGER.error(clientException.getMessage());
+            return APPLICATION_FAILED;
+        }
+        return new CliExecutor(new DefaultMergeFilesService())
+                .execute(optionParser);
+    }
+}
@@ -0,0 +1,10 @@
+package com.arm.cli.mergejsonfiles.cli;
+
+/**
+ * Single merge job of a jobs file.
+ *
+ * @param name job name used in logs, taken from the jobs file or numbered by position.
+ * @param optionParser {@link OptionParser} validated arguments of the job.
+ */
+public record BatchJob(String name, OptionParser optionParser) {
+}
@@ -2,18 +2,31 @@ package com.arm.cli.mergejsonfiles.cli;
 
 import com.arm.cli.mergejsonfiles.constants.ApplicationStatus;
 import com.arm.cli.mergejsonfiles.exception.ClientException;
+import com.arm.cli.mergejsonfiles.server.MergeServer;
+import com.arm.cli.mergejsonfiles.service.DefaultMergeFilesService;
 import com.arm.cli.mergejsonfiles.service.IMergeFilesService;
+import com.arm.cli.mergejsonfiles.service.cache.ParsedFileCache;
+import com.arm.cli.mergejsonfiles.service.io.JsonFiles;
+import com.arm.cli.mergejsonfiles.service.watch.SourceDirectoryWatcher;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.arm.cli.mergejsonfiles.constants.ApplicationStatus.APPLICATION_FAILED;
 import static com.arm.cli.mergejsonfiles.constants.ApplicationStatus.SUCCESS;
 import static com.arm.cli.mergejsonfiles.exception.ClientException.invalidFolderPath;
 import static com.arm.cli.mergejsonfiles.exception.ClientException.writeProtectedFolderPath;
-import static java.nio.file.Files.deleteIfExists;
 import static java.nio.file.Files.isDirectory;
 import static java.nio.file.Files.isWritable;
 
@@ -39,11 +52,18 @@ public class CliExecutor {
         LOGGER.info("------------ PROCESS IS BEING STARTED ------------");
         try {
             LOGGER.info("File merging process started for folder {}", optionParser.getSourceDirPath().toString());
-            validateFolderPath(optionParser.getSourceDirPath());
-            checkWritePermissionForDestinationFolder(optionParser.getOutputFilePath());
-            deleteOutputFileIfExists(optionParser.getOutputFilePath());
-            mergeFilesService.merge(optionParser.getSourceDirPath(), optionParser.getOutputFilePath());
+            if (!JsonFiles.isStandardStream(optionParser.getSourceDirPath())) {
+                validateFolderPath(optionParser.getSourceDirPath());
+            }
+            if (!JsonFiles.isStandardStream(optionParser.getOutputFilePath())) {
+                // Previous output stays in place until the new one is renamed over it
+                checkWritePermissionForDestinationFolder(optionParser.getOutputFilePath());
+            }
+            mergeFilesService.merge(optionParser.getSourceDirPath(), optionParser.getOutputFilePath(), optionParser.getMergeOptions());
             LOGGER.info("File merging process completed for folder {}", optionParser.getSourceDirPath());
+            if (optionParser.isWatch()) {
+                watch(optionParser);
+            }
         } catch (Exception e) {
             LOGGER.error("Error while merging json files: %s".formatted(e.getMessage()), e);
             return APPLICATION_FAILED;
@@ -52,6 +72,113 @@ public class CliExecutor {
         return SUCCESS;
     }
 
+    /**
+     * Runs all jobs of a jobs file in this process on a pool of job threads, so startup & JIT warm-up are paid once
+     * & every job after the first runs warm. A failing job doesn't stop the others.
+     *
+     * @param jobsFileParser {@link JobsFileParser} validated jobs & no. of job threads.
+     *
+     * @return {@link ApplicationStatus} summary of the status of all jobs.
+     */
+    public ApplicationStatus executeJobs(final JobsFileParser jobsFileParser) {
+        final List<BatchJob> jobs = jobsFileParser.getJobs();
+        LOGGER.info("------------ {} JOB(S) ARE BEING STARTED ------------", jobs.size());
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService jobExecutor = Executors.newFixedThreadPool(jobsFileParser.getJobThreads(),
+                runnable -> new Thread(runnable, "merge-job-" + threadCount.incrementAndGet()));
+        final List<ApplicationStatus> jobStatuses = new ArrayList<>(jobs.size());
+        try {
+            final List<Future<ApplicationStatus>> runningJobs = jobs.stream()
+                    .map(job -> jobExecutor.submit(() -> executeJob(job)))
+                    .toList();
+            for (int index = 0; index < jobs.size(); index++) {
+                jobStatuses.add(awaitJob(jobs.get(index), runningJobs.get(index)));
+            }
+        } finally {
+            jobExecutor.shutdownNow();
+        }
+        for (int index = 0; index < jobs.size(); index++) {
+            LOGGER.info("Job {}: {}", jobs.get(index).name(), jobStatuses.get(index));
+        }
+        final ApplicationStatus applicationStatus = ApplicationStatus.summarise(jobStatuses);
+        LOGGER.info("------------ {} OF {} JOB(S) SUCCEEDED ------------",
+                jobStatuses.stream().filter(SUCCESS::equals).count(), jobs.size());
+        return applicationStatus;
+    }
+
+    /**
+     * @param batchJob {@link BatchJob} job to run.
+     *
+     * @return {@link ApplicationStatus} status of the job.
+     */
+    protected ApplicationStatus executeJob(final BatchJob batchJob) {
+        final long startNanos = System.nanoTime();
+        final ApplicationStatus applicationStatus = execute(batchJob.optionParser());
+        LOGGER.info("Job {} finished with {} in {} ms", batchJob.name(), applicationStatus,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return applicationStatus;
+    }
+
+    private static ApplicationStatus awaitJob(final BatchJob batchJob,
+                                              final Future<ApplicationStatus> runningJob) {
+        try {
+            return runningJob.get();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while waiting for job {}", batchJob.name());
+            return APPLICATION_FAILED;
+        } catch (ExecutionException executionException) {
+            LOGGER.error("Job %s failed unexpectedly".formatted(batchJob.name()), executionException.getCause());
+            return APPLICATION_FAILED;
+        }
+    }
+
+    /**
+     * Runs the local HTTP merge service until the thread is interrupted. Merges share one merge service with a
+     * parsed file cache, so files unchanged since an earlier request aren't parsed again.
+     *
+     * @param serverOptionParser {@link ServerOptionParser} port, admission limits & cache size of the service.
+     *
+     * @return {@link ApplicationStatus} status of the application success/failure.
+     */
+    public ApplicationStatus serve(final ServerOptionParser serverOptionParser) {
+        LOGGER.info("------------ MERGE SERVER IS BEING STARTED ------------");
+        try (final MergeServer mergeServer = new MergeServer(createServerMergeFilesService(serverOptionParser),
+                serverOptionParser.getPort(), serverOptionParser.getMaxRunningMerges(), serverOptionParser.getMaxQueuedMerges())) {
+            mergeServer.start();
+            mergeServer.awaitClose();
+        } catch (Exception e) {
+            LOGGER.error("Error while running merge server: %s".formatted(e.getMessage()), e);
+            return APPLICATION_FAILED;
+        }
+        LOGGER.info("------------ MERGE SERVER STOPPED ------------");
+        return SUCCESS;
+    }
+
+    /**
+     * @param serverOptionParser {@link ServerOptionParser} cache size of the service.
+     *
+     * @return {@link IMergeFilesService} shared by all merges of the service.
+     */
+    protected IMergeFilesService createServerMergeFilesService(final ServerOptionParser serverOptionParser) {
+        return new DefaultMergeFilesService(Metrics.globalRegistry, new ParsedFileCache(serverOptionParser.getCacheMaxBoards()));
+    }
+
+    /**
+     * Keeps process running & re-merges files whenever source dir tree changes, blocks until thread is interrupted.
+     *
+     * @param optionParser {@link OptionParser} process & validate input & output.
+     *
+     * @throws IOException if source dir tree can't be watched.
+     */
+    protected void watch(final OptionParser optionParser) throws IOException {
+        try (final SourceDirectoryWatcher sourceDirectoryWatcher = new SourceDirectoryWatcher(mergeFilesService,
+                optionParser.getSourceDirPath(), optionParser.getOutputFilePath(), optionParser.getMergeOptions(),
+                optionParser.getWatchDebounceMillis())) {
+            sourceDirectoryWatcher.run();
+        }
+    }
+
     /**
      * Validates folder path.
      *
@@ -77,17 +204,4 @@ public class CliExecutor {
             throw writeProtectedFolderPath(outputFilePath.toString());
         }
     }
-
-    /**
-     * Deletes previously generated output file if any.
-     *
-     * @param outputFilePath output file path.
-     *
-     * @throws IOException in case error while deleting file.
-     */
-    protected void deleteOutputFileIfExists(final Path outputFilePath) throws IOException {
-        if (!outputFilePath.toFile().isDirectory() && deleteIfExists(outputFilePath)) {
-            LOGGER.warn("Existing output file has been deleted! {}", outputFilePath);
-        }
-    }
 }
@@ -0,0 +1,81 @@
+package com.arm.cli.mergejsonfiles.cli;
+
+import org.springframework.boot.ApplicationArguments;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Option arguments of the program, in the form of {@code --name=value} or {@code --name}.
+ */
+public interface CommandLineArguments {
+
+    /**
+     * @param name option name, without leading {@code --}.
+     *
+     * @return true if option has been passed, with or without value.
+     */
+    boolean containsOption(String name);
+
+    /**
+     * @param name option name, without leading {@code --}.
+     *
+     * @return values of the option, empty if option has been passed without value, {@code null} if not passed.
+     */
+    List<String> getOptionValues(String name);
+
+    /**
+     * Parses program arguments same way as {@link ApplicationArguments} does, without starting Spring. Arguments
+     * which aren't options are ignored.
+     *
+     * @param args program arguments.
+     *
+     * @return {@link CommandLineArguments} option arguments.
+     */
+    static CommandLineArguments parse(final String... args) {
+        final Map<String, List<String>> optionValues = new HashMap<>();
+        for (final String arg : args) {
+            if (!arg.startsWith("--") || arg.length() == 2) {
+                continue;
+            }
+            final int separatorIndex = arg.indexOf('=');
+            final String name = separatorIndex < 0 ? arg.substring(2) : arg.substring(2, separatorIndex);
+            final List<String> values = optionValues.computeIfAbsent(name, optionName -> new ArrayList<>());
+            if (separatorIndex >= 0) {
+                values.add(arg.substring(separatorIndex + 1));
+            }
+        }
+        return new CommandLineArguments() {
+            @Override
+            public boolean containsOption(final String name) {
+                return optionValues.containsKey(name);
+            }
+
+            @Override
+            public List<String> getOptionValues(final String name) {
+                return optionValues.get(name);
+            }
+        };
+    }
+
+    /**
+     * @param args {@link ApplicationArguments} program arguments parsed by Spring.
+     *
+     * @return {@link CommandLineArguments} delegating to Spring arguments.
+     */
+    static CommandLineArguments of(final ApplicationArguments args) {
+        return new CommandLineArguments() {
+            @Override
+            public boolean containsOption(final String name) {
+                return args.containsOption(name);
+            }
+
+            @Override
+            public List<String> getOptionValues(final String name) {
+                return args.getOptionValues(name);
+            }
+        };
+    }
+}
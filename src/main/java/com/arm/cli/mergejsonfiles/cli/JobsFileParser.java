@@ -0,0 +1,175 @@
+package com.arm.cli.mergejsonfiles.cli;
+
+import com.arm.cli.mergejsonfiles.exception.ClientException;
+import com.arm.cli.mergejsonfiles.service.io.JsonFiles;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.ApplicationArguments;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.arm.cli.mergejsonfiles.exception.ClientException.argumentMissing;
+import static com.arm.cli.mergejsonfiles.exception.ClientException.invalidJobsFile;
+
+/**
+ * Jobs file parser class. Reads a manifest of independent merge jobs run by a single process, e.g.
+ * <pre>
+ * {"jobs": [
+ *   {"name": "product-a", "source-path": "/data/a", "output-file-path": "/out/a.json", "threads": 2},
+ *   {"source-path": "/data/b", "output-file-path": "/out/b.json", "exclude": ["archive"], "compact-index": true}
+ * ]}
+ * </pre>
+ * Fields of a job are the program arguments without leading {@code --}, {@code true} stands for an argument without
+ * value, {@code false} leaves it out & an array repeats it. Arguments of all jobs are validated before any job runs.
+ */
+public class JobsFileParser {
+    private final List<BatchJob> jobs;
+    private final int jobThreads;
+    private final static String JOBS_FILE_ARG = "jobs-file";
+    private final static String JOB_THREADS_ARG = "job-threads";
+    private final static String JOBS_FIELD = "jobs";
+    private final static String NAME_FIELD = "name";
+
+    public JobsFileParser(final ApplicationArguments args) {
+        this(CommandLineArguments.of(args));
+    }
+
+    /**
+     * @param args program arguments, parsed without Spring.
+     */
+    public JobsFileParser(final String... args) {
+        this(CommandLineArguments.parse(args));
+    }
+
+    public JobsFileParser(final CommandLineArguments args) {
+        this.jobs = readJobs(extractJobsFilePath(args));
+        this.jobThreads = OptionParser.extractPositiveInt(args, JOB_THREADS_ARG, 1);
+    }
+
+    /**
+     * @param args {@link ApplicationArguments} program arguments.
+     *
+     * @return true if a jobs file is passed instead of a single source path.
+     */
+    public static boolean isJobsFileRequested(final ApplicationArguments args) {
+        return args.containsOption(JOBS_FILE_ARG);
+    }
+
+    /**
+     * @param args program arguments, parsed without Spring.
+     *
+     * @return true if a jobs file is passed instead of a single source path.
+     */
+    public static boolean isJobsFileRequested(final String... args) {
+        return CommandLineArguments.parse(args).containsOption(JOBS_FILE_ARG);
+    }
+
+    /**
+     * @param args {@link CommandLineArguments} program arguments.
+     *
+     * @return jobs file path.
+     */
+    private Path extractJobsFilePath(final CommandLineArguments args) {
+        if (!args.containsOption(JOBS_FILE_ARG) || args.getOptionValues(JOBS_FILE_ARG).isEmpty()) {
+            throw argumentMissing(JOBS_FILE_ARG);
+        }
+        return Path.of(args.getOptionValues(JOBS_FILE_ARG).get(0)).toAbsolutePath();
+    }
+
+    /**
+     * @param jobsFilePath jobs file path.
+     *
+     * @return jobs in file order.
+     */
+    private List<BatchJob> readJobs(final Path jobsFilePath) {
+        final JsonNode jobsNode;
+        try {
+            jobsNode = new ObjectMapper().readTree(jobsFilePath.toFile()).path(JOBS_FIELD);
+        } catch (IOException ioException) {
+            throw invalidJobsFile(jobsFilePath.toString(), ioException.getMessage());
+        }
+        if (!jobsNode.isArray() || jobsNode.isEmpty()) {
+            throw invalidJobsFile(jobsFilePath.toString(), "'%s' must be a non-empty array".formatted(JOBS_FIELD));
+        }
+        final List<BatchJob> batchJobs = new ArrayList<>(jobsNode.size());
+        final Set<Path> outputFilePaths = new HashSet<>();
+        for (final JsonNode jobNode : jobsNode) {
+            final String name = jobNode.path(NAME_FIELD).asText("#" + (batchJobs.size() + 1));
+            final OptionParser optionParser;
+            try {
+                optionParser = parseJob(jobNode);
+            } catch (ClientException clientException) {
+                throw invalidJobsFile(jobsFilePath.toString(), "job %s: %s".formatted(name, clientException.getMessage()));
+            }
+            if (!outputFilePaths.add(optionParser.getOutputFilePath())) {
+                throw invalidJobsFile(jobsFilePath.toString(), "job %s: output file path is used by another job".formatted(name));
+            }
+            batchJobs.add(new BatchJob(name, optionParser));
+        }
+        return batchJobs;
+    }
+
+    /**
+     * @param jobNode job object of program arguments, as in the jobs file.
+     *
+     * @return {@link OptionParser} validated arguments of the job.
+     * @throws ClientException if arguments are invalid or job would watch or use stdin or stdout.
+     */
+    public static OptionParser parseJob(final JsonNode jobNode) {
+        final OptionParser optionParser = new OptionParser(toArgs(jobNode));
+        // Jobs run side by side & never end if watching, they must not share a standard stream
+        if (optionParser.isWatch()
+                || JsonFiles.isStandardStream(optionParser.getSourceDirPath())
+                || JsonFiles.isStandardStream(optionParser.getOutputFilePath())) {
+            throw new ClientException("Watch mode, stdin & stdout aren't supported for jobs");
+        }
+        return optionParser;
+    }
+
+    /**
+     * @param jobNode job object of the jobs file.
+     *
+     * @return program arguments of the job.
+     */
+    private static String[] toArgs(final JsonNode jobNode) {
+        if (!jobNode.isObject()) {
+            throw new ClientException("Job must be an object of program arguments");
+        }
+        final List<String> args = new ArrayList<>();
+        final Iterator<Map.Entry<String, JsonNode>> fields = jobNode.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            if (NAME_FIELD.equals(field.getKey())) {
+                continue;
+            }
+            final JsonNode value = field.getValue();
+            if (value.isBoolean()) {
+                if (value.booleanValue()) {
+                    args.add("--" + field.getKey());
+                }
+            } else if (value.isArray()) {
+                value.forEach(element -> args.add("--" + field.getKey() + "=" + element.asText()));
+            } else if (value.isValueNode() && !value.isNull()) {
+                args.add("--" + field.getKey() + "=" + value.asText());
+            } else {
+                throw new ClientException("Argument --%s must be a text, number, boolean or array".formatted(field.getKey()));
+            }
+        }
+        return args.toArray(String[]::new);
+    }
+
+    public List<BatchJob> getJobs() {
+        return jobs;
+    }
+
+    public int getJobThreads() {
+        return jobThreads;
+    }
+}
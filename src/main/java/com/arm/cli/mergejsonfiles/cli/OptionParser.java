@@ -1,32 +1,188 @@
 package com.arm.cli.mergejsonfiles.cli;
 
+import com.arm.cli.mergejsonfiles.constants.OutputFormat;
+import com.arm.cli.mergejsonfiles.model.MergeOptions;
+import com.arm.cli.mergejsonfiles.service.io.JsonFiles;
 import org.springframework.boot.ApplicationArguments;
 
+import java.nio.file.FileSystems;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.UUID;
 
 import static com.arm.cli.mergejsonfiles.exception.ClientException.argumentMissing;
+import static com.arm.cli.mergejsonfiles.exception.ClientException.incompatibleArguments;
+import static com.arm.cli.mergejsonfiles.exception.ClientException.invalidArgumentValue;
 
 /**
- * Options parser class. Handles input parameters/arguments.
+ * Options parser class. Handles input parameters/arguments. Source path {@code -} reads newline-delimited JSON from
+ * stdin, output file path {@code -} writes to stdout.
  */
 public class OptionParser {
     private final Path sourcePath;
     private final Path outputFilePath;
+    private final MergeOptions mergeOptions;
+    private final boolean watch;
+    private final long watchDebounceMillis;
     private final static String SOURCE_PATH_ARG = "source-path";
     private final static String OUTPUT_FILE_PATH_ARG = "output-file-path";
+    private final static String THREADS_ARG = "threads";
+    private final static String MEMORY_BUDGET_MB_ARG = "memory-budget-mb";
+    private final static String SORTED_INPUT_ARG = "sorted-input";
+    private final static String COMPACT_INDEX_ARG = "compact-index";
+    private final static String HASH_INDEX_ARG = "hash-index";
+    private final static String OFF_HEAP_STORE_ARG = "off-heap-store";
+    private final static String QUARANTINE_FILE_PATH_ARG = "quarantine-file-path";
+    private final static String INCREMENTAL_ARG = "incremental";
+    private final static String WATCH_ARG = "watch";
+    private final static String WATCH_DEBOUNCE_MS_ARG = "watch-debounce-ms";
+    private final static String METRICS_REPORT_PATH_ARG = "metrics-report-path";
+    private final static String OUTPUT_FORMAT_ARG = "output-format";
+    private final static String OUTPUT_COMPRESSION_LEVEL_ARG = "output-compression-level";
+    private final static String FSYNC_ARG = "fsync";
+    private final static String OUTPUT_SHARDS_ARG = "output-shards";
+    private final static String OUTPUT_INDEX_ARG = "output-index";
+    private final static String INCLUDE_ARG = "include";
+    private final static String EXCLUDE_ARG = "exclude";
+    private final static String MAX_DEPTH_ARG = "max-depth";
+    private final static String READ_AHEAD_DEPTH_ARG = "read-ahead-depth";
+    private final static String MMAP_THRESHOLD_MB_ARG = "mmap-threshold-mb";
+    private final static String SPLIT_THRESHOLD_MB_ARG = "split-threshold-mb";
+    private final static int MAX_COMPRESSION_LEVEL = 9;
+    private final static int DEFAULT_WATCH_DEBOUNCE_MS = 200;
 
     public OptionParser(final ApplicationArguments args) {
+        this(CommandLineArguments.of(args));
+    }
+
+    /**
+     * @param args program arguments, parsed without Spring.
+     */
+    public OptionParser(final String... args) {
+        this(CommandLineArguments.parse(args));
+    }
+
+    public OptionParser(final CommandLineArguments args) {
         this.sourcePath = extractSourcePath(args);
         this.outputFilePath = extractOutputPath(args);
+        this.mergeOptions = extractMergeOptions(args);
+        this.watch = args.containsOption(WATCH_ARG);
+        this.watchDebounceMillis = extractPositiveInt(args, WATCH_DEBOUNCE_MS_ARG, DEFAULT_WATCH_DEBOUNCE_MS);
+        validateStandardStreams(args);
+        validateMergeEngine(args);
+        validateOutputShards(args);
+        validateOutputIndex(args);
+    }
+
+    /**
+     * @param args program arguments, parsed without Spring.
+     *
+     * @return true if combined records are written to stdout, so console output must go elsewhere.
+     */
+    public static boolean writesToStandardOutput(final String... args) {
+        final CommandLineArguments commandLineArguments = CommandLineArguments.parse(args);
+        return isStandardStream(commandLineArguments, OUTPUT_FILE_PATH_ARG)
+                || (!commandLineArguments.containsOption(OUTPUT_FILE_PATH_ARG) && isStandardStream(commandLineArguments, SOURCE_PATH_ARG));
+    }
+
+    /**
+     * Rejects merge modes which keep files next to the output or read the source more than once.
+     *
+     * @param args {@link CommandLineArguments} program arguments.
+     */
+    private void validateStandardStreams(final CommandLineArguments args) {
+        if (JsonFiles.isStandardStream(sourcePath) || JsonFiles.isStandardStream(outputFilePath)) {
+            final String streamArgumentName = JsonFiles.isStandardStream(sourcePath) ? SOURCE_PATH_ARG : OUTPUT_FILE_PATH_ARG;
+            for (final String argumentName : List.of(INCREMENTAL_ARG, WATCH_ARG)) {
+                if (args.containsOption(argumentName)) {
+                    throw incompatibleArguments(argumentName, streamArgumentName);
+                }
+            }
+        }
+        // Stream merge writes a temp file next to the output
+        if (JsonFiles.isStandardStream(outputFilePath) && args.containsOption(SORTED_INPUT_ARG)) {
+            throw incompatibleArguments(SORTED_INPUT_ARG, OUTPUT_FILE_PATH_ARG);
+        }
+        // Shard files are written next to the shard manifest
+        if (JsonFiles.isStandardStream(outputFilePath) && args.containsOption(OUTPUT_SHARDS_ARG)) {
+            throw incompatibleArguments(OUTPUT_SHARDS_ARG, OUTPUT_FILE_PATH_ARG);
+        }
+    }
+
+    /**
+     * Rejects more than one merge engine, each of them keeps merged records in its own structure, so only one of them
+     * would be used. Sorted input is stream merged & may still fall back to the memory budget or an index, but
+     * incremental merge never streams.
+     *
+     * @param args {@link CommandLineArguments} program arguments.
+     */
+    private void validateMergeEngine(final CommandLineArguments args) {
+        String engineArgumentName = null;
+        for (final String argumentName : List.of(INCREMENTAL_ARG, WATCH_ARG, MEMORY_BUDGET_MB_ARG, COMPACT_INDEX_ARG,
+                HASH_INDEX_ARG, OFF_HEAP_STORE_ARG)) {
+            if (!args.containsOption(argumentName)) {
+                continue;
+            }
+            // Watch mode implies incremental merge
+            if (engineArgumentName != null && !(INCREMENTAL_ARG.equals(engineArgumentName) && WATCH_ARG.equals(argumentName))) {
+                throw incompatibleArguments(argumentName, engineArgumentName);
+            }
+            engineArgumentName = argumentName;
+        }
+        if (mergeOptions.isIncremental() && args.containsOption(SORTED_INPUT_ARG)) {
+            throw incompatibleArguments(SORTED_INPUT_ARG, engineArgumentName);
+        }
     }
 
     /**
-     * @param args {@link ApplicationArguments} program arguments.
+     * Rejects output shards for merge modes which stream records straight into a single output file.
+     *
+     * @param args {@link CommandLineArguments} program arguments.
+     */
+    private void validateOutputShards(final CommandLineArguments args) {
+        if (mergeOptions.getOutputShards() == 1) {
+            return;
+        }
+        for (final String argumentName : List.of(SORTED_INPUT_ARG, MEMORY_BUDGET_MB_ARG, COMPACT_INDEX_ARG, HASH_INDEX_ARG,
+                OFF_HEAP_STORE_ARG)) {
+            if (args.containsOption(argumentName)) {
+                throw incompatibleArguments(OUTPUT_SHARDS_ARG, argumentName);
+            }
+        }
+    }
+
+    /**
+     * Rejects output index for output which can't be read at byte offsets of its JSON text.
+     *
+     * @param args {@link CommandLineArguments} program arguments.
+     */
+    private void validateOutputIndex(final CommandLineArguments args) {
+        if (!args.containsOption(OUTPUT_INDEX_ARG)) {
+            return;
+        }
+        if (JsonFiles.isStandardStream(outputFilePath)) {
+            throw incompatibleArguments(OUTPUT_INDEX_ARG, OUTPUT_FILE_PATH_ARG);
+        }
+        if (mergeOptions.getOutputCompressionLevel() != JsonFiles.NO_COMPRESSION) {
+            throw incompatibleArguments(OUTPUT_INDEX_ARG, OUTPUT_COMPRESSION_LEVEL_ARG);
+        }
+        if (mergeOptions.getOutputFormat().isBinary()) {
+            throw incompatibleArguments(OUTPUT_INDEX_ARG, OUTPUT_FORMAT_ARG);
+        }
+    }
+
+    private static boolean isStandardStream(final CommandLineArguments args,
+                                            final String argumentName) {
+        return args.containsOption(argumentName) && !args.getOptionValues(argumentName).isEmpty()
+                && JsonFiles.isStandardStream(Path.of(args.getOptionValues(argumentName).get(0)));
+    }
+
+    /**
+     * @param args {@link CommandLineArguments} program arguments.
      *
      * @return source path to merge files.
      */
-    private Path extractSourcePath(final ApplicationArguments args) {
+    private Path extractSourcePath(final CommandLineArguments args) {
         if (!args.containsOption(SOURCE_PATH_ARG) || args.getOptionValues(SOURCE_PATH_ARG).isEmpty()) {
             throw argumentMissing(SOURCE_PATH_ARG);
         }
@@ -34,26 +190,179 @@ public class OptionParser {
     }
 
     /**
-     * @param args {@link ApplicationArguments} program arguments.
+     * @param args {@link CommandLineArguments} program arguments.
      *
-     * @return output file path to save combined records.
+     * @return output file path to save combined records, stdout if not provided & source is stdin.
      */
-    private Path extractOutputPath(final ApplicationArguments args) {
+    private Path extractOutputPath(final CommandLineArguments args) {
         if (args.containsOption(OUTPUT_FILE_PATH_ARG)) {
             if (args.getOptionValues(OUTPUT_FILE_PATH_ARG).isEmpty()) {
                 throw argumentMissing(OUTPUT_FILE_PATH_ARG);
             }
             return Path.of(args.getOptionValues(OUTPUT_FILE_PATH_ARG).get(0));
         }
+        if (JsonFiles.isStandardStream(sourcePath)) {
+            return JsonFiles.STANDARD_STREAM;
+        }
         final String randomCombinedFileName = "combined-json-file-" + UUID.randomUUID() + ".json";
         return Path.of(args.getOptionValues(SOURCE_PATH_ARG).get(0)).resolve(randomCombinedFileName);
     }
 
+    /**
+     * @param args {@link CommandLineArguments} program arguments.
+     *
+     * @return {@link MergeOptions} tuning parameters of the merge run.
+     */
+    private MergeOptions extractMergeOptions(final CommandLineArguments args) {
+        return new MergeOptions()
+                .withParallelism(extractPositiveInt(args, THREADS_ARG, 1))
+                .withMemoryBudgetBytes(args.containsOption(MEMORY_BUDGET_MB_ARG)
+                        ? extractPositiveInt(args, MEMORY_BUDGET_MB_ARG, 0) * 1024L * 1024L
+                        : 0)
+                .withSortedInput(args.containsOption(SORTED_INPUT_ARG))
+                .withCompactIndex(args.containsOption(COMPACT_INDEX_ARG))
+                .withHashIndex(args.containsOption(HASH_INDEX_ARG))
+                .withOffHeapStore(args.containsOption(OFF_HEAP_STORE_ARG))
+                .withQuarantineFilePath(extractReportFilePath(args, QUARANTINE_FILE_PATH_ARG))
+                // Watch mode re-merges repeatedly, only changed files are parsed again
+                .withIncremental(args.containsOption(INCREMENTAL_ARG) || args.containsOption(WATCH_ARG))
+                .withMetricsReportFilePath(extractReportFilePath(args, METRICS_REPORT_PATH_ARG))
+                .withOutputFormat(extractOutputFormat(args))
+                .withOutputCompressionLevel(extractOutputCompressionLevel(args))
+                .withFsync(args.containsOption(FSYNC_ARG))
+                .withOutputShards(extractPositiveInt(args, OUTPUT_SHARDS_ARG, 1))
+                .withOutputIndex(args.containsOption(OUTPUT_INDEX_ARG))
+                .withIncludeGlobs(extractGlobs(args, INCLUDE_ARG))
+                .withExcludeGlobs(extractGlobs(args, EXCLUDE_ARG))
+                .withMaxDepth(extractPositiveInt(args, MAX_DEPTH_ARG, Integer.MAX_VALUE))
+                .withReadAheadDepth(extractPositiveInt(args, READ_AHEAD_DEPTH_ARG, 0))
+                .withMemoryMapThresholdBytes(extractPositiveInt(args, MMAP_THRESHOLD_MB_ARG, 0) * 1024L * 1024L)
+                .withSplitThresholdBytes(args.containsOption(SPLIT_THRESHOLD_MB_ARG)
+                        ? extractPositiveInt(args, SPLIT_THRESHOLD_MB_ARG, 0) * 1024L * 1024L
+                        : MergeOptions.DEFAULT_SPLIT_THRESHOLD_BYTES);
+    }
+
+    /**
+     * @param args {@link CommandLineArguments} program arguments.
+     * @param argumentName name of the repeatable argument.
+     *
+     * @return globs of all occurrences of the argument, empty list if not provided.
+     */
+    private List<String> extractGlobs(final CommandLineArguments args,
+                                      final String argumentName) {
+        if (!args.containsOption(argumentName)) {
+            return List.of();
+        }
+        final List<String> globs = args.getOptionValues(argumentName);
+        if (globs.isEmpty()) {
+            throw argumentMissing(argumentName);
+        }
+        for (final String glob : globs) {
+            try {
+                FileSystems.getDefault().getPathMatcher("glob:" + glob);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                throw invalidArgumentValue(argumentName, glob);
+            }
+        }
+        return globs;
+    }
+
+    /**
+     * @param args {@link CommandLineArguments} program arguments.
+     *
+     * @return gzip compression level of the output file, {@code 0} if output isn't compressed.
+     */
+    private int extractOutputCompressionLevel(final CommandLineArguments args) {
+        final int compressionLevel = extractPositiveInt(args, OUTPUT_COMPRESSION_LEVEL_ARG, 0);
+        if (compressionLevel > MAX_COMPRESSION_LEVEL) {
+            throw invalidArgumentValue(OUTPUT_COMPRESSION_LEVEL_ARG, String.valueOf(compressionLevel));
+        }
+        return compressionLevel;
+    }
+
+    /**
+     * @param args {@link CommandLineArguments} program arguments.
+     *
+     * @return {@link OutputFormat} of the output file, pretty printed JSON if not provided, newline-delimited JSON
+     *         if not provided & output is stdout.
+     */
+    private OutputFormat extractOutputFormat(final CommandLineArguments args) {
+        if (!args.containsOption(OUTPUT_FORMAT_ARG)) {
+            return JsonFiles.isStandardStream(outputFilePath) ? OutputFormat.NDJSON : OutputFormat.PRETTY_JSON;
+        }
+        if (args.getOptionValues(OUTPUT_FORMAT_ARG).isEmpty()) {
+            throw argumentMissing(OUTPUT_FORMAT_ARG);
+        }
+        final String value = args.getOptionValues(OUTPUT_FORMAT_ARG).get(0);
+        final OutputFormat outputFormat = OutputFormat.fromArgumentValue(value);
+        if (outputFormat == null) {
+            throw invalidArgumentValue(OUTPUT_FORMAT_ARG, value);
+        }
+        return outputFormat;
+    }
+
+    /**
+     * @param args {@link CommandLineArguments} program arguments.
+     * @param argumentName name of the argument.
+     *
+     * @return absolute path of report file, {@code null} if report is not requested.
+     */
+    private Path extractReportFilePath(final CommandLineArguments args,
+                                       final String argumentName) {
+        if (!args.containsOption(argumentName)) {
+            return null;
+        }
+        if (args.getOptionValues(argumentName).isEmpty()) {
+            throw argumentMissing(argumentName);
+        }
+        return Path.of(args.getOptionValues(argumentName).get(0)).toAbsolutePath();
+    }
+
+    /**
+     * @param args {@link CommandLineArguments} program arguments.
+     * @param argumentName name of the argument.
+     * @param defaultValue value used in case argument is not provided.
+     *
+     * @return positive integer value of the argument.
+     */
+    static int extractPositiveInt(final CommandLineArguments args,
+                                  final String argumentName,
+                                  final int defaultValue) {
+        if (!args.containsOption(argumentName)) {
+            return defaultValue;
+        }
+        if (args.getOptionValues(argumentName).isEmpty()) {
+            throw argumentMissing(argumentName);
+        }
+        final String value = args.getOptionValues(argumentName).get(0);
+        try {
+            final int intValue = Integer.parseInt(value);
+            if (intValue < 1) {
+                throw invalidArgumentValue(argumentName, value);
+            }
+            return intValue;
+        } catch (NumberFormatException numberFormatException) {
+            throw invalidArgumentValue(argumentName, value);
+        }
+    }
+
     public Path getSourceDirPath() {
-        return sourcePath.toAbsolutePath();
+        return JsonFiles.isStandardStream(sourcePath) ? sourcePath : sourcePath.toAbsolutePath();
     }
 
     public Path getOutputFilePath() {
-        return outputFilePath.toAbsolutePath();
+        return JsonFiles.isStandardStream(outputFilePath) ? outputFilePath : outputFilePath.toAbsolutePath();
+    }
+
+    public MergeOptions getMergeOptions() {
+        return mergeOptions;
+    }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    public long getWatchDebounceMillis() {
+        return watchDebounceMillis;
     }
 }
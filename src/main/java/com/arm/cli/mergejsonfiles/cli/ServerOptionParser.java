@@ -0,0 +1,74 @@
+package com.arm.cli.mergejsonfiles.cli;
+
+import org.springframework.boot.ApplicationArguments;
+
+/**
+ * Server options parser class. Handles arguments of the local HTTP merge service mode, merges themselves are
+ * described per request.
+ */
+public class ServerOptionParser {
+    private final int port;
+    private final int maxRunningMerges;
+    private final int maxQueuedMerges;
+    private final int cacheMaxBoards;
+    private final static String SERVE_ARG = "serve";
+    private final static String PORT_ARG = "port";
+    private final static String MAX_RUNNING_MERGES_ARG = "max-running-merges";
+    private final static String MAX_QUEUED_MERGES_ARG = "max-queued-merges";
+    private final static String CACHE_MAX_BOARDS_ARG = "cache-max-boards";
+    private final static int DEFAULT_PORT = 8080;
+    private final static int DEFAULT_MAX_QUEUED_MERGES = 64;
+    private final static int DEFAULT_CACHE_MAX_BOARDS = 1_000_000;
+
+    public ServerOptionParser(final ApplicationArguments args) {
+        this(CommandLineArguments.of(args));
+    }
+
+    /**
+     * @param args program arguments, parsed without Spring.
+     */
+    public ServerOptionParser(final String... args) {
+        this(CommandLineArguments.parse(args));
+    }
+
+    public ServerOptionParser(final CommandLineArguments args) {
+        this.port = OptionParser.extractPositiveInt(args, PORT_ARG, DEFAULT_PORT);
+        this.maxRunningMerges = OptionParser.extractPositiveInt(args, MAX_RUNNING_MERGES_ARG, Runtime.getRuntime().availableProcessors());
+        this.maxQueuedMerges = OptionParser.extractPositiveInt(args, MAX_QUEUED_MERGES_ARG, DEFAULT_MAX_QUEUED_MERGES);
+        this.cacheMaxBoards = OptionParser.extractPositiveInt(args, CACHE_MAX_BOARDS_ARG, DEFAULT_CACHE_MAX_BOARDS);
+    }
+
+    /**
+     * @param args {@link ApplicationArguments} program arguments.
+     *
+     * @return true if merge service is requested instead of a single merge.
+     */
+    public static boolean isServerRequested(final ApplicationArguments args) {
+        return args.containsOption(SERVE_ARG);
+    }
+
+    /**
+     * @param args program arguments, parsed without Spring.
+     *
+     * @return true if merge service is requested instead of a single merge.
+     */
+    public static boolean isServerRequested(final String... args) {
+        return CommandLineArguments.parse(args).containsOption(SERVE_ARG);
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public int getMaxRunningMerges() {
+        return maxRunningMerges;
+    }
+
+    public int getMaxQueuedMerges() {
+        return maxQueuedMerges;
+    }
+
+    public int getCacheMaxBoards() {
+        return cacheMaxBoards;
+    }
+}
@@ -1,11 +1,14 @@
 package com.arm.cli.mergejsonfiles.constants;
 
+import java.util.Collection;
+
 /**
  * Application exit status enum.
  */
 public enum ApplicationStatus {
     SUCCESS(0),
-    APPLICATION_FAILED(1);
+    APPLICATION_FAILED(1),
+    JOBS_PARTIALLY_FAILED(2);
 
     private final int value;
 
@@ -16,4 +19,18 @@ public enum ApplicationStatus {
     public int getValue() {
         return value;
     }
+
+    /**
+     * @param jobStatuses status of every job of a batch run.
+     *
+     * @return {@link #SUCCESS} if all jobs succeeded, {@link #APPLICATION_FAILED} if all failed or there are no
+     *         jobs, {@link #JOBS_PARTIALLY_FAILED} otherwise.
+     */
+    public static ApplicationStatus summarise(final Collection<ApplicationStatus> jobStatuses) {
+        final long noOfSucceededJobs = jobStatuses.stream().filter(SUCCESS::equals).count();
+        if (!jobStatuses.isEmpty() && noOfSucceededJobs == jobStatuses.size()) {
+            return SUCCESS;
+        }
+        return noOfSucceededJobs == 0 ? APPLICATION_FAILED : JOBS_PARTIALLY_FAILED;
+    }
 }
@@ -0,0 +1,76 @@
+package com.arm.cli.mergejsonfiles.constants;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Output file format enum, all formats but newline-delimited JSON keep the same 'boards' & '_metadata' structure.
+ * Newline-delimited JSON has one board object per line & no metadata, so it can be streamed into other tools.
+ */
+public enum OutputFormat {
+    PRETTY_JSON("pretty-json"),
+    COMPACT_JSON("compact-json"),
+    SMILE("smile"),
+    CBOR("cbor"),
+    NDJSON("ndjson");
+
+    private final String argumentValue;
+
+    OutputFormat(final String argumentValue) {
+        this.argumentValue = argumentValue;
+    }
+
+    public String getArgumentValue() {
+        return argumentValue;
+    }
+
+    /**
+     * @return new {@link JsonFactory} instance creating generators of this format.
+     */
+    public JsonFactory createJsonFactory() {
+        return switch (this) {
+            case SMILE -> new SmileFactory();
+            case CBOR -> new CBORFactory();
+            // Lines are ended explicitly, no separator between root values
+            case NDJSON -> new JsonFactoryBuilder().rootValueSeparator((String) null).build();
+            default -> new JsonFactory();
+        };
+    }
+
+    /**
+     * @return true if output is indented, whitespace is left out otherwise.
+     */
+    public boolean isPrettyPrinted() {
+        return this == PRETTY_JSON;
+    }
+
+    /**
+     * @return true if boards are written as root values one per line.
+     */
+    public boolean isNewlineDelimited() {
+        return this == NDJSON;
+    }
+
+    /**
+     * @return true if output is a binary Jackson format instead of JSON text.
+     */
+    public boolean isBinary() {
+        return this == SMILE || this == CBOR;
+    }
+
+    /**
+     * @param argumentValue command line argument value e.g. 'compact-json'.
+     *
+     * @return {@link OutputFormat} of the argument value, {@code null} if there is none.
+     */
+    public static OutputFormat fromArgumentValue(final String argumentValue) {
+        for (final OutputFormat outputFormat : values()) {
+            if (outputFormat.argumentValue.equals(argumentValue)) {
+                return outputFormat;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.arm.cli.mergejsonfiles.constants;
+
+/**
+ * Reasons a board record or a whole file is rejected during parsing.
+ */
+public enum RejectionReason {
+    NOT_AN_OBJECT("Board record is not a JSON object"),
+    UNKNOWN_FIELD("Board record contains unknown field"),
+    INVALID_NAME("Json field \"name\" is missing, null or not a scalar value"),
+    INVALID_VENDOR("Json field \"vendor\" is missing, null or not a scalar value"),
+    INVALID_CORE("Json field \"core\" is missing, null or not a scalar value"),
+    INVALID_HAS_WIFI("Json field \"has_wifi\" is missing, null or not a boolean value"),
+    MISSING_BOARDS("Required field 'boards' is missing or misspelled", true),
+    BOARDS_NOT_AN_ARRAY("Required field 'boards' is not an array", true),
+    MALFORMED_FILE("File is not valid JSON", true);
+
+    private final String description;
+    private final boolean fileLevel;
+
+    RejectionReason(final String description) {
+        this(description, false);
+    }
+
+    RejectionReason(final String description,
+                    final boolean fileLevel) {
+        this.description = description;
+        this.fileLevel = fileLevel;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return true if the whole file is skipped, false if a single board record is skipped.
+     */
+    public boolean isFileLevel() {
+        return fileLevel;
+    }
+}
@@ -19,4 +19,16 @@ public class ClientException extends RuntimeException {
     public static ClientException argumentMissing(final String argumentName) {
         return new ClientException("Command line argument: --%s is missing OR doesn't have valid value!".formatted(argumentName));
     }
+
+    public static ClientException invalidArgumentValue(final String argumentName, final String value) {
+        return new ClientException("Command line argument: --%s has invalid value: %s".formatted(argumentName, value));
+    }
+
+    public static ClientException invalidJobsFile(final String jobsFilePath, final String reason) {
+        return new ClientException("Invalid jobs file: %s, %s".formatted(jobsFilePath, reason));
+    }
+
+    public static ClientException incompatibleArguments(final String argumentName, final String otherArgumentName) {
+        return new ClientException("Command line argument: --%s can't be used together with --%s".formatted(argumentName, otherArgumentName));
+    }
 }
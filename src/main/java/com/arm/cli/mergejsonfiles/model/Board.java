@@ -0,0 +1,15 @@
+package com.arm.cli.mergejsonfiles.model;
+
+/**
+ * Board data model, a single board object of the combined output.
+ *
+ * @param name board name.
+ * @param vendor vendor name.
+ * @param core core name.
+ * @param hasWifi true if board has wifi.
+ */
+public record Board(String name,
+                   String vendor,
+                   String core,
+                   boolean hasWifi) {
+}
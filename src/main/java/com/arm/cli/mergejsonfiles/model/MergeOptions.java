@@ -0,0 +1,382 @@
+package com.arm.cli.mergejsonfiles.model;
+
+import com.arm.cli.mergejsonfiles.constants.OutputFormat;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Merge options model, keeps tuning parameters of a single merge run.
+ */
+public class MergeOptions {
+    public static final long DEFAULT_SPLIT_THRESHOLD_BYTES = 64L * 1024 * 1024;
+    private int parallelism = 1;
+    private long memoryBudgetBytes;
+    private boolean sortedInput;
+    private boolean compactIndex;
+    private boolean hashIndex;
+    private boolean offHeapStore;
+    private Path quarantineFilePath;
+    private boolean incremental;
+    private Path metricsReportFilePath;
+    private OutputFormat outputFormat = OutputFormat.PRETTY_JSON;
+    private int outputCompressionLevel;
+    private boolean fsync;
+    private int outputShards = 1;
+    private boolean outputIndex;
+    private List<String> includeGlobs = List.of();
+    private List<String> excludeGlobs = List.of();
+    private int maxDepth = Integer.MAX_VALUE;
+    private int readAheadDepth;
+    private long memoryMapThresholdBytes;
+    private long splitThresholdBytes = DEFAULT_SPLIT_THRESHOLD_BYTES;
+
+    /**
+     * @return no. of threads used to parse files, {@code 1} means files are parsed sequentially.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism no. of threads used to parse files, must be greater than {@code 0}.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @return approx. heap size in bytes merged records may occupy before being spilled to disk,
+     *         {@code 0} means records are always kept in memory.
+     */
+    public long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+
+    /**
+     * @param memoryBudgetBytes approx. heap size in bytes merged records may occupy before being spilled to disk.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withMemoryBudgetBytes(final long memoryBudgetBytes) {
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        return this;
+    }
+
+    /**
+     * @return true if boards of every input file are expected to be sorted by vendor & name.
+     */
+    public boolean isSortedInput() {
+        return sortedInput;
+    }
+
+    /**
+     * @param sortedInput true to stream merge input files sorted by vendor & name, unsorted files fall back to in-memory merge.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withSortedInput(final boolean sortedInput) {
+        this.sortedInput = sortedInput;
+        return this;
+    }
+
+    /**
+     * @return true if records are kept in compact store with dictionary encoded vendor & core names.
+     */
+    public boolean isCompactIndex() {
+        return compactIndex;
+    }
+
+    /**
+     * @param compactIndex true to keep records in compact store with dictionary encoded vendor & core names.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withCompactIndex(final boolean compactIndex) {
+        this.compactIndex = compactIndex;
+        return this;
+    }
+
+    /**
+     * @return true if records are de-duplicated in a hash index & sorted once when written.
+     */
+    public boolean isHashIndex() {
+        return hashIndex;
+    }
+
+    /**
+     * @param hashIndex true to de-duplicate records in a hash index & sort them once when written.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withHashIndex(final boolean hashIndex) {
+        this.hashIndex = hashIndex;
+        return this;
+    }
+
+    /**
+     * @return true if records are kept off-heap as UTF-8 bytes & written without decoding.
+     */
+    public boolean isOffHeapStore() {
+        return offHeapStore;
+    }
+
+    /**
+     * @param offHeapStore true to keep records off-heap as UTF-8 bytes & write them without decoding.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withOffHeapStore(final boolean offHeapStore) {
+        this.offHeapStore = offHeapStore;
+        return this;
+    }
+
+    /**
+     * @return file rejected records & skipped files are reported to, {@code null} means rejections are logged only.
+     */
+    public Path getQuarantineFilePath() {
+        return quarantineFilePath;
+    }
+
+    /**
+     * @param quarantineFilePath file rejected records & skipped files are reported to, one JSON object per line.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withQuarantineFilePath(final Path quarantineFilePath) {
+        this.quarantineFilePath = quarantineFilePath;
+        return this;
+    }
+
+    /**
+     * @return true if only new & changed files are parsed, partials of unchanged files are read from the manifest.
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * @param incremental true to keep a manifest next to the output & parse only new & changed files on later runs.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withIncremental(final boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    /**
+     * @return file run report with phase times & counters is written to, {@code null} means no report is written.
+     */
+    public Path getMetricsReportFilePath() {
+        return metricsReportFilePath;
+    }
+
+    /**
+     * @param metricsReportFilePath file run report with phase times & counters is written to, replaced on every run.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withMetricsReportFilePath(final Path metricsReportFilePath) {
+        this.metricsReportFilePath = metricsReportFilePath;
+        return this;
+    }
+
+    /**
+     * @return {@link OutputFormat} of the combined output file.
+     */
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    /**
+     * @param outputFormat {@link OutputFormat} of the combined output file, pretty printed JSON by default.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withOutputFormat(final OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+        return this;
+    }
+
+    /**
+     * @return gzip compression level of the output file, {@code 0} means output isn't compressed.
+     */
+    public int getOutputCompressionLevel() {
+        return outputCompressionLevel;
+    }
+
+    /**
+     * @param outputCompressionLevel gzip compression level of the output file from {@code 1} (fastest) to {@code 9}
+     *         (smallest), {@code 0} to write output uncompressed.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withOutputCompressionLevel(final int outputCompressionLevel) {
+        this.outputCompressionLevel = outputCompressionLevel;
+        return this;
+    }
+
+    /**
+     * @return true if output file is forced to the storage device before it's renamed into place.
+     */
+    public boolean isFsync() {
+        return fsync;
+    }
+
+    /**
+     * @param fsync true to force output file to the storage device before it's renamed into place.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withFsync(final boolean fsync) {
+        this.fsync = fsync;
+        return this;
+    }
+
+    /**
+     * @return no. of vendor range shards the output is split into, {@code 1} means a single output file.
+     */
+    public int getOutputShards() {
+        return outputShards;
+    }
+
+    /**
+     * @param outputShards no. of vendor range shards written in parallel, output file becomes a manifest of the
+     *         shards if greater than {@code 1}.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withOutputShards(final int outputShards) {
+        this.outputShards = outputShards;
+        return this;
+    }
+
+    /**
+     * @return true if a sidecar index of vendor & board offsets is written next to the output file.
+     */
+    public boolean isOutputIndex() {
+        return outputIndex;
+    }
+
+    /**
+     * @param outputIndex true to write a sidecar index of vendor & board offsets next to the output file, requires
+     *         uncompressed JSON output.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withOutputIndex(final boolean outputIndex) {
+        this.outputIndex = outputIndex;
+        return this;
+    }
+
+    /**
+     * @return globs of input files to merge, empty list means every JSON file of the source dir is merged.
+     */
+    public List<String> getIncludeGlobs() {
+        return includeGlobs;
+    }
+
+    /**
+     * @param includeGlobs globs of input files to merge, relative to the source dir.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withIncludeGlobs(final List<String> includeGlobs) {
+        this.includeGlobs = List.copyOf(includeGlobs);
+        return this;
+    }
+
+    /**
+     * @return globs of input files & dirs to skip.
+     */
+    public List<String> getExcludeGlobs() {
+        return excludeGlobs;
+    }
+
+    /**
+     * @param excludeGlobs globs of input files & dirs to skip, relative to the source dir.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withExcludeGlobs(final List<String> excludeGlobs) {
+        this.excludeGlobs = List.copyOf(excludeGlobs);
+        return this;
+    }
+
+    /**
+     * @return max depth of input files below the source dir, files directly inside source dir have depth {@code 1}.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @param maxDepth max depth of input files below the source dir, must be greater than {@code 0}.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withMaxDepth(final int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * @return no. of files loaded into memory ahead of the file being parsed, {@code 0} means files are read
+     *         while parsing.
+     */
+    public int getReadAheadDepth() {
+        return readAheadDepth;
+    }
+
+    /**
+     * @param readAheadDepth no. of files loaded into memory ahead of the file being parsed, {@code 0} to read files
+     *         while parsing.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withReadAheadDepth(final int readAheadDepth) {
+        this.readAheadDepth = readAheadDepth;
+        return this;
+    }
+
+    /**
+     * @return size in bytes from which input files are memory-mapped, {@code 0} means files are never memory-mapped.
+     */
+    public long getMemoryMapThresholdBytes() {
+        return memoryMapThresholdBytes;
+    }
+
+    /**
+     * @param memoryMapThresholdBytes size in bytes from which input files are memory-mapped, smaller files are read
+     *         through a buffered stream. {@code 0} to never memory-map files.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withMemoryMapThresholdBytes(final long memoryMapThresholdBytes) {
+        this.memoryMapThresholdBytes = memoryMapThresholdBytes;
+        return this;
+    }
+
+    /**
+     * @return size in bytes from which the 'boards' array of a single file is split & parsed on several threads
+     *         when parallelism is greater than {@code 1}.
+     */
+    public long getSplitThresholdBytes() {
+        return splitThresholdBytes;
+    }
+
+    /**
+     * @param splitThresholdBytes size in bytes from which the 'boards' array of a single file is split & parsed on
+     *         several threads, must be greater than {@code 0}.
+     *
+     * @return same {@link MergeOptions} instance.
+     */
+    public MergeOptions withSplitThresholdBytes(final long splitThresholdBytes) {
+        this.splitThresholdBytes = splitThresholdBytes;
+        return this;
+    }
+}
@@ -0,0 +1,87 @@
+package com.arm.cli.mergejsonfiles.server;
+
+import com.arm.cli.mergejsonfiles.cli.OptionParser;
+
+/**
+ * Merge submitted to the {@link MergeServer}, status is updated by the merge thread & read by request threads.
+ */
+public class MergeJob {
+    /**
+     * Status of a submitted merge.
+     */
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED;
+
+        /**
+         * @return true if merge has finished, successfully or not.
+         */
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    private final String id;
+    private final OptionParser optionParser;
+    private final boolean serverManagedOutput;
+    private volatile Status status = Status.QUEUED;
+    private volatile String error;
+    private volatile long durationMillis;
+
+    /**
+     * @param id id of the merge.
+     * @param optionParser {@link OptionParser} validated arguments of the merge.
+     * @param serverManagedOutput true if output file is kept in the results dir of the server & deleted with the merge.
+     */
+    public MergeJob(final String id,
+                    final OptionParser optionParser,
+                    final boolean serverManagedOutput) {
+        this.id = id;
+        this.optionParser = optionParser;
+        this.serverManagedOutput = serverManagedOutput;
+    }
+
+    /**
+     * Marks merge as running.
+     */
+    public void start() {
+        status = Status.RUNNING;
+    }
+
+    /**
+     * @param durationMillis time the merge has been running.
+     * @param error error message of the failed merge, {@code null} if merge has succeeded.
+     */
+    public void finish(final long durationMillis,
+                       final String error) {
+        this.durationMillis = durationMillis;
+        this.error = error;
+        this.status = error == null ? Status.SUCCEEDED : Status.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public OptionParser getOptionParser() {
+        return optionParser;
+    }
+
+    public boolean isServerManagedOutput() {
+        return serverManagedOutput;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+}
@@ -0,0 +1,347 @@
+package com.arm.cli.mergejsonfiles.server;
+
+import com.arm.cli.mergejsonfiles.cli.JobsFileParser;
+import com.arm.cli.mergejsonfiles.cli.OptionParser;
+import com.arm.cli.mergejsonfiles.constants.OutputFormat;
+import com.arm.cli.mergejsonfiles.exception.ClientException;
+import com.arm.cli.mergejsonfiles.service.IMergeFilesService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.arm.cli.mergejsonfiles.exception.ClientException.invalidFolderPath;
+
+/**
+ * Local HTTP merge service, keeps a warm merge engine for other processes on the same host. Listens on the loopback
+ * address only.
+ * <ul>
+ *     <li>{@code POST /merges} submits a merge, body is a job object as in the jobs file, e.g.
+ *     {@code {"source-path": "/data/a", "threads": 2}}. Without {@code output-file-path} output is kept by the server.
+ *     Responds {@code 202} with the merge status & its location.</li>
+ *     <li>{@code GET /merges/{id}} polls status of the merge.</li>
+ *     <li>{@code GET /merges/{id}/result} fetches the output file of the succeeded merge.</li>
+ *     <li>{@code DELETE /merges/{id}} drops the finished merge & output kept by the server, with its index, manifest & shard files.</li>
+ * </ul>
+ * At most max. running merges run at a time & max. queued merges wait, further submissions are rejected with
+ * {@code 429} until a merge finishes. Requests are handled on a small pool of request threads, which never wait for
+ * a merge.
+ */
+public class MergeServer implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MergeServer.class);
+    private static final String MERGES_PATH = "/merges";
+    private static final String RESULT_SEGMENT = "result";
+    private static final String OUTPUT_FILE_PATH_FIELD = "output-file-path";
+    private static final int MAX_REQUEST_BODY_BYTES = 64 * 1024;
+    private static final int MAX_FINISHED_MERGES = 1024;
+    private static final int REQUEST_THREADS = 4;
+
+    private final IMergeFilesService mergeFilesService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path resultsDirPath;
+    private final HttpServer httpServer;
+    private final ExecutorService requestExecutor;
+    private final ThreadPoolExecutor mergeExecutor;
+    private final Map<String, MergeJob> mergeJobs = new ConcurrentHashMap<>();
+    // Finished merges in finishing order, eldest are dropped beyond MAX_FINISHED_MERGES
+    private final Queue<String> finishedMergeIds = new ConcurrentLinkedQueue<>();
+    // Output files of queued & running merges, two merges never write the same file
+    private final Set<Path> activeOutputFilePaths = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    /**
+     * @param mergeFilesService {@link IMergeFilesService} runs submitted merges, shared by all of them.
+     * @param port port to listen on, {@code 0} to pick a free one.
+     * @param maxRunningMerges max. no. of merges running at a time.
+     * @param maxQueuedMerges max. no. of merges waiting to run.
+     *
+     * @throws IOException if port can't be bound or results dir can't be created.
+     */
+    public MergeServer(final IMergeFilesService mergeFilesService,
+                       final int port,
+                       final int maxRunningMerges,
+                       final int maxQueuedMerges) throws IOException {
+        this.mergeFilesService = mergeFilesService;
+        this.resultsDirPath = Files.createTempDirectory("merge-json-files-server-");
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.requestExecutor = Executors.newFixedThreadPool(REQUEST_THREADS, namedThreads("merge-server-request-"));
+        this.mergeExecutor = new ThreadPoolExecutor(maxRunningMerges, maxRunningMerges, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedMerges), namedThreads("merge-server-merge-"));
+        httpServer.setExecutor(requestExecutor);
+        httpServer.createContext(MERGES_PATH, this::handle);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        httpServer.start();
+        LOGGER.info("Merge server is listening on http://{}:{}{}", httpServer.getAddress().getHostString(), getPort(), MERGES_PATH);
+    }
+
+    /**
+     * Blocks until server is closed or thread is interrupted.
+     */
+    public void awaitClose() {
+        try {
+            closed.await();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return port the server is listening on.
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, running merges are interrupted & output kept by the server is deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        httpServer.stop(0);
+        requestExecutor.shutdownNow();
+        mergeExecutor.shutdownNow();
+        closed.countDown();
+        try (final Stream<Path> resultFiles = Files.walk(resultsDirPath)) {
+            for (final Path resultFile : resultFiles.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(resultFile);
+            }
+        }
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final String[] pathSegments = exchange.getRequestURI().getPath().substring(MERGES_PATH.length()).split("/");
+            final String method = exchange.getRequestMethod();
+            if (pathSegments.length == 0 || pathSegments.length == 1 && pathSegments[0].isEmpty()) {
+                if ("POST".equals(method)) {
+                    submit(exchange);
+                } else {
+                    sendError(exchange, 405, "Method not allowed");
+                }
+                return;
+            }
+            // Unread request body, even an empty one, makes the server drop the connection the client may be reusing
+            exchange.getRequestBody().close();
+            final MergeJob mergeJob = pathSegments.length <= 3 && pathSegments[0].isEmpty() ? mergeJobs.get(pathSegments[1]) : null;
+            if (mergeJob == null || pathSegments.length == 3 && !RESULT_SEGMENT.equals(pathSegments[2])) {
+                sendError(exchange, 404, "Merge not found");
+            } else if (pathSegments.length == 3) {
+                sendResult(exchange, mergeJob);
+            } else if ("GET".equals(method)) {
+                sendStatus(exchange, 200, mergeJob);
+            } else if ("DELETE".equals(method)) {
+                delete(exchange, mergeJob);
+            } else {
+                sendError(exchange, 405, "Method not allowed");
+            }
+        } catch (RuntimeException runtimeException) {
+            LOGGER.error("Failed to handle request {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), runtimeException);
+        }
+    }
+
+    private void submit(final HttpExchange exchange) throws IOException {
+        final byte[] body;
+        try (final InputStream inputStream = exchange.getRequestBody()) {
+            body = inputStream.readNBytes(MAX_REQUEST_BODY_BYTES + 1);
+        }
+        if (body.length > MAX_REQUEST_BODY_BYTES) {
+            sendError(exchange, 413, "Request body exceeds %d bytes".formatted(MAX_REQUEST_BODY_BYTES));
+            return;
+        }
+        final String id = UUID.randomUUID().toString();
+        final MergeJob mergeJob;
+        try {
+            final JsonNode jobNode = objectMapper.readTree(body);
+            if (!(jobNode instanceof ObjectNode jobObjectNode)) {
+                throw new ClientException("Request body must be an object of program arguments");
+            }
+            final boolean serverManagedOutput = !jobObjectNode.has(OUTPUT_FILE_PATH_FIELD);
+            if (serverManagedOutput) {
+                // A dir per merge, so sidecar files written next to the output are deleted with it
+                jobObjectNode.put(OUTPUT_FILE_PATH_FIELD, resultsDirPath.resolve(id).resolve(id + ".json").toString());
+            }
+            mergeJob = new MergeJob(id, JobsFileParser.parseJob(jobObjectNode), serverManagedOutput);
+        } catch (JsonProcessingException jsonProcessingException) {
+            sendError(exchange, 400, "Request body isn't valid JSON");
+            return;
+        } catch (ClientException clientException) {
+            sendError(exchange, 400, clientException.getMessage());
+            return;
+        }
+        final Path outputFilePath = mergeJob.getOptionParser().getOutputFilePath();
+        if (!activeOutputFilePaths.add(outputFilePath)) {
+            sendError(exchange, 409, "Output file is being written by another merge");
+            return;
+        }
+        mergeJobs.put(id, mergeJob);
+        try {
+            mergeExecutor.execute(() -> run(mergeJob));
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            mergeJobs.remove(id);
+            activeOutputFilePaths.remove(outputFilePath);
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            sendError(exchange, 429, "Too many merges are running or queued");
+            return;
+        }
+        exchange.getResponseHeaders().set("Location", MERGES_PATH + "/" + id);
+        sendStatus(exchange, 202, mergeJob);
+    }
+
+    private void run(final MergeJob mergeJob) {
+        final OptionParser optionParser = mergeJob.getOptionParser();
+        final long startNanos = System.nanoTime();
+        String error = null;
+        mergeJob.start();
+        try {
+            if (!Files.isDirectory(optionParser.getSourceDirPath())) {
+                throw invalidFolderPath(optionParser.getSourceDirPath().toString());
+            }
+            if (mergeJob.isServerManagedOutput()) {
+                Files.createDirectories(optionParser.getOutputFilePath().getParent());
+            }
+            mergeFilesService.merge(optionParser.getSourceDirPath(), optionParser.getOutputFilePath(), optionParser.getMergeOptions());
+        } catch (Exception exception) {
+            LOGGER.error("Merge {} failed: {}", mergeJob.getId(), exception.getMessage(), exception);
+            error = exception.getMessage() == null ? exception.getClass().getName() : exception.getMessage();
+        } catch (Error fatalError) {
+            // Job & its output file are released below, error is left to the uncaught exception handler
+            error = fatalError.getClass().getName();
+            throw fatalError;
+        } finally {
+            mergeJob.finish(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), error);
+            activeOutputFilePaths.remove(optionParser.getOutputFilePath());
+            finishedMergeIds.add(mergeJob.getId());
+            while (finishedMergeIds.size() > MAX_FINISHED_MERGES) {
+                final MergeJob droppedMergeJob = mergeJobs.get(finishedMergeIds.poll());
+                if (droppedMergeJob != null) {
+                    drop(droppedMergeJob);
+                }
+            }
+        }
+    }
+
+    private void delete(final HttpExchange exchange,
+                        final MergeJob mergeJob) throws IOException {
+        if (!mergeJob.getStatus().isFinished()) {
+            sendError(exchange, 409, "Merge is still %s".formatted(mergeJob.getStatus()));
+            return;
+        }
+        finishedMergeIds.remove(mergeJob.getId());
+        drop(mergeJob);
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void drop(final MergeJob mergeJob) {
+        mergeJobs.remove(mergeJob.getId());
+        if (mergeJob.isServerManagedOutput()) {
+            final Path mergeResultsDirPath = mergeJob.getOptionParser().getOutputFilePath().getParent();
+            try (final Stream<Path> resultFiles = Files.exists(mergeResultsDirPath) ? Files.walk(mergeResultsDirPath) : Stream.empty()) {
+                for (final Path resultFile : resultFiles.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(resultFile);
+                }
+            } catch (IOException | UncheckedIOException ioException) {
+                LOGGER.warn("Failed to delete output of merge {}", mergeJob.getId(), ioException);
+            }
+        }
+    }
+
+    private void sendResult(final HttpExchange exchange,
+                            final MergeJob mergeJob) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            sendError(exchange, 405, "Method not allowed");
+            return;
+        }
+        if (mergeJob.getStatus() != MergeJob.Status.SUCCEEDED) {
+            sendError(exchange, 409, "Merge is %s".formatted(mergeJob.getStatus()));
+            return;
+        }
+        final Path outputFilePath = mergeJob.getOptionParser().getOutputFilePath();
+        final OutputFormat outputFormat = mergeJob.getOptionParser().getMergeOptions().getOutputFormat();
+        final boolean plainJson = mergeJob.getOptionParser().getMergeOptions().getOutputCompressionLevel() == 0
+                && (outputFormat == OutputFormat.PRETTY_JSON || outputFormat == OutputFormat.COMPACT_JSON);
+        exchange.getResponseHeaders().set("Content-Type", plainJson ? "application/json" : "application/octet-stream");
+        exchange.sendResponseHeaders(200, Files.size(outputFilePath));
+        try (final OutputStream outputStream = exchange.getResponseBody()) {
+            Files.copy(outputFilePath, outputStream);
+        }
+    }
+
+    private void sendStatus(final HttpExchange exchange,
+                            final int statusCode,
+                            final MergeJob mergeJob) throws IOException {
+        final ObjectNode statusNode = objectMapper.createObjectNode()
+                .put("id", mergeJob.getId())
+                .put("status", mergeJob.getStatus().name())
+                .put("source_path", mergeJob.getOptionParser().getSourceDirPath().toString())
+                .put("output_file_path", mergeJob.getOptionParser().getOutputFilePath().toString());
+        if (mergeJob.getStatus().isFinished()) {
+            statusNode.put("duration_ms", mergeJob.getDurationMillis());
+        }
+        if (mergeJob.getError() != null) {
+            statusNode.put("error", mergeJob.getError());
+        }
+        sendJson(exchange, statusCode, statusNode);
+    }
+
+    private void sendError(final HttpExchange exchange,
+                           final int statusCode,
+                           final String error) throws IOException {
+        sendJson(exchange, statusCode, objectMapper.createObjectNode().put("error", error));
+    }
+
+    private void sendJson(final HttpExchange exchange,
+                          final int statusCode,
+                          final JsonNode jsonNode) throws IOException {
+        final byte[] body = objectMapper.writeValueAsBytes(jsonNode);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (final OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static ThreadFactory namedThreads(final String namePrefix) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.arm.cli.mergejsonfiles.service;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+
+import java.io.IOException;
+
+/**
+ * Source of merged board records, records are provided in vendor & name order without duplicates.
+ */
+@FunctionalInterface
+public interface BoardRecordSource {
+    /**
+     * Provides each merged record to the consumer in vendor & name order.
+     *
+     * @param boardRecordConsumer {@link BoardRecordConsumer} consumer of records.
+     *
+     * @throws IOException if an I/O error occurs while reading or consuming records.
+     */
+    void forEachRecord(BoardRecordConsumer boardRecordConsumer) throws IOException;
+
+    /**
+     * Consumer of a single merged board record.
+     */
+    @FunctionalInterface
+    interface BoardRecordConsumer {
+        /**
+         * @param vendorName vendor name.
+         * @param boardName board name.
+         * @param boardDataSlice {@link BoardDataSlice} instance, keeps partial info.
+         *
+         * @throws IOException if an I/O error occurs while consuming record.
+         */
+        void accept(String vendorName, String boardName, BoardDataSlice boardDataSlice) throws IOException;
+    }
+}
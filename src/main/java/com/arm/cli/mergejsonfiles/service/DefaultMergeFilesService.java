@@ -1,42 +1,121 @@
 package com.arm.cli.mergejsonfiles.service;
 
-import com.arm.cli.mergejsonfiles.model.BoardData;
+import com.arm.cli.mergejsonfiles.constants.OutputFormat;
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
 import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
-import com.arm.cli.mergejsonfiles.model.BoardWrapperData;
+import com.arm.cli.mergejsonfiles.model.MergeOptions;
+import com.arm.cli.mergejsonfiles.service.cache.ParsedFileCache;
+import com.arm.cli.mergejsonfiles.service.externalsort.ExternalSortMerger;
+import com.arm.cli.mergejsonfiles.service.incremental.FileManifest;
+import com.arm.cli.mergejsonfiles.service.incremental.ManifestEntry;
+import com.arm.cli.mergejsonfiles.service.index.OutputIndex;
+import com.arm.cli.mergejsonfiles.service.io.CountingOutputStream;
+import com.arm.cli.mergejsonfiles.service.io.FileRangeInputStream;
+import com.arm.cli.mergejsonfiles.service.io.JsonFiles;
+import com.arm.cli.mergejsonfiles.service.io.PipelinedRecordWriter;
+import com.arm.cli.mergejsonfiles.service.io.JsonInput;
+import com.arm.cli.mergejsonfiles.service.metrics.MergeMetrics;
+import com.arm.cli.mergejsonfiles.service.prefetch.ReadAheadFileLoader;
+import com.arm.cli.mergejsonfiles.service.presorted.FallbackRequiredException;
+import com.arm.cli.mergejsonfiles.service.presorted.PresortedStreamMerger;
+import com.arm.cli.mergejsonfiles.service.quarantine.DeferredRejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.quarantine.LoggingRejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.quarantine.QuarantineWriter;
+import com.arm.cli.mergejsonfiles.service.quarantine.RejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+import com.arm.cli.mergejsonfiles.service.reader.BoardTokenReader;
+import com.arm.cli.mergejsonfiles.service.shard.OutputShard;
+import com.arm.cli.mergejsonfiles.service.shard.OutputShards;
+import com.arm.cli.mergejsonfiles.service.split.BoardsArraySplitter;
+import com.arm.cli.mergejsonfiles.service.store.BoardStore;
+import com.arm.cli.mergejsonfiles.service.store.CompactBoardStore;
+import com.arm.cli.mergejsonfiles.service.store.HashBoardIndex;
+import com.arm.cli.mergejsonfiles.service.store.OffHeapBoardStore;
+import com.arm.cli.mergejsonfiles.service.walk.DirectoryWalker;
+import com.arm.cli.mergejsonfiles.service.walk.RankedBoardDataSlice;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.TreeMap;
-import java.util.stream.Stream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static com.fasterxml.jackson.core.JsonEncoding.UTF8;
-import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
-import static java.nio.file.Files.walk;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
 
 /**
  * Default merge file service.
  */
 public class DefaultMergeFilesService implements IMergeFilesService {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultMergeFilesService.class);
-    private final ObjectMapper objectMapper;
+    // Stream merge keeps one open parser per file
+    private static final int MAX_STREAMED_FILES = 1024;
+    private static final String MANIFEST_FILE_SUFFIX = ".manifest";
+    private static final int RANGES_PER_THREAD = 4;
+    // Reusable per thread reader & buffer, buffer holds records of the file being parsed
+    private final ThreadLocal<BoardTokenReader> boardTokenReaders;
+    private final ThreadLocal<BoardRecordBuffer> boardRecordBuffers;
+    // Factories are thread-safe & shared by all merge runs, so are their symbol tables & buffer recyclers
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Map<OutputFormat, JsonFactory> outputJsonFactories = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final ParsedFileCache parsedFileCache;
 
     public DefaultMergeFilesService() {
-        this.objectMapper = new ObjectMapper();
+        this(Metrics.globalRegistry);
+    }
+
+    /**
+     * @param meterRegistry {@link MeterRegistry} metrics of every merge run are published to.
+     */
+    public DefaultMergeFilesService(final MeterRegistry meterRegistry) {
+        this(meterRegistry, null);
+    }
+
+    /**
+     * @param meterRegistry {@link MeterRegistry} metrics of every merge run are published to.
+     * @param parsedFileCache {@link ParsedFileCache} unchanged files are restored from instead of being parsed again
+     *         by later merge runs, {@code null} to parse every file.
+     */
+    public DefaultMergeFilesService(final MeterRegistry meterRegistry,
+                                    final ParsedFileCache parsedFileCache) {
+        this.boardTokenReaders = ThreadLocal.withInitial(BoardTokenReader::new);
+        this.boardRecordBuffers = ThreadLocal.withInitial(BoardRecordBuffer::new);
+        this.meterRegistry = meterRegistry;
+        this.parsedFileCache = parsedFileCache;
     }
 
     /**
@@ -44,109 +123,1066 @@ public class DefaultMergeFilesService implements IMergeFilesService {
      */
     @Override
     public void merge(final Path sourceDirPath,
-                      final Path outputFilePath) throws IOException {
-        final JsonFactory jsonFactory = new JsonFactory();
+                      final Path outputFilePath,
+                      final MergeOptions mergeOptions) throws IOException {
+        final MergeMetrics mergeMetrics = new MergeMetrics();
+        final Path quarantineFilePath = mergeOptions.getQuarantineFilePath();
+        if (quarantineFilePath == null) {
+            mergeSourceDir(jsonFactory, sourceDirPath, outputFilePath, mergeOptions,
+                    mergeMetrics.countRejections(new LoggingRejectedRecordCollector()), null, mergeMetrics);
+        } else {
+            final Map<RejectionReason, Long> rejectionCounts;
+            try (final QuarantineWriter quarantineWriter = new QuarantineWriter(jsonFactory, quarantineFilePath)) {
+                mergeSourceDir(jsonFactory, sourceDirPath, outputFilePath, mergeOptions,
+                        mergeMetrics.countRejections(quarantineWriter), quarantineWriter::getRejectionCounts, mergeMetrics);
+                rejectionCounts = quarantineWriter.getRejectionCounts();
+            }
+            LOGGER.warn("Rejected {} board record(s) & skipped {} file(s), see quarantine report - {}",
+                    countRejections(rejectionCounts, false), countRejections(rejectionCounts, true), quarantineFilePath);
+        }
+        if (mergeMetrics.getBytesWritten() == 0 && !JsonFiles.isStandardStream(outputFilePath)) {
+            // Sharded output adds its shards & manifest while writing them, other output is a single file
+            mergeMetrics.addBytesWritten(Files.size(outputFilePath));
+        }
+        mergeMetrics.complete();
+        mergeMetrics.publish(meterRegistry);
+        LOGGER.info("Merged {}", mergeMetrics.summary());
+        final Path metricsReportFilePath = mergeOptions.getMetricsReportFilePath();
+        if (metricsReportFilePath != null) {
+            mergeMetrics.writeReport(jsonFactory, metricsReportFilePath);
+            LOGGER.info("Run report has been generated - {}", metricsReportFilePath);
+        }
+    }
+
+    /**
+     * Lists & merges files of the source dir. Parallel in-memory merge parses files as soon as they are found,
+     * other merge modes depend on file order & list all files first. Stdin source is merged as a single
+     * newline-delimited JSON input.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON files.
+     * @param sourceDirPath source dir containing JSON files, {@link JsonFiles#STANDARD_STREAM} to read stdin.
+     * @param outputFilePath combined JSON output file.
+     * @param mergeOptions {@link MergeOptions} tuning parameters of the merge run.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
+     * @param rejectionCounts provides no. of rejections per reason written to metadata, {@code null} to leave them out.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run.
+     *
+     * @throws IOException if an I/O error occurs during listing or merging process.
+     */
+    protected void mergeSourceDir(final JsonFactory jsonFactory,
+                                  final Path sourceDirPath,
+                                  final Path outputFilePath,
+                                  final MergeOptions mergeOptions,
+                                  final RejectedRecordCollector rejectedRecordCollector,
+                                  final Supplier<Map<RejectionReason, Long>> rejectionCounts,
+                                  final MergeMetrics mergeMetrics) throws IOException {
+        if (JsonFiles.isStandardStream(sourceDirPath)) {
+            mergeFiles(jsonFactory, List.of(sourceDirPath), outputFilePath, mergeOptions, rejectedRecordCollector,
+                    rejectionCounts, mergeMetrics);
+            return;
+        }
+        final DirectoryWalker directoryWalker = createDirectoryWalker(sourceDirPath, mergeOptions);
+        final boolean fileOrderRequired = mergeOptions.isIncremental() || mergeOptions.isSortedInput()
+                || mergeOptions.getMemoryBudgetBytes() > 0 || mergeOptions.isCompactIndex() || mergeOptions.isHashIndex()
+                || mergeOptions.isOffHeapStore();
+        try {
+            if (mergeOptions.getParallelism() > 1 && !fileOrderRequired) {
+                mergeWhileListing(jsonFactory, directoryWalker, outputFilePath, mergeOptions, rejectedRecordCollector,
+                        rejectionCounts, mergeMetrics);
+                return;
+            }
+            final List<Path> jsonFiles = listFiles(directoryWalker, outputFilePath, mergeOptions.getParallelism());
+            mergeFiles(jsonFactory, jsonFiles, outputFilePath, mergeOptions, rejectedRecordCollector, rejectionCounts, mergeMetrics);
+        } finally {
+            mergeMetrics.addPhaseNanos(MergeMetrics.Phase.LIST_FILES, directoryWalker.getListingNanos());
+        }
+    }
+
+    /**
+     * Parses files on the walker threads as soon as they are found. Each thread builds its own partial map, records
+     * keep the file they've been read from, so duplicates are resolved by file order only when they meet.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON files.
+     * @param directoryWalker {@link DirectoryWalker} finds input files of the source dir.
+     * @param outputFilePath combined JSON output file.
+     * @param mergeOptions {@link MergeOptions} parallelism & output format of the merge run.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
+     * @param rejectionCounts provides no. of rejections per reason written to metadata, {@code null} to leave them out.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run.
+     *
+     * @throws IOException if an I/O error occurs during listing or merging process.
+     */
+    protected void mergeWhileListing(final JsonFactory jsonFactory,
+                                     final DirectoryWalker directoryWalker,
+                                     final Path outputFilePath,
+                                     final MergeOptions mergeOptions,
+                                     final RejectedRecordCollector rejectedRecordCollector,
+                                     final Supplier<Map<RejectionReason, Long>> rejectionCounts,
+                                     final MergeMetrics mergeMetrics) throws IOException {
+        final Map<Thread, TreeMap<String, TreeMap<String, BoardDataSlice>>> partialJsonData = new ConcurrentHashMap<>();
+        final Predicate<Path> outputFileMatcher = OutputShards.outputFileMatcher(outputFilePath);
+        directoryWalker.walk(mergeOptions.getParallelism(), jsonFile -> {
+            // Default output file & its shards are generated inside source dir, never merge them into themselves
+            if (outputFileMatcher.test(jsonFile)) {
+                return;
+            }
+            final BoardRecordBuffer boardRecordBuffer = boardRecordBuffers.get();
+            if (parseJsonFile(jsonFactory, jsonFile.toFile(), boardRecordBuffer, rejectedRecordCollector, mergeOptions, mergeMetrics)) {
+                final long indexStartNanos = System.nanoTime();
+                buildRankedTreeMapData(boardRecordBuffer, jsonFile,
+                        partialJsonData.computeIfAbsent(Thread.currentThread(), thread -> new TreeMap<>()));
+                mergeMetrics.addPhaseTime(MergeMetrics.Phase.INDEX, indexStartNanos);
+            }
+        });
+        final long indexStartNanos = System.nanoTime();
         final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData = new TreeMap<>();
-        listFiles(sourceDirPath)
-                .filter(Files::isRegularFile)
-                .sorted(Comparator.comparing(Path::getFileName))
-                .filter(path -> path.toString().endsWith(".json"))
-                .map(path -> parseJsonFile(jsonFactory, path.toFile()))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .forEach(boardWrapperRecord -> buildTreeMapData(boardWrapperRecord, parsedJsonData));
-        writeCombinedJsonFileData(parsedJsonData, outputFilePath);
+        partialJsonData.values().forEach(nextParsedJsonData -> combineRankedTreeMapData(parsedJsonData, nextParsedJsonData));
+        mergeMetrics.addPhaseTime(MergeMetrics.Phase.INDEX, indexStartNanos);
+        writeCombinedJsonFileData(parsedJsonData, outputFilePath, rejectionCounts, mergeOptions, mergeMetrics);
     }
 
     /**
-     * Returns stream of regular file paths, performs recursive search.
+     * Merges listed files using the merge mode selected by options.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON files.
+     * @param jsonFiles list of JSON files, sorted by file name.
+     * @param outputFilePath combined JSON output file.
+     * @param mergeOptions {@link MergeOptions} tuning parameters of the merge run.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
+     * @param rejectionCounts provides no. of rejections per reason written to metadata, {@code null} to leave them out.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run.
+     *
+     * @throws IOException if an I/O error occurs during merging process.
+     */
+    protected void mergeFiles(final JsonFactory jsonFactory,
+                              final List<Path> jsonFiles,
+                              final Path outputFilePath,
+                              final MergeOptions mergeOptions,
+                              final RejectedRecordCollector rejectedRecordCollector,
+                              final Supplier<Map<RejectionReason, Long>> rejectionCounts,
+                              final MergeMetrics mergeMetrics) throws IOException {
+        if (mergeOptions.isIncremental()) {
+            mergeIncrementally(jsonFactory, jsonFiles, outputFilePath, mergeOptions, rejectedRecordCollector, rejectionCounts, mergeMetrics);
+            return;
+        }
+        if (mergeOptions.isSortedInput()
+                && mergePresortedFiles(jsonFactory, jsonFiles, outputFilePath, mergeOptions, rejectedRecordCollector,
+                rejectionCounts != null, mergeMetrics)) {
+            return;
+        }
+        if (mergeOptions.getMemoryBudgetBytes() > 0) {
+            mergeWithExternalSort(jsonFactory, jsonFiles, outputFilePath, mergeOptions, rejectedRecordCollector,
+                    rejectionCounts, mergeMetrics);
+            return;
+        }
+        final Supplier<BoardStore> boardStoreFactory = createBoardStoreFactory(mergeOptions);
+        if (boardStoreFactory != null) {
+            final BoardStore boardStore = buildMergedData(jsonFactory, jsonFiles, mergeOptions, rejectedRecordCollector, mergeMetrics,
+                    boardStoreFactory,
+                    (nextBoardStore, boardRecordBuffer) -> {
+                        final long indexStartNanos = System.nanoTime();
+                        nextBoardStore.addAll(boardRecordBuffer);
+                        mergeMetrics.addPhaseTime(MergeMetrics.Phase.INDEX, indexStartNanos);
+                    },
+                    BoardStore::combine);
+            writeCombinedJsonFileData(boardStore, outputFilePath, rejectionCounts, mergeOptions, mergeMetrics);
+            return;
+        }
+        final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData = buildMergedData(jsonFactory, jsonFiles,
+                mergeOptions, rejectedRecordCollector, mergeMetrics,
+                TreeMap::new,
+                (nextParsedJsonData, boardRecordBuffer) -> buildTreeMapData(boardRecordBuffer, nextParsedJsonData, mergeMetrics),
+                this::combineTreeMapData);
+        writeCombinedJsonFileData(parsedJsonData, outputFilePath, rejectionCounts, mergeOptions, mergeMetrics);
+    }
+
+    /**
+     * @param mergeOptions {@link MergeOptions} index & store options of the merge run.
+     *
+     * @return factory of the board store selected by options, {@code null} for the default in-memory index.
+     */
+    protected Supplier<BoardStore> createBoardStoreFactory(final MergeOptions mergeOptions) {
+        if (mergeOptions.isCompactIndex()) {
+            return CompactBoardStore::new;
+        }
+        if (mergeOptions.isHashIndex()) {
+            return HashBoardIndex::new;
+        }
+        if (mergeOptions.isOffHeapStore()) {
+            return OffHeapBoardStore::new;
+        }
+        return null;
+    }
+
+    /**
+     * Parses files one by one on the calling thread in list order. With a read-ahead depth set, upcoming files are
+     * loaded into memory on I/O threads while the current one is parsed.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON files.
+     * @param jsonFiles list of JSON files, sorted by file name.
+     * @param mergeOptions {@link MergeOptions} read-ahead depth of the merge run.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run.
+     * @param parsedFileConsumer {@link ParsedFileConsumer} consumes records of each parsed file.
+     *
+     * @throws IOException if consumer fails or loading files ahead has been interrupted.
+     */
+    protected void parseFiles(final JsonFactory jsonFactory,
+                              final List<Path> jsonFiles,
+                              final MergeOptions mergeOptions,
+                              final RejectedRecordCollector rejectedRecordCollector,
+                              final MergeMetrics mergeMetrics,
+                              final ParsedFileConsumer parsedFileConsumer) throws IOException {
+        final BoardRecordBuffer boardRecordBuffer = boardRecordBuffers.get();
+        // Cached files aren't read at all, so they aren't loaded ahead either
+        if (mergeOptions.getReadAheadDepth() == 0 || parsedFileCache != null) {
+            for (final Path jsonFile : jsonFiles) {
+                if (parseJsonFile(jsonFactory, jsonFile.toFile(), boardRecordBuffer, rejectedRecordCollector, mergeOptions, mergeMetrics)) {
+                    parsedFileConsumer.accept(boardRecordBuffer);
+                }
+            }
+            return;
+        }
+        try (final ReadAheadFileLoader readAheadFileLoader = new ReadAheadFileLoader(jsonFiles, mergeOptions.getReadAheadDepth(),
+                jsonFile -> openJsonFile(jsonFile.toFile(), mergeOptions))) {
+            while (readAheadFileLoader.hasNext()) {
+                final JsonInput jsonInput = readAheadFileLoader.next();
+                if (parseJsonFile(jsonFactory, jsonInput, boardRecordBuffer, rejectedRecordCollector, mergeMetrics)) {
+                    parsedFileConsumer.accept(boardRecordBuffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Streams k-way merge of files whose boards are already sorted by vendor & name straight into the output,
+     * only the current record of each file is kept in memory. Output is written to a temp file first & moved
+     * into place once complete.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON files.
+     * @param jsonFiles list of JSON files, sorted by file name.
+     * @param outputFilePath combined JSON output file.
+     * @param mergeOptions {@link MergeOptions} output format of the merge run.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} rejections are passed on once files have been merged,
+     *         they're dropped on fallback as the in-memory merge parses files again.
+     * @param includeRejectionCounts true to write no. of rejections per reason to metadata.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run, added only if files have been merged as
+     *         files are parsed while writing.
+     *
+     * @return true if files have been merged, false if any file isn't sorted & in-memory merge is required.
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    protected boolean mergePresortedFiles(final JsonFactory jsonFactory,
+                                          final List<Path> jsonFiles,
+                                          final Path outputFilePath,
+                                          final MergeOptions mergeOptions,
+                                          final RejectedRecordCollector rejectedRecordCollector,
+                                          final boolean includeRejectionCounts,
+                                          final MergeMetrics mergeMetrics) throws IOException {
+        if (jsonFiles.size() > MAX_STREAMED_FILES) {
+            LOGGER.warn("Too many files ({}) to stream merge, falling back to in-memory merge", jsonFiles.size());
+            return false;
+        }
+        if (jsonFiles.stream().anyMatch(jsonFile -> JsonFiles.isNdjsonFile(jsonFile.toString()))) {
+            LOGGER.warn("Newline-delimited JSON files can't be stream merged, falling back to in-memory merge");
+            return false;
+        }
+        final DeferredRejectedRecordCollector deferredRejectedRecordCollector = new DeferredRejectedRecordCollector();
+        final long[] noOfBoards = {0, 0};
+        final long writeStartNanos = System.nanoTime();
+        mergeMetrics.markFileRead();
+        try (final PresortedStreamMerger presortedStreamMerger = new PresortedStreamMerger(jsonFactory, jsonFiles,
+                (parser, boardRecordBuffer, sourceFile, index) -> {
+                    final boolean valid = readBoardData(parser, boardRecordBuffer, sourceFile, index, deferredRejectedRecordCollector);
+                    noOfBoards[0] += valid ? 1 : 0;
+                    return valid;
+                },
+                deferredRejectedRecordCollector)) {
+            writeCombinedJsonFileData(boardRecordConsumer -> presortedStreamMerger.forEachRecord((vendorName, boardName, boardDataSlice) -> {
+                        noOfBoards[1]++;
+                        boardRecordConsumer.accept(vendorName, boardName, boardDataSlice);
+                    }), outputFilePath,
+                    includeRejectionCounts ? deferredRejectedRecordCollector::getRejectionCounts : null, mergeOptions);
+            mergeMetrics.addPhaseTime(MergeMetrics.Phase.WRITE, writeStartNanos);
+            for (final Path jsonFile : jsonFiles) {
+                mergeMetrics.addFileRead(Files.size(jsonFile));
+            }
+            mergeMetrics.addBoardsRead(noOfBoards[0]);
+            mergeMetrics.addBoardsWritten(noOfBoards[1]);
+            deferredRejectedRecordCollector.replayTo(rejectedRecordCollector);
+            // Shards are split from the in-memory fallback only
+            warnIfShardsIgnored(mergeOptions);
+            return true;
+        } catch (FallbackRequiredException fallbackRequiredException) {
+            LOGGER.warn("Stream merge is not applicable, falling back to in-memory merge: {}", fallbackRequiredException.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Merges files re-using partials of unchanged files stored in the manifest of the previous run, only new & changed
+     * files are parsed. A file is unchanged if its size & last modified time match, or if its size matches & content
+     * hash is the same. Output & manifest are written to temp files first & moved into place, so repeated runs
+     * replace them atomically.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON files.
+     * @param jsonFiles list of JSON files, sorted by file name.
+     * @param outputFilePath combined JSON output file, manifest is kept next to it.
+     * @param mergeOptions {@link MergeOptions} output format of the merge run.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing,
+     *         stored rejections of unchanged files are passed to it as well.
+     * @param rejectionCounts provides no. of rejections per reason written to metadata, {@code null} to leave them out.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run, only new & changed files count as read.
+     *
+     * @throws IOException if an I/O error occurs during merging process.
+     */
+    protected void mergeIncrementally(final JsonFactory jsonFactory,
+                                      final List<Path> jsonFiles,
+                                      final Path outputFilePath,
+                                      final MergeOptions mergeOptions,
+                                      final RejectedRecordCollector rejectedRecordCollector,
+                                      final Supplier<Map<RejectionReason, Long>> rejectionCounts,
+                                      final MergeMetrics mergeMetrics) throws IOException {
+        final long createdMillis = System.currentTimeMillis();
+        final Path manifestFilePath = outputFilePath.resolveSibling(outputFilePath.getFileName() + MANIFEST_FILE_SUFFIX);
+        final Path tempManifestFilePath = Files.createTempFile(outputFilePath.getParent(), manifestFilePath.getFileName().toString(), ".tmp");
+        final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData = new TreeMap<>();
+        final BoardRecordBuffer boardRecordBuffer = boardRecordBuffers.get();
+        int noOfParsedFiles = 0;
+        int noOfReusedFiles = 0;
+        try {
+            try (final FileManifest fileManifest = FileManifest.open(manifestFilePath);
+                 final FileManifest.Writer manifestWriter = new FileManifest.Writer(tempManifestFilePath, createdMillis)) {
+                for (final Path jsonFile : jsonFiles) {
+                    final String sourceFile = jsonFile.toString();
+                    try {
+                        final BasicFileAttributes fileAttributes = Files.readAttributes(jsonFile, BasicFileAttributes.class);
+                        final long lastModifiedMillis = fileAttributes.lastModifiedTime().toMillis();
+                        final ManifestEntry manifestEntry = fileManifest.getEntry(sourceFile);
+                        byte[] contentHash = null;
+                        boolean unchanged = false;
+                        if (manifestEntry != null && manifestEntry.sizeBytes() == fileAttributes.size()) {
+                            unchanged = manifestEntry.lastModifiedMillis() == lastModifiedMillis && fileManifest.isSettled(manifestEntry);
+                            if (!unchanged) {
+                                contentHash = FileManifest.hash(jsonFile);
+                                unchanged = Arrays.equals(contentHash, manifestEntry.contentHash());
+                            }
+                        }
+                        boolean parsed = false;
+                        if (unchanged) {
+                            try {
+                                parsed = fileManifest.readPartial(manifestEntry, boardRecordBuffer, rejectedRecordCollector);
+                            } catch (IOException ioException) {
+                                // A damaged partial would fail every later run, file is parsed again & partial replaced
+                                LOGGER.warn("Manifest can't be re-used for {}, parsing it again: {}", sourceFile, ioException.getMessage());
+                                unchanged = false;
+                            }
+                        }
+                        if (unchanged) {
+                            manifestWriter.copyPartial(fileManifest, manifestEntry, lastModifiedMillis);
+                            mergeMetrics.addBoardsRead(boardRecordBuffer.size());
+                            noOfReusedFiles++;
+                        } else {
+                            contentHash = contentHash != null ? contentHash : FileManifest.hash(jsonFile);
+                            final DeferredRejectedRecordCollector fileRejectedRecordCollector = new DeferredRejectedRecordCollector();
+                            parsed = parseJsonFile(jsonFactory, jsonFile.toFile(), boardRecordBuffer, fileRejectedRecordCollector, mergeOptions, mergeMetrics);
+                            manifestWriter.addPartial(sourceFile, fileAttributes.size(), lastModifiedMillis, contentHash,
+                                    parsed, boardRecordBuffer, fileRejectedRecordCollector.getRejectedRecords());
+                            fileRejectedRecordCollector.replayTo(rejectedRecordCollector);
+                            noOfParsedFiles++;
+                        }
+                        if (parsed) {
+                            buildTreeMapData(boardRecordBuffer, parsedJsonData, mergeMetrics);
+                        }
+                    } catch (NoSuchFileException noSuchFileException) {
+                        // Deleted since it has been listed, e.g. while watching, it's dropped like any deleted file
+                        LOGGER.info("File {} has been deleted while merging, skipping it", sourceFile);
+                    }
+                }
+            }
+            LOGGER.info("Parsed {} new or changed file(s), re-used {} file(s) from manifest", noOfParsedFiles, noOfReusedFiles);
+            // Output file is replaced atomically, manifest follows once output is in place
+            writeCombinedJsonFileData(parsedJsonData, outputFilePath, rejectionCounts, mergeOptions, mergeMetrics);
+            Files.move(tempManifestFilePath, manifestFilePath, REPLACE_EXISTING, ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempManifestFilePath);
+        }
+    }
+
+    /**
+     * Merges files within bounded memory, records are spilled to sorted temp runs once memory budget is exceeded
+     * & runs are k-way merged into the output file.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON files.
+     * @param jsonFiles list of JSON files, sorted by file name.
+     * @param outputFilePath combined JSON output file.
+     * @param mergeOptions {@link MergeOptions} memory budget, i.e. approx. heap size in bytes records may occupy before
+     *         being spilled & output format.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
+     * @param rejectionCounts provides no. of rejections per reason written to metadata, {@code null} to leave them out.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run, spilling runs counts as index phase.
+     *
+     * @throws IOException if an I/O error occurs while spilling or merging runs.
+     */
+    protected void mergeWithExternalSort(final JsonFactory jsonFactory,
+                                         final List<Path> jsonFiles,
+                                         final Path outputFilePath,
+                                         final MergeOptions mergeOptions,
+                                         final RejectedRecordCollector rejectedRecordCollector,
+                                         final Supplier<Map<RejectionReason, Long>> rejectionCounts,
+                                         final MergeMetrics mergeMetrics) throws IOException {
+        try (final ExternalSortMerger externalSortMerger = new ExternalSortMerger(mergeOptions.getMemoryBudgetBytes())) {
+            parseFiles(jsonFactory, jsonFiles, mergeOptions, rejectedRecordCollector, mergeMetrics, boardRecordBuffer -> {
+                final long indexStartNanos = System.nanoTime();
+                externalSortMerger.addAll(boardRecordBuffer);
+                mergeMetrics.addPhaseTime(MergeMetrics.Phase.INDEX, indexStartNanos);
+            });
+            writeCombinedJsonFileData(externalSortMerger, outputFilePath, rejectionCounts, mergeOptions, mergeMetrics);
+            LOGGER.info("Merged {} sorted run(s) spilled to disk", externalSortMerger.getNoOfRuns());
+        }
+    }
+
+    /**
+     * Parses files & accumulates their records into merged data. Sequential merge parses files on the calling thread
+     * in list order, parallel merge collects the ordered stream of files on worker threads, each of them builds its
+     * own partial data & partial data is combined in file name order.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON files.
+     * @param jsonFiles list of JSON files, sorted by file name.
+     * @param mergeOptions {@link MergeOptions} parallelism, read-ahead depth & memory-mapping threshold of the merge run.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run.
+     * @param mergedDataFactory creates empty merged data, once per worker thread.
+     * @param accumulator adds records of a single parsed file to merged data.
+     * @param combiner adds merged data of later files to merged data of earlier files, earlier records win for duplicates.
+     * @param <T> type of the merged data.
+     *
+     * @return merged data of all files.
+     * @throws IOException if parsing has been interrupted or failed unexpectedly.
+     */
+    protected <T> T buildMergedData(final JsonFactory jsonFactory,
+                                    final List<Path> jsonFiles,
+                                    final MergeOptions mergeOptions,
+                                    final RejectedRecordCollector rejectedRecordCollector,
+                                    final MergeMetrics mergeMetrics,
+                                    final Supplier<T> mergedDataFactory,
+                                    final BiConsumer<T, BoardRecordBuffer> accumulator,
+                                    final BiConsumer<T, T> combiner) throws IOException {
+        final int parallelism = mergeOptions.getParallelism();
+        if (parallelism > 1) {
+            return runInParallel(parallelism, () -> jsonFiles.parallelStream()
+                    .collect(mergedDataFactory,
+                            (mergedData, jsonFile) -> {
+                                final BoardRecordBuffer boardRecordBuffer = boardRecordBuffers.get();
+                                if (parseJsonFile(jsonFactory, jsonFile.toFile(), boardRecordBuffer, rejectedRecordCollector, mergeOptions, mergeMetrics)) {
+                                    accumulator.accept(mergedData, boardRecordBuffer);
+                                }
+                            },
+                            combiner));
+        }
+        final T mergedData = mergedDataFactory.get();
+        parseFiles(jsonFactory, jsonFiles, mergeOptions, rejectedRecordCollector, mergeMetrics,
+                boardRecordBuffer -> accumulator.accept(mergedData, boardRecordBuffer));
+        return mergedData;
+    }
+
+    /**
+     * Runs task on a dedicated {@link ForkJoinPool}, parallel streams used by the task run on its workers.
+     * Tasks collect ordered streams, each worker builds its own partial result & partial results are combined
+     * in file name order so the record of the earlier file wins for duplicates, no locking is required.
+     *
+     * @param parallelism no. of worker threads.
+     * @param task task to run.
+     * @param <T> type of the result.
+     *
+     * @return result of the task.
+     * @throws IOException if parsing has been interrupted or failed unexpectedly.
+     */
+    protected <T> T runInParallel(final int parallelism,
+                                  final Callable<T> task) throws IOException {
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+        try {
+            return forkJoinPool
+                    .submit(task)
+                    .get();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Parallel parsing has been interrupted", interruptedException);
+        } catch (ExecutionException executionException) {
+            throw new IOException("Parallel parsing failed: %s".formatted(executionException.getCause().getMessage()),
+                    executionException.getCause());
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    /**
+     * Combines two partial sorted maps, records from the left map (earlier files) win for duplicates.
+     *
+     * @param parsedJsonData left {@link TreeMap}, modified in place.
+     * @param nextParsedJsonData right {@link TreeMap}, built from files which come later in file name order.
+     */
+    protected void combineTreeMapData(final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData,
+                                      final TreeMap<String, TreeMap<String, BoardDataSlice>> nextParsedJsonData) {
+        nextParsedJsonData.forEach((vendor, boardNameMap) ->
+                parsedJsonData.merge(vendor, boardNameMap, (existingBoardNameMap, nextBoardNameMap) -> {
+                    nextBoardNameMap.forEach(existingBoardNameMap::putIfAbsent);
+                    return existingBoardNameMap;
+                }));
+    }
+
+    /**
+     * Combines two partial sorted maps of records read in any file order, record of the earlier file wins for
+     * duplicates.
+     *
+     * @param parsedJsonData left {@link TreeMap}, modified in place.
+     * @param nextParsedJsonData right {@link TreeMap}, records are {@link RankedBoardDataSlice}s.
+     */
+    protected void combineRankedTreeMapData(final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData,
+                                            final TreeMap<String, TreeMap<String, BoardDataSlice>> nextParsedJsonData) {
+        nextParsedJsonData.forEach((vendor, boardNameMap) ->
+                parsedJsonData.merge(vendor, boardNameMap, (existingBoardNameMap, nextBoardNameMap) -> {
+                    nextBoardNameMap.forEach((boardName, boardDataSlice) ->
+                            existingBoardNameMap.merge(boardName, boardDataSlice, RankedBoardDataSlice::earlier));
+                    return existingBoardNameMap;
+                }));
+    }
+
+    /**
+     * Creates walker finding input files of the source dir, performs recursive search & follows links.
      *
      * @param sourceDirPath the path to the directory containing the source files
      *         to be merged. Must not be {@code null}.
+     * @param mergeOptions {@link MergeOptions} include & exclude globs & max depth of the merge run.
+     *
+     * @return {@link DirectoryWalker} of the source dir.
+     */
+    protected DirectoryWalker createDirectoryWalker(final Path sourceDirPath,
+                                                    final MergeOptions mergeOptions) {
+        return new DirectoryWalker(sourceDirPath, mergeOptions.getIncludeGlobs(), mergeOptions.getExcludeGlobs(),
+                mergeOptions.getMaxDepth());
+    }
+
+    /**
+     * Returns input files of the source dir, performs recursive search.
+     *
+     * @param directoryWalker {@link DirectoryWalker} finds input files of the source dir.
+     * @param outputFilePath combined JSON output file, left out with its shard files if it is inside the source dir.
+     * @param parallelism no. of threads listing dirs.
      *
-     * @return {@link Stream} of paths.
+     * @return input files in {@link DirectoryWalker#FILE_ORDER}.
      * @throws IOException if an I/O error occurs during listing files.
      */
-    protected Stream<Path> listFiles(final Path sourceDirPath) throws IOException {
-        return walk(sourceDirPath, FOLLOW_LINKS);
+    protected List<Path> listFiles(final DirectoryWalker directoryWalker,
+                                   final Path outputFilePath,
+                                   final int parallelism) throws IOException {
+        return directoryWalker.list(parallelism).stream()
+                // Default output file & its shards are generated inside source dir, never merge them into themselves
+                .filter(OutputShards.outputFileMatcher(outputFilePath).negate())
+                .toList();
+    }
+
+    /**
+     * Opens input file, file at or above the memory-mapping threshold is memory-mapped, smaller file is read through
+     * a buffered stream.
+     *
+     * @param jsonFile {@link File} instance of JSON file to open.
+     * @param mergeOptions {@link MergeOptions} memory-mapping threshold of the merge run.
+     *
+     * @return {@link JsonInput} of the file.
+     */
+    protected JsonInput openJsonFile(final File jsonFile,
+                                     final MergeOptions mergeOptions) {
+        return isMemoryMapped(jsonFile, mergeOptions) ? JsonInput.mapped(jsonFile) : JsonInput.of(jsonFile);
+    }
+
+    /**
+     * Parses the JSON file like {@link #parseJsonFile(JsonFactory, File, BoardRecordBuffer, RejectedRecordCollector)}
+     * & adds parse time, file size & no. of valid records to metrics. File at or above the memory-mapping threshold
+     * is parsed from its mapped content instead. With a {@link ParsedFileCache} unchanged file is restored from the
+     * cache, only its records count as read then.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON file.
+     * @param jsonFile {@link File} instance of JSON file to process.
+     * @param boardRecordBuffer {@link BoardRecordBuffer} reusable buffer, cleared before parsing.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
+     * @param mergeOptions {@link MergeOptions} memory-mapping threshold of the merge run.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run.
+     *
+     * @return true if file has been parsed, false if there is an error while processing file, buffer is left empty then.
+     */
+    protected boolean parseJsonFile(final JsonFactory jsonFactory,
+                                    final File jsonFile,
+                                    final BoardRecordBuffer boardRecordBuffer,
+                                    final RejectedRecordCollector rejectedRecordCollector,
+                                    final MergeOptions mergeOptions,
+                                    final MergeMetrics mergeMetrics) {
+        if (parsedFileCache != null && !JsonFiles.isStandardStream(jsonFile.toPath())) {
+            final boolean[] parsedNow = {false};
+            final boolean parsed = parsedFileCache.parse(jsonFile, boardRecordBuffer, rejectedRecordCollector, fileRejectedRecordCollector -> {
+                parsedNow[0] = true;
+                return parseUncachedJsonFile(jsonFactory, jsonFile, boardRecordBuffer, fileRejectedRecordCollector, mergeOptions, mergeMetrics);
+            });
+            if (!parsedNow[0]) {
+                mergeMetrics.addBoardsRead(boardRecordBuffer.size());
+            }
+            return parsed;
+        }
+        return parseUncachedJsonFile(jsonFactory, jsonFile, boardRecordBuffer, rejectedRecordCollector, mergeOptions, mergeMetrics);
+    }
+
+    private boolean parseUncachedJsonFile(final JsonFactory jsonFactory,
+                                          final File jsonFile,
+                                          final BoardRecordBuffer boardRecordBuffer,
+                                          final RejectedRecordCollector rejectedRecordCollector,
+                                          final MergeOptions mergeOptions,
+                                          final MergeMetrics mergeMetrics) {
+        final boolean split = mergeOptions.getParallelism() > 1
+                && jsonFile.length() >= mergeOptions.getSplitThresholdBytes()
+                && !JsonFiles.isGzipped(jsonFile)
+                && !JsonFiles.isNdjsonFile(jsonFile.getPath());
+        if (!split && isMemoryMapped(jsonFile, mergeOptions)) {
+            return parseJsonFile(jsonFactory, JsonInput.mapped(jsonFile), boardRecordBuffer, rejectedRecordCollector, mergeMetrics);
+        }
+        mergeMetrics.markFileRead();
+        final long parseStartNanos = System.nanoTime();
+        final boolean parsed = split
+                ? parseJsonFileInRanges(jsonFactory, jsonFile, mergeOptions.getParallelism(), boardRecordBuffer, rejectedRecordCollector)
+                : parseJsonFile(jsonFactory, jsonFile, boardRecordBuffer, rejectedRecordCollector);
+        mergeMetrics.addPhaseTime(MergeMetrics.Phase.PARSE, parseStartNanos);
+        mergeMetrics.addFileRead(jsonFile.length());
+        mergeMetrics.addBoardsRead(boardRecordBuffer.size());
+        return parsed;
+    }
+
+    /**
+     * Parses input like {@link #parseJsonFile(JsonFactory, JsonInput, BoardRecordBuffer, RejectedRecordCollector)}
+     * & adds parse time, bytes & boards read to metrics.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON file.
+     * @param jsonInput {@link JsonInput} of JSON file to process.
+     * @param boardRecordBuffer {@link BoardRecordBuffer} reusable buffer, cleared before parsing.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run.
+     *
+     * @return true if file has been parsed, false if there is an error while processing file.
+     */
+    protected boolean parseJsonFile(final JsonFactory jsonFactory,
+                                    final JsonInput jsonInput,
+                                    final BoardRecordBuffer boardRecordBuffer,
+                                    final RejectedRecordCollector rejectedRecordCollector,
+                                    final MergeMetrics mergeMetrics) {
+        mergeMetrics.markFileRead();
+        final long parseStartNanos = System.nanoTime();
+        final boolean parsed = parseJsonFile(jsonFactory, jsonInput, boardRecordBuffer, rejectedRecordCollector);
+        mergeMetrics.addPhaseTime(MergeMetrics.Phase.PARSE, parseStartNanos);
+        mergeMetrics.addFileRead(jsonInput.length());
+        mergeMetrics.addBoardsRead(boardRecordBuffer.size());
+        return parsed;
+    }
+
+    /**
+     * Parses the JSON file like {@link #parseJsonFile(JsonFactory, File, BoardRecordBuffer, RejectedRecordCollector)},
+     * the 'boards' array is cut into byte ranges of whole boards which are parsed on several threads. Records &
+     * rejections of the ranges are passed on in range order, so they keep the order of the file. File of another
+     * layout or with a malformed range is parsed as a whole, which reports its errors the usual way.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON file.
+     * @param jsonFile {@link File} instance of plain JSON file to process.
+     * @param parallelism no. of threads parsing ranges, the current fork/join pool is used if there is one.
+     * @param boardRecordBuffer {@link BoardRecordBuffer} reusable buffer, cleared before parsing.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
+     *
+     * @return true if file has been parsed, false if there is an error while processing file, buffer is left empty then.
+     */
+    protected boolean parseJsonFileInRanges(final JsonFactory jsonFactory,
+                                            final File jsonFile,
+                                            final int parallelism,
+                                            final BoardRecordBuffer boardRecordBuffer,
+                                            final RejectedRecordCollector rejectedRecordCollector) {
+        final String sourceFile = jsonFile.getPath();
+        try (final FileChannel fileChannel = FileChannel.open(jsonFile.toPath(), READ)) {
+            final List<BoardsArraySplitter.BoardsRange> boardsRanges =
+                    BoardsArraySplitter.split(fileChannel, parallelism * RANGES_PER_THREAD);
+            if (boardsRanges.size() > 1) {
+                final List<ForkJoinTask<ParsedBoardsRange>> parseTasks = boardsRanges.stream()
+                        .map(boardsRange -> ForkJoinTask.adapt(() -> parseBoardsRange(jsonFactory, fileChannel, boardsRange, sourceFile)))
+                        .toList();
+                if (ForkJoinTask.inForkJoinPool()) {
+                    ForkJoinTask.invokeAll(parseTasks);
+                } else {
+                    runInParallel(parallelism, () -> ForkJoinTask.invokeAll(parseTasks));
+                }
+                if (parseTasks.stream().allMatch(parseTask -> parseTask.join() != null)) {
+                    boardRecordBuffer.clear();
+                    for (final ForkJoinTask<ParsedBoardsRange> parseTask : parseTasks) {
+                        boardRecordBuffer.addAll(parseTask.join().boardRecordBuffer());
+                        parseTask.join().rejectedRecordCollector().replayTo(rejectedRecordCollector);
+                    }
+                    return true;
+                }
+            }
+        } catch (IOException ioException) {
+            LOGGER.debug("Failed to split '{}', parsing it as a whole", sourceFile, ioException);
+        }
+        return parseJsonFile(jsonFactory, jsonFile, boardRecordBuffer, rejectedRecordCollector);
+    }
+
+    /**
+     * @param jsonFactory {@link JsonFactory} instance to process JSON file.
+     * @param fileChannel {@link FileChannel} of the JSON file, read at absolute positions.
+     * @param boardsRange {@link BoardsArraySplitter.BoardsRange} byte range of whole boards.
+     * @param sourceFile path of the file being parsed.
+     *
+     * @return records & rejections of the range, {@code null} if range is malformed.
+     */
+    private ParsedBoardsRange parseBoardsRange(final JsonFactory jsonFactory,
+                                               final FileChannel fileChannel,
+                                               final BoardsArraySplitter.BoardsRange boardsRange,
+                                               final String sourceFile) {
+        final BoardRecordBuffer boardRecordBuffer = new BoardRecordBuffer();
+        final DeferredRejectedRecordCollector rejectedRecordCollector = new DeferredRejectedRecordCollector();
+        // Range holds boards separated by commas, brackets make it a standalone array
+        final InputStream rangeInputStream = new SequenceInputStream(Collections.enumeration(List.of(
+                new ByteArrayInputStream(new byte[]{'['}),
+                new FileRangeInputStream(fileChannel, boardsRange.startOffset(), boardsRange.endOffset()),
+                new ByteArrayInputStream(new byte[]{']'}))));
+        try (final JsonParser parser = jsonFactory.createParser(rangeInputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
+            int index = boardsRange.firstIndex();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    return null;
+                }
+                readBoardData(parser, boardRecordBuffer, sourceFile, index++, rejectedRecordCollector);
+            }
+            return parser.nextToken() == null ? new ParsedBoardsRange(boardRecordBuffer, rejectedRecordCollector) : null;
+        } catch (IOException ioException) {
+            return null;
+        }
     }
 
     /**
-     * Parse the JSON file, builds {@link BoardWrapperData} object.
+     * Parse the JSON file, reads board records into {@link BoardRecordBuffer} without an intermediate object per record.
+     * Gzip compressed file is decompressed while parsing.
      *
      * @param jsonFactory {@link JsonFactory} instance to process JSON file.
      * @param jsonFile {@link File} instance of JSON file to process.
+     * @param boardRecordBuffer {@link BoardRecordBuffer} reusable buffer, cleared before parsing.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
      *
-     * @return Optional {@link BoardWrapperData}, returns empty if there is an error while processing file.
+     * @return true if file has been parsed, false if there is an error while processing file, buffer is left empty then.
      */
-    protected Optional<BoardWrapperData> parseJsonFile(final JsonFactory jsonFactory,
-                                                       final File jsonFile) {
-        final List<BoardData> boardDataList = new ArrayList<>();
-        try (final JsonParser parser = jsonFactory.createParser(jsonFile)) {
+    protected boolean parseJsonFile(final JsonFactory jsonFactory,
+                                    final File jsonFile,
+                                    final BoardRecordBuffer boardRecordBuffer,
+                                    final RejectedRecordCollector rejectedRecordCollector) {
+        return parseJsonFile(jsonFactory, JsonInput.of(jsonFile), boardRecordBuffer, rejectedRecordCollector);
+    }
+
+    /**
+     * Parse the JSON input like {@link #parseJsonFile(JsonFactory, File, BoardRecordBuffer, RejectedRecordCollector)},
+     * input may be read from disk while parsing or already loaded into memory. Newline-delimited JSON input holds
+     * one board object per line instead of the 'boards' array, boards are indexed by their position in the input.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON file.
+     * @param jsonInput {@link JsonInput} of JSON file to process.
+     * @param boardRecordBuffer {@link BoardRecordBuffer} reusable buffer, cleared before parsing.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
+     *
+     * @return true if file has been parsed, false if there is an error while processing file, buffer is left empty then.
+     */
+    protected boolean parseJsonFile(final JsonFactory jsonFactory,
+                                    final JsonInput jsonInput,
+                                    final BoardRecordBuffer boardRecordBuffer,
+                                    final RejectedRecordCollector rejectedRecordCollector) {
+        boardRecordBuffer.clear();
+        final String sourceFile = jsonInput.getPath();
+        try (final JsonParser parser = jsonInput.createParser(jsonFactory)) {
+            if (JsonFiles.isNdjsonFile(sourceFile)) {
+                int index = 0;
+                // Root level values follow one another, each one is a board
+                while (parser.nextToken() != null) {
+                    readBoardData(parser, boardRecordBuffer, sourceFile, index++, rejectedRecordCollector);
+                }
+                return true;
+            }
             boolean boardsFound = false;
+            JsonToken token;
             // Start parsing the file
-            while (!parser.isClosed()) {
-                final JsonToken token = parser.nextToken();
-
+            while ((token = parser.nextToken()) != null) {
                 // Check for the start of the array
                 if (JsonToken.FIELD_NAME.equals(token) && "boards".equals(parser.currentName())) {
                     boardsFound = true;
-                    parser.nextToken(); // Move to START_ARRAY
-
-                    while (parser.nextToken() != JsonToken.END_ARRAY) {
-                        // Deserialize each object in the array
-                        try {
-                            final BoardData boardData = objectMapper.readValue(parser, BoardData.class);
-                            validateBoardData(boardData);
-                            boardDataList.add(boardData);
-                        } catch (NullPointerException nullPointerException) {
-                            LOGGER.error("Json field {} is null", nullPointerException.getMessage());
-                        } catch (IOException exception) {
-                            LOGGER.error("Error reading json object: {}", exception.getMessage());
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        rejectedRecordCollector.reject(sourceFile, RejectedRecordCollector.FILE_LEVEL_INDEX, RejectionReason.BOARDS_NOT_AN_ARRAY);
+                        boardRecordBuffer.clear();
+                        return false;
+                    }
+                    int index = 0;
+                    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                        if (token == null) {
+                            rejectedRecordCollector.reject(sourceFile, RejectedRecordCollector.FILE_LEVEL_INDEX, RejectionReason.MALFORMED_FILE);
+                            boardRecordBuffer.clear();
+                            return false;
                         }
+                        readBoardData(parser, boardRecordBuffer, sourceFile, index++, rejectedRecordCollector);
                     }
                 }
             }
             if (!boardsFound) {
-                LOGGER.error("Error: Required field 'boards' is missing or misspelled in file: {}. Skipping the file.", jsonFile.getName());
-                return Optional.empty();
+                rejectedRecordCollector.reject(sourceFile, RejectedRecordCollector.FILE_LEVEL_INDEX, RejectionReason.MISSING_BOARDS);
+                return false;
             }
-            return Optional.of(new BoardWrapperData(boardDataList));
+            return true;
         } catch (IOException ioException) {
-            return Optional.empty();
+            rejectedRecordCollector.reject(sourceFile, RejectedRecordCollector.FILE_LEVEL_INDEX, RejectionReason.MALFORMED_FILE);
+            boardRecordBuffer.clear();
+            return false;
+        } finally {
+            rejectedRecordCollector.flush();
         }
     }
 
     /**
-     * Validates {@link BoardData} board data retrieved from JSON file.
+     * Reads & validates board object parser is positioned at, invalid records are passed to the collector & skipped.
+     *
+     * @param parser {@link JsonParser} positioned at the start of a board value.
+     * @param boardRecordBuffer {@link BoardRecordBuffer} valid record is appended to.
+     * @param sourceFile path of the file being parsed.
+     * @param index index of the record in the 'boards' array.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects rejected records.
      *
-     * @param boardData same {@link BoardData} instance provided as an argument.
+     * @return true if record is valid & has been appended.
+     * @throws IOException if JSON is malformed or an I/O error occurs.
      */
-    protected void validateBoardData(final BoardData boardData) {
-        Objects.requireNonNull(boardData.getName(), "\"name\"");
-        Objects.requireNonNull(boardData.getName(), "\"vendor\"");
-        Objects.requireNonNull(boardData.getName(), "\"core\"");
-        Objects.requireNonNull(boardData.getName(), "\"has_wifi\"");
+    protected boolean readBoardData(final JsonParser parser,
+                                    final BoardRecordBuffer boardRecordBuffer,
+                                    final String sourceFile,
+                                    final int index,
+                                    final RejectedRecordCollector rejectedRecordCollector) throws IOException {
+        final RejectionReason rejectionReason = boardTokenReaders.get().read(parser, boardRecordBuffer);
+        if (rejectionReason != null) {
+            rejectedRecordCollector.reject(sourceFile, index, rejectionReason);
+            return false;
+        }
+        return true;
     }
 
     /**
-     * Builds sorted map from parsed JSON file stored as models.
+     * Builds sorted map from board records of a parsed JSON file.
      *
-     * @param boardWrapperData {@link BoardWrapperData} wrapper class.
+     * @param boardRecordBuffer {@link BoardRecordBuffer} records of a single file.
      * @param parsedJsonData {@link TreeMap} to store records in sorted order. e.g. vendor and name.
      */
-    protected void buildTreeMapData(final BoardWrapperData boardWrapperData,
+    protected void buildTreeMapData(final BoardRecordBuffer boardRecordBuffer,
                                     final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData) {
-        boardWrapperData
-                .boards()
-                .forEach(boardData ->
-                        parsedJsonData.compute(boardData.getVendor(), (vendorAsKey, boardNameMap) -> {
-                            if (boardNameMap == null) {
-                                boardNameMap = new TreeMap<>();
-                            }
-                            boardNameMap.computeIfAbsent(boardData.getName(), (nameAsKey) -> new BoardDataSlice(boardData.getCore(), boardData.isHasWifi()));
-                            return boardNameMap;
-                        }));
+        for (int index = 0; index < boardRecordBuffer.size(); index++) {
+            final TreeMap<String, BoardDataSlice> boardNameMap = parsedJsonData
+                    .computeIfAbsent(boardRecordBuffer.getVendor(index), vendorAsKey -> new TreeMap<>());
+            if (!boardNameMap.containsKey(boardRecordBuffer.getName(index))) {
+                boardNameMap.put(boardRecordBuffer.getName(index),
+                        new BoardDataSlice(boardRecordBuffer.getCore(index), boardRecordBuffer.isHasWifi(index)));
+            }
+        }
+    }
+
+    /**
+     * Builds sorted map from board records of a parsed JSON file, records keep the file they've been read from.
+     *
+     * @param boardRecordBuffer {@link BoardRecordBuffer} records of a single file.
+     * @param jsonFile file records have been read from.
+     * @param parsedJsonData {@link TreeMap} to store records in sorted order. e.g. vendor and name.
+     */
+    protected void buildRankedTreeMapData(final BoardRecordBuffer boardRecordBuffer,
+                                          final Path jsonFile,
+                                          final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData) {
+        for (int index = 0; index < boardRecordBuffer.size(); index++) {
+            parsedJsonData
+                    .computeIfAbsent(boardRecordBuffer.getVendor(index), vendorAsKey -> new TreeMap<>())
+                    .merge(boardRecordBuffer.getName(index),
+                            new RankedBoardDataSlice(boardRecordBuffer.getCore(index), boardRecordBuffer.isHasWifi(index), jsonFile),
+                            RankedBoardDataSlice::earlier);
+        }
+    }
+
+    /**
+     * Builds sorted map like {@link #buildTreeMapData(BoardRecordBuffer, TreeMap)} & adds index time to metrics.
+     *
+     * @param boardRecordBuffer {@link BoardRecordBuffer} records of a single file.
+     * @param parsedJsonData {@link TreeMap} to store records in sorted order. e.g. vendor and name.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run.
+     */
+    protected void buildTreeMapData(final BoardRecordBuffer boardRecordBuffer,
+                                    final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData,
+                                    final MergeMetrics mergeMetrics) {
+        final long indexStartNanos = System.nanoTime();
+        buildTreeMapData(boardRecordBuffer, parsedJsonData);
+        mergeMetrics.addPhaseTime(MergeMetrics.Phase.INDEX, indexStartNanos);
+    }
+
+    /**
+     * Writes combined data to a single output file in the format selected by options & adds write time & no. of
+     * written boards to metrics.
+     *
+     * @param parsedJsonData {@link TreeMap} stores records in a sorted order. e.g. vendor and name.
+     * @param outputFilePath combined output file.
+     * @param rejectionCounts provides no. of rejections per reason written to metadata, {@code null} to leave them out.
+     * @param mergeOptions {@link MergeOptions} output format of the merge run.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    protected void writeCombinedJsonFileData(final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData,
+                                             final Path outputFilePath,
+                                             final Supplier<Map<RejectionReason, Long>> rejectionCounts,
+                                             final MergeOptions mergeOptions,
+                                             final MergeMetrics mergeMetrics) throws IOException {
+        if (mergeOptions.getOutputShards() > 1) {
+            final long writeStartNanos = System.nanoTime();
+            final List<OutputShard> outputShards = writeShardedJsonFileData(parsedJsonData, outputFilePath, rejectionCounts, mergeOptions);
+            mergeMetrics.addBoardsWritten(outputShards.stream().mapToLong(OutputShard::noOfBoards).sum());
+            for (final OutputShard outputShard : outputShards) {
+                mergeMetrics.addBytesWritten(Files.size(outputShard.filePath()));
+            }
+            mergeMetrics.addBytesWritten(Files.size(outputFilePath));
+            mergeMetrics.addPhaseTime(MergeMetrics.Phase.WRITE, writeStartNanos);
+            return;
+        }
+        writeCombinedJsonFileData(toBoardRecordSource(parsedJsonData), outputFilePath, rejectionCounts, mergeOptions, mergeMetrics);
+    }
+
+    /**
+     * Splits combined data into contiguous vendor ranges of similar no. of boards & writes each range to its own
+     * shard file in parallel, each shard carries its own metadata. Output file becomes a manifest of the shards,
+     * written once all shards are written.
+     *
+     * @param parsedJsonData {@link TreeMap} stores records in a sorted order. e.g. vendor and name.
+     * @param outputFilePath shard manifest file, shard files are written next to it.
+     * @param rejectionCounts provides no. of rejections per reason written to manifest metadata, {@code null} to leave them out.
+     * @param mergeOptions {@link MergeOptions} no. of shards, output format, compression level & fsync of the merge run.
+     *
+     * @return written {@link OutputShard}s in vendor order.
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    protected List<OutputShard> writeShardedJsonFileData(final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData,
+                                                         final Path outputFilePath,
+                                                         final Supplier<Map<RejectionReason, Long>> rejectionCounts,
+                                                         final MergeOptions mergeOptions) throws IOException {
+        final List<OutputShard> outputShards = OutputShards.split(parsedJsonData, mergeOptions.getOutputShards(), outputFilePath);
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService shardExecutor = Executors.newFixedThreadPool(Math.min(outputShards.size(), Runtime.getRuntime().availableProcessors()),
+                runnable -> new Thread(runnable, "shard-writer-" + threadCount.incrementAndGet()));
+        try {
+            final List<Future<Void>> shardWrites = outputShards.stream()
+                    .map(outputShard -> shardExecutor.<Void>submit(() -> {
+                        writeCombinedJsonFileData(toBoardRecordSource(outputShard.vendors()), outputShard.filePath(), null, mergeOptions);
+                        return null;
+                    }))
+                    .toList();
+            for (final Future<Void> shardWrite : shardWrites) {
+                shardWrite.get();
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Writing output shards has been interrupted", interruptedException);
+        } catch (ExecutionException executionException) {
+            if (executionException.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Writing output shards failed: %s".formatted(executionException.getCause().getMessage()),
+                    executionException.getCause());
+        } finally {
+            shardExecutor.shutdownNow();
+        }
+        writeShardManifest(outputShards, outputFilePath, rejectionCounts == null ? null : rejectionCounts.get(), mergeOptions);
+        return outputShards;
+    }
+
+    /**
+     * Writes manifest of the shards, file name, vendor range & no. of vendors & boards of every shard in vendor
+     * order & metadata of the whole output. Manifest is always plain pretty-printed JSON.
+     *
+     * @param outputShards {@link OutputShard}s in vendor order.
+     * @param outputFilePath shard manifest file.
+     * @param rejectionCounts no. of rejections per reason, {@code null} to leave them out.
+     * @param mergeOptions {@link MergeOptions} fsync of the merge run.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    protected void writeShardManifest(final List<OutputShard> outputShards,
+                                      final Path outputFilePath,
+                                      final Map<RejectionReason, Long> rejectionCounts,
+                                      final MergeOptions mergeOptions) throws IOException {
+        LOGGER.info("Shard manifest is being generated - {}", outputFilePath);
+        JsonFiles.writeAtomically(outputFilePath, JsonFiles.NO_COMPRESSION, mergeOptions.isFsync(), outputStream -> {
+            try (final JsonGenerator jsonGenerator = jsonFactory.createGenerator(outputStream, UTF8)) {
+                jsonGenerator.useDefaultPrettyPrinter();
+                jsonGenerator.writeStartObject(); // Start of the root object
+                jsonGenerator.writeFieldName("shards");
+                jsonGenerator.writeStartArray();
+                int totalVendors = 0;
+                int totalBoards = 0;
+                for (final OutputShard outputShard : outputShards) {
+                    jsonGenerator.writeStartObject(); // Start of an individual shard
+                    jsonGenerator.writeStringField("file", outputShard.filePath().getFileName().toString());
+                    jsonGenerator.writeStringField("first_vendor", outputShard.firstVendor());
+                    jsonGenerator.writeStringField("last_vendor", outputShard.lastVendor());
+                    jsonGenerator.writeNumberField("total_vendors", outputShard.vendors().size());
+                    jsonGenerator.writeNumberField("total_boards", outputShard.noOfBoards());
+                    jsonGenerator.writeEndObject(); // End of an individual shard
+                    totalVendors += outputShard.vendors().size();
+                    totalBoards += outputShard.noOfBoards();
+                }
+                jsonGenerator.writeEndArray();
+                writeMetaData(jsonGenerator, totalVendors, totalBoards, rejectionCounts);
+                jsonGenerator.writeEndObject(); // End of the root object
+            }
+        });
+        // Manifest isn't indexed, index of an earlier unsharded run is deleted
+        writeOutputIndex(null, outputFilePath, mergeOptions);
+        LOGGER.info("Shard manifest has been generated - {}", outputFilePath);
+    }
+
+    /**
+     * Writes combined data to a single output file in the format selected by options & adds write time & no. of
+     * written boards to metrics.
+     *
+     * @param boardRecordSource {@link BoardRecordSource} provides records in a sorted order. e.g. vendor and name.
+     * @param outputFilePath combined output file.
+     * @param rejectionCounts provides no. of rejections per reason written to metadata, {@code null} to leave them out.
+     * @param mergeOptions {@link MergeOptions} output format of the merge run.
+     * @param mergeMetrics {@link MergeMetrics} metrics of the merge run.
+     *
+     * @throws IOException if an I/O error occurs while reading records or during writing process.
+     */
+    protected void writeCombinedJsonFileData(final BoardRecordSource boardRecordSource,
+                                             final Path outputFilePath,
+                                             final Supplier<Map<RejectionReason, Long>> rejectionCounts,
+                                             final MergeOptions mergeOptions,
+                                             final MergeMetrics mergeMetrics) throws IOException {
+        warnIfShardsIgnored(mergeOptions);
+        final long writeStartNanos = System.nanoTime();
+        if (boardRecordSource instanceof OffHeapBoardStore offHeapBoardStore) {
+            // Records are written from their UTF-8 bytes without being decoded
+            writeCombinedJsonFileData(offHeapBoardStore, outputFilePath, rejectionCounts, mergeOptions);
+            mergeMetrics.addBoardsWritten(offHeapBoardStore.size());
+        } else {
+            writeCombinedJsonFileData(mergeMetrics.countBoardsWritten(boardRecordSource), outputFilePath, rejectionCounts, mergeOptions);
+        }
+        mergeMetrics.addPhaseTime(MergeMetrics.Phase.WRITE, writeStartNanos);
+    }
+
+    /**
+     * Output shards are split from the default in-memory index, other indexes write a single output file.
+     */
+    private static void warnIfShardsIgnored(final MergeOptions mergeOptions) {
+        if (mergeOptions.getOutputShards() > 1) {
+            LOGGER.warn("Output shards are supported with the default index only, a single output file is written");
+        }
     }
 
     /**
@@ -154,40 +1190,304 @@ public class DefaultMergeFilesService implements IMergeFilesService {
      *
      * @param parsedJsonData {@link TreeMap} stores records in a sorted order. e.g. vendor and name.
      * @param outputFilePath combined JSON output file.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
      */
     protected void writeCombinedJsonFileData(final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData,
-                                             final Path outputFilePath) {
-        LOGGER.info("Output file is being generated - {}", outputFilePath);
-        try (final JsonGenerator jsonGenerator = new JsonFactory()
-                .createGenerator(outputFilePath.toFile(), UTF8)) {
-            jsonGenerator.useDefaultPrettyPrinter();
-            jsonGenerator.writeStartObject(); // Start of the root object
-            jsonGenerator.writeFieldName("boards"); // Field name for the array
-            jsonGenerator.writeStartArray(); // Start of the array
+                                             final Path outputFilePath) throws IOException {
+        writeCombinedJsonFileData(parsedJsonData, outputFilePath, null);
+    }
 
-            int noOfVendors = 0;
-            int noOfBoards = 0;
+    /**
+     * Writes combined data to a single JSON file.
+     *
+     * @param parsedJsonData {@link TreeMap} stores records in a sorted order. e.g. vendor and name.
+     * @param outputFilePath combined JSON output file.
+     * @param rejectionCounts provides no. of rejections per reason written to metadata, {@code null} to leave them out.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    protected void writeCombinedJsonFileData(final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData,
+                                             final Path outputFilePath,
+                                             final Supplier<Map<RejectionReason, Long>> rejectionCounts) throws IOException {
+        writeCombinedJsonFileData(toBoardRecordSource(parsedJsonData), outputFilePath, rejectionCounts);
+    }
 
+    /**
+     * @param parsedJsonData {@link TreeMap} stores records in a sorted order. e.g. vendor and name.
+     *
+     * @return {@link BoardRecordSource} provides records of the map in its order.
+     */
+    protected BoardRecordSource toBoardRecordSource(final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData) {
+        return boardRecordConsumer -> {
             for (final Map.Entry<String, TreeMap<String, BoardDataSlice>> mapEntry : parsedJsonData.entrySet()) {
-                noOfVendors++;
                 for (final Map.Entry<String, BoardDataSlice> boardDataSliceMapEntry : mapEntry.getValue().entrySet()) {
-                    try {
-                        writeBoardData(jsonGenerator, boardDataSliceMapEntry.getKey(), mapEntry.getKey(), boardDataSliceMapEntry.getValue());
-                        noOfBoards++;
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
+                    boardRecordConsumer.accept(mapEntry.getKey(), boardDataSliceMapEntry.getKey(), boardDataSliceMapEntry.getValue());
+                }
+            }
+        };
+    }
+
+    /**
+     * Writes combined data to a single JSON file.
+     *
+     * @param boardRecordSource {@link BoardRecordSource} provides records in a sorted order. e.g. vendor and name.
+     * @param outputFilePath combined JSON output file.
+     *
+     * @throws IOException if an I/O error occurs while reading records or during writing process.
+     */
+    protected void writeCombinedJsonFileData(final BoardRecordSource boardRecordSource,
+                                             final Path outputFilePath) throws IOException {
+        writeCombinedJsonFileData(boardRecordSource, outputFilePath, null);
+    }
+
+    /**
+     * Writes combined data to a single JSON file.
+     *
+     * @param boardRecordSource {@link BoardRecordSource} provides records in a sorted order. e.g. vendor and name.
+     * @param outputFilePath combined JSON output file.
+     * @param rejectionCounts provides no. of rejections per reason written to metadata, {@code null} to leave them out.
+     *
+     * @throws IOException if an I/O error occurs while reading records or during writing process.
+     */
+    protected void writeCombinedJsonFileData(final BoardRecordSource boardRecordSource,
+                                             final Path outputFilePath,
+                                             final Supplier<Map<RejectionReason, Long>> rejectionCounts) throws IOException {
+        writeCombinedJsonFileData(boardRecordSource, outputFilePath, rejectionCounts, new MergeOptions());
+    }
+
+    /**
+     * Writes combined data to a single output file in the format selected by options, all formats share the same
+     * structure. Output is gzip compressed if compression level is set. Records are serialized & written on a writer
+     * thread while the source provides the next ones, output file is replaced atomically once complete. Offsets of
+     * the written boards are indexed next to the output file if requested.
+     *
+     * @param boardRecordSource {@link BoardRecordSource} provides records in a sorted order. e.g. vendor and name.
+     * @param outputFilePath combined output file.
+     * @param rejectionCounts provides no. of rejections per reason written to metadata, {@code null} to leave them out.
+     * @param mergeOptions {@link MergeOptions} output format, compression level, output index & fsync of the merge run.
+     *
+     * @throws IOException if an I/O error occurs while reading records or during writing process.
+     */
+    protected void writeCombinedJsonFileData(final BoardRecordSource boardRecordSource,
+                                             final Path outputFilePath,
+                                             final Supplier<Map<RejectionReason, Long>> rejectionCounts,
+                                             final MergeOptions mergeOptions) throws IOException {
+        LOGGER.info("Output file is being generated - {}", outputFilePath);
+        final OutputFormat outputFormat = mergeOptions.getOutputFormat();
+        final OutputIndex.Builder outputIndexBuilder = createOutputIndexBuilder(outputFilePath, mergeOptions);
+        JsonFiles.writeAtomically(outputFilePath, mergeOptions.getOutputCompressionLevel(), mergeOptions.isFsync(), outputStream -> {
+            final CountingOutputStream countingOutputStream = new CountingOutputStream(outputStream);
+            try (final JsonGenerator jsonGenerator = outputJsonFactories.computeIfAbsent(outputFormat, OutputFormat::createJsonFactory)
+                    .createGenerator(countingOutputStream, UTF8)) {
+                if (outputFormat.isPrettyPrinted()) {
+                    jsonGenerator.useDefaultPrettyPrinter();
+                }
+                if (outputFormat.isNewlineDelimited()) {
+                    // One board object per line, no root object & no metadata
+                    try (final PipelinedRecordWriter pipelinedRecordWriter = new PipelinedRecordWriter((vendorName, boardName, boardDataSlice) -> {
+                        writeBoardData(jsonGenerator, countingOutputStream, outputIndexBuilder, boardName, vendorName, boardDataSlice);
+                        jsonGenerator.writeRaw('\n');
+                    })) {
+                        boardRecordSource.forEachRecord(pipelinedRecordWriter);
+                    }
+                    return;
+                }
+                jsonGenerator.writeStartObject(); // Start of the root object
+                jsonGenerator.writeFieldName("boards"); // Field name for the array
+                jsonGenerator.writeStartArray(); // Start of the array
+
+                // Updated by the writer thread, read once it has finished
+                final int[] noOfVendors = {0};
+                final int[] noOfBoards = {0};
+                final String[] lastVendorName = {null};
+
+                try (final PipelinedRecordWriter pipelinedRecordWriter = new PipelinedRecordWriter((vendorName, boardName, boardDataSlice) -> {
+                    // Records arrive sorted by vendor, a new vendor name starts a new vendor
+                    if (!vendorName.equals(lastVendorName[0])) {
+                        lastVendorName[0] = vendorName;
+                        noOfVendors[0]++;
                     }
+                    writeBoardData(jsonGenerator, countingOutputStream, outputIndexBuilder, boardName, vendorName, boardDataSlice);
+                    noOfBoards[0]++;
+                })) {
+                    boardRecordSource.forEachRecord(pipelinedRecordWriter);
                 }
+                jsonGenerator.writeEndArray(); // End of the array
+                writeMetaData(jsonGenerator, noOfVendors[0], noOfBoards[0], rejectionCounts == null ? null : rejectionCounts.get());
+                jsonGenerator.writeEndObject(); // End of the root object
             }
-            jsonGenerator.writeEndArray(); // End of the array
-            writeMetaData(jsonGenerator, noOfVendors, noOfBoards);
-            jsonGenerator.writeEndObject(); // End of the root object
-            LOGGER.info("Output file has been generated - {}", outputFilePath);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        });
+        writeOutputIndex(outputIndexBuilder, outputFilePath, mergeOptions);
+        LOGGER.info("Output file has been generated - {}", outputFilePath);
+    }
+
+    /**
+     * Writes records of the off-heap store to a single output file in the format selected by options.
+     * UTF-8 bytes of the records are written as they are, without being decoded to strings, on the calling thread
+     * as the bytes are valid until the next record only. Output file is replaced atomically once complete. Offsets of
+     * the written boards are indexed next to the output file if requested.
+     *
+     * @param offHeapBoardStore {@link OffHeapBoardStore} keeps records as UTF-8 bytes.
+     * @param outputFilePath combined output file.
+     * @param rejectionCounts provides no. of rejections per reason written to metadata, {@code null} to leave them out.
+     * @param mergeOptions {@link MergeOptions} output format, compression level, output index & fsync of the merge run.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    protected void writeCombinedJsonFileData(final OffHeapBoardStore offHeapBoardStore,
+                                             final Path outputFilePath,
+                                             final Supplier<Map<RejectionReason, Long>> rejectionCounts,
+                                             final MergeOptions mergeOptions) throws IOException {
+        LOGGER.info("Output file is being generated - {}", outputFilePath);
+        final OutputFormat outputFormat = mergeOptions.getOutputFormat();
+        final OutputIndex.Builder outputIndexBuilder = createOutputIndexBuilder(outputFilePath, mergeOptions);
+        JsonFiles.writeAtomically(outputFilePath, mergeOptions.getOutputCompressionLevel(), mergeOptions.isFsync(), outputStream -> {
+            final CountingOutputStream countingOutputStream = new CountingOutputStream(outputStream);
+            try (final JsonGenerator jsonGenerator = outputJsonFactories.computeIfAbsent(outputFormat, OutputFormat::createJsonFactory)
+                    .createGenerator(countingOutputStream, UTF8)) {
+                if (outputFormat.isPrettyPrinted()) {
+                    jsonGenerator.useDefaultPrettyPrinter();
+                }
+                if (outputFormat.isNewlineDelimited()) {
+                    // One board object per line, no root object & no metadata
+                    offHeapBoardStore.forEachEncodedRecord((vendorName, boardName, boardNameLength, core, hasWifi) -> {
+                        writeBoardData(jsonGenerator, countingOutputStream, outputIndexBuilder, boardName, boardNameLength, vendorName, core, hasWifi);
+                        jsonGenerator.writeRaw('\n');
+                    });
+                    return;
+                }
+                jsonGenerator.writeStartObject(); // Start of the root object
+                jsonGenerator.writeFieldName("boards"); // Field name for the array
+                jsonGenerator.writeStartArray(); // Start of the array
+
+                final int[] noOfVendors = {0};
+                final byte[][] lastVendorName = {null};
+
+                offHeapBoardStore.forEachEncodedRecord((vendorName, boardName, boardNameLength, core, hasWifi) -> {
+                    // Records arrive sorted by vendor, each vendor has a single name array
+                    if (vendorName != lastVendorName[0]) {
+                        lastVendorName[0] = vendorName;
+                        noOfVendors[0]++;
+                    }
+                    writeBoardData(jsonGenerator, countingOutputStream, outputIndexBuilder, boardName, boardNameLength, vendorName, core, hasWifi);
+                });
+                jsonGenerator.writeEndArray(); // End of the array
+                writeMetaData(jsonGenerator, noOfVendors[0], offHeapBoardStore.size(), rejectionCounts == null ? null : rejectionCounts.get());
+                jsonGenerator.writeEndObject(); // End of the root object
+            }
+        });
+        writeOutputIndex(outputIndexBuilder, outputFilePath, mergeOptions);
+        LOGGER.info("Output file has been generated - {}", outputFilePath);
+    }
+
+    /**
+     * @param outputFilePath combined output file.
+     * @param mergeOptions {@link MergeOptions} output index, format & compression level of the merge run.
+     *
+     * @return {@link OutputIndex.Builder} collecting offsets of written boards, {@code null} if no index is written.
+     */
+    private static OutputIndex.Builder createOutputIndexBuilder(final Path outputFilePath,
+                                                               final MergeOptions mergeOptions) {
+        if (!mergeOptions.isOutputIndex()) {
+            return null;
+        }
+        // Offsets are of the JSON text, they can't be used to seek in compressed or binary output
+        if (JsonFiles.isStandardStream(outputFilePath) || mergeOptions.getOutputCompressionLevel() != JsonFiles.NO_COMPRESSION
+                || mergeOptions.getOutputFormat().isBinary()) {
+            LOGGER.warn("Output index needs an uncompressed JSON output file, no index is written - {}", outputFilePath);
+            return null;
+        }
+        return new OutputIndex.Builder();
+    }
+
+    /**
+     * Writes index of the written output file next to it. Without index, an index of a previous run is deleted,
+     * so it's never used for an output it doesn't match.
+     *
+     * @param outputIndexBuilder {@link OutputIndex.Builder} offsets of written boards, {@code null} if no index is written.
+     * @param outputFilePath combined output file.
+     * @param mergeOptions {@link MergeOptions} output format & fsync of the merge run.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    private static void writeOutputIndex(final OutputIndex.Builder outputIndexBuilder,
+                                         final Path outputFilePath,
+                                         final MergeOptions mergeOptions) throws IOException {
+        if (outputIndexBuilder != null) {
+            outputIndexBuilder.write(OutputIndex.indexFilePath(outputFilePath), Files.size(outputFilePath),
+                    mergeOptions.getOutputFormat().isNewlineDelimited(), mergeOptions.isFsync());
+        } else if (!JsonFiles.isStandardStream(outputFilePath)) {
+            Files.deleteIfExists(OutputIndex.indexFilePath(outputFilePath));
         }
     }
 
+    /**
+     * Writes individual board data JSON structure & adds its offsets to the output index.
+     *
+     * @param jsonGenerator {@link JsonGenerator} instance to write JSON data.
+     * @param countingOutputStream {@link CountingOutputStream} the generator writes to.
+     * @param outputIndexBuilder {@link OutputIndex.Builder} offsets of written boards, {@code null} if no index is written.
+     * @param boardName board name.
+     * @param vendorName vendor name.
+     * @param boardDataSlice {@link BoardDataSlice} instance, keeps partial info.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    private void writeBoardData(final JsonGenerator jsonGenerator,
+                                final CountingOutputStream countingOutputStream,
+                                final OutputIndex.Builder outputIndexBuilder,
+                                final String boardName,
+                                final String vendorName,
+                                final BoardDataSlice boardDataSlice) throws IOException {
+        if (outputIndexBuilder == null) {
+            writeBoardData(jsonGenerator, boardName, vendorName, boardDataSlice);
+            return;
+        }
+        final long startOffset = outputOffset(jsonGenerator, countingOutputStream);
+        writeBoardData(jsonGenerator, boardName, vendorName, boardDataSlice);
+        outputIndexBuilder.add(vendorName, boardName, startOffset, outputOffset(jsonGenerator, countingOutputStream));
+    }
+
+    /**
+     * Writes individual board data JSON structure from UTF-8 bytes & adds its offsets to the output index.
+     *
+     * @param jsonGenerator {@link JsonGenerator} instance to write JSON data.
+     * @param countingOutputStream {@link CountingOutputStream} the generator writes to.
+     * @param outputIndexBuilder {@link OutputIndex.Builder} offsets of written boards, {@code null} if no index is written.
+     * @param boardName UTF-8 bytes of board name.
+     * @param boardNameLength no. of bytes of board name.
+     * @param vendorName UTF-8 bytes of vendor name.
+     * @param core UTF-8 bytes of core name.
+     * @param hasWifi true if board has wifi.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    private void writeBoardData(final JsonGenerator jsonGenerator,
+                                final CountingOutputStream countingOutputStream,
+                                final OutputIndex.Builder outputIndexBuilder,
+                                final byte[] boardName,
+                                final int boardNameLength,
+                                final byte[] vendorName,
+                                final byte[] core,
+                                final boolean hasWifi) throws IOException {
+        if (outputIndexBuilder == null) {
+            writeBoardData(jsonGenerator, boardName, boardNameLength, vendorName, core, hasWifi);
+            return;
+        }
+        final long startOffset = outputOffset(jsonGenerator, countingOutputStream);
+        writeBoardData(jsonGenerator, boardName, boardNameLength, vendorName, core, hasWifi);
+        outputIndexBuilder.add(vendorName, boardName, boardNameLength, startOffset, outputOffset(jsonGenerator, countingOutputStream));
+    }
+
+    /**
+     * @return offset of the next byte the generator writes, bytes it still buffers included.
+     */
+    private static long outputOffset(final JsonGenerator jsonGenerator,
+                                     final CountingOutputStream countingOutputStream) {
+        return countingOutputStream.getCount() + jsonGenerator.getOutputBuffered();
+    }
+
     /**
      * Writes individual board data JSON structure.
      *
@@ -210,6 +1510,52 @@ public class DefaultMergeFilesService implements IMergeFilesService {
         jsonGenerator.writeEndObject(); // End of an individual record
     }
 
+    /**
+     * Writes individual board data JSON structure from UTF-8 bytes.
+     *
+     * @param jsonGenerator {@link JsonGenerator} instance to write JSON data.
+     * @param boardName UTF-8 bytes of board name.
+     * @param boardNameLength no. of bytes of board name.
+     * @param vendorName UTF-8 bytes of vendor name.
+     * @param core UTF-8 bytes of core name.
+     * @param hasWifi true if board has wifi.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    protected void writeBoardData(final JsonGenerator jsonGenerator,
+                                  final byte[] boardName,
+                                  final int boardNameLength,
+                                  final byte[] vendorName,
+                                  final byte[] core,
+                                  final boolean hasWifi) throws IOException {
+        jsonGenerator.writeStartObject(); // Start of an individual record
+        jsonGenerator.writeFieldName("name");
+        writeUTF8String(jsonGenerator, boardName, boardNameLength);
+        jsonGenerator.writeFieldName("vendor");
+        writeUTF8String(jsonGenerator, vendorName, vendorName.length);
+        jsonGenerator.writeFieldName("core");
+        writeUTF8String(jsonGenerator, core, core.length);
+        jsonGenerator.writeBooleanField("has_wifi", hasWifi);
+        jsonGenerator.writeEndObject(); // End of an individual record
+    }
+
+    /**
+     * Writes UTF-8 bytes as a string value. {@link JsonGenerator#writeString(String)} escapes characters outside
+     * the BMP as surrogate pairs while UTF-8 bytes would be copied as they are, so values with such characters
+     * (4-byte sequences, lead bytes from {@code F0}) are decoded to keep the output identical.
+     */
+    private static void writeUTF8String(final JsonGenerator jsonGenerator,
+                                        final byte[] value,
+                                        final int length) throws IOException {
+        for (int index = 0; index < length; index++) {
+            if ((value[index] & 0xF0) == 0xF0) {
+                jsonGenerator.writeString(new String(value, 0, length, StandardCharsets.UTF_8));
+                return;
+            }
+        }
+        jsonGenerator.writeUTF8String(value, 0, length);
+    }
+
     /**
      * Writes metadata.
      *
@@ -222,10 +1568,81 @@ public class DefaultMergeFilesService implements IMergeFilesService {
     protected void writeMetaData(final JsonGenerator jsonGenerator,
                                  final int totalVendors,
                                  final int totalBoards) throws IOException {
+        writeMetaData(jsonGenerator, totalVendors, totalBoards, null);
+    }
+
+    /**
+     * Writes metadata, including no. of rejected records & skipped files if rejection counts are given.
+     *
+     * @param jsonGenerator {@link JsonGenerator} instance to write JSON data.
+     * @param totalVendors no. of total vendors.
+     * @param totalBoards no. of total boards.
+     * @param rejectionCounts no. of rejections per reason, {@code null} to leave them out.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    protected void writeMetaData(final JsonGenerator jsonGenerator,
+                                 final int totalVendors,
+                                 final int totalBoards,
+                                 final Map<RejectionReason, Long> rejectionCounts) throws IOException {
         jsonGenerator.writeFieldName("_metadata");
         jsonGenerator.writeStartObject();
         jsonGenerator.writeNumberField("total_vendors", totalVendors);
         jsonGenerator.writeNumberField("total_boards", totalBoards);
+        if (rejectionCounts != null) {
+            jsonGenerator.writeNumberField("rejected_records", countRejections(rejectionCounts, false));
+            jsonGenerator.writeNumberField("skipped_files", countRejections(rejectionCounts, true));
+            jsonGenerator.writeFieldName("rejections_by_reason");
+            jsonGenerator.writeStartObject();
+            for (final Map.Entry<RejectionReason, Long> rejectionCount : rejectionCounts.entrySet()) {
+                if (rejectionCount.getValue() > 0) {
+                    jsonGenerator.writeNumberField(rejectionCount.getKey().name(), rejectionCount.getValue());
+                }
+            }
+            jsonGenerator.writeEndObject();
+        }
         jsonGenerator.writeEndObject(); // End of an individual record
     }
+
+    private static long countRejections(final Map<RejectionReason, Long> rejectionCounts,
+                                        final boolean fileLevel) {
+        return rejectionCounts.entrySet().stream()
+                .filter(rejectionCount -> rejectionCount.getKey().isFileLevel() == fileLevel)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    /**
+     * @param jsonFile {@link File} instance of JSON file.
+     * @param mergeOptions {@link MergeOptions} memory-mapping threshold of the merge run.
+     *
+     * @return true if file is at or above the memory-mapping threshold.
+     */
+    private static boolean isMemoryMapped(final File jsonFile,
+                                          final MergeOptions mergeOptions) {
+        return mergeOptions.getMemoryMapThresholdBytes() > 0 && jsonFile.length() >= mergeOptions.getMemoryMapThresholdBytes();
+    }
+
+    /**
+     * Records & held back rejections of a parsed byte range of the 'boards' array.
+     *
+     * @param boardRecordBuffer {@link BoardRecordBuffer} records of the range.
+     * @param rejectedRecordCollector {@link DeferredRejectedRecordCollector} rejections of the range.
+     */
+    private record ParsedBoardsRange(BoardRecordBuffer boardRecordBuffer,
+                                     DeferredRejectedRecordCollector rejectedRecordCollector) {
+    }
+
+    /**
+     * Consumer of records of a single parsed file.
+     */
+    @FunctionalInterface
+    protected interface ParsedFileConsumer {
+        /**
+         * @param boardRecordBuffer {@link BoardRecordBuffer} records of the file, re-used for the next file.
+         *
+         * @throws IOException if an I/O error occurs while consuming records.
+         */
+        void accept(BoardRecordBuffer boardRecordBuffer) throws IOException;
+    }
 }
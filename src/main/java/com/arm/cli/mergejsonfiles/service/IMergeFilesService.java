@@ -1,5 +1,7 @@
 package com.arm.cli.mergejsonfiles.service;
 
+import com.arm.cli.mergejsonfiles.model.MergeOptions;
+
 import java.io.IOException;
 import java.nio.file.Path;
 
@@ -26,5 +28,21 @@ public interface IMergeFilesService {
      *
      * @throws IOException if an I/O error occurs during the file reading or writing process.
      */
-    void merge(Path sourceDirPath, Path outputFilePath) throws IOException;
+    default void merge(Path sourceDirPath, Path outputFilePath) throws IOException {
+        merge(sourceDirPath, outputFilePath, new MergeOptions());
+    }
+
+    /**
+     * Merges files from the specified source directory into a single output file
+     * using provided {@link MergeOptions}.
+     *
+     * @param sourceDirPath the path to the directory containing the source files
+     *         to be merged. Must not be {@code null}.
+     * @param outputFilePath the path to the output file where the merged content
+     *         will be written. Must not be {@code null}.
+     * @param mergeOptions {@link MergeOptions} tuning parameters of the merge run. Must not be {@code null}.
+     *
+     * @throws IOException if an I/O error occurs during the file reading or writing process.
+     */
+    void merge(Path sourceDirPath, Path outputFilePath, MergeOptions mergeOptions) throws IOException;
 }
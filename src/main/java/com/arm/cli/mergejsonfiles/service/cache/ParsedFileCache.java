@@ -0,0 +1,158 @@
+package com.arm.cli.mergejsonfiles.service.cache;
+
+import com.arm.cli.mergejsonfiles.service.incremental.FileManifest;
+import com.arm.cli.mergejsonfiles.service.quarantine.DeferredRejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.quarantine.RejectedRecord;
+import com.arm.cli.mergejsonfiles.service.quarantine.RejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory cache of parsed input files shared by merge runs of a long-running process, a file whose size & last
+ * modified time are unchanged isn't parsed again. Records & rejections of the file are kept, so a cached file is
+ * merged & reported exactly like a parsed one.
+ * <p>
+ * Cache holds at most the given no. of boards, least recently used files are evicted first. A file larger than the
+ * whole cache isn't cached.
+ * </p>
+ * <p>
+ * A file may be rewritten with the same size within the same last modified timestamp, more likely on file systems
+ * with coarse timestamps. Like the manifest of incremental merges, a file is cached only if it was last modified
+ * well before it was read, so unchanged size & last modified time mean unchanged content.
+ * </p>
+ */
+public class ParsedFileCache {
+    private final long maxCachedBoards;
+    // Access ordered, eldest entry is the least recently used one
+    private final LinkedHashMap<String, CachedFile> cachedFiles = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long cachedBoards;
+
+    /**
+     * @param maxCachedBoards max. no. of boards kept in the cache.
+     */
+    public ParsedFileCache(final long maxCachedBoards) {
+        this.maxCachedBoards = maxCachedBoards;
+    }
+
+    /**
+     * Parses a file, restores records & rejections from the cache if the file hasn't changed since it was cached.
+     *
+     * @param jsonFile {@link File} instance of JSON file to process.
+     * @param boardRecordBuffer {@link BoardRecordBuffer} reusable buffer, records of the file are left in it.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} rejections of the file are passed to.
+     * @param fileParser {@link FileParser} parses the file if it isn't cached.
+     *
+     * @return true if file has been parsed, false if there is an error while processing file.
+     */
+    public boolean parse(final File jsonFile,
+                         final BoardRecordBuffer boardRecordBuffer,
+                         final RejectedRecordCollector rejectedRecordCollector,
+                         final FileParser fileParser) {
+        final String key = jsonFile.getAbsolutePath();
+        final long size = jsonFile.length();
+        final long lastModifiedMillis = jsonFile.lastModified();
+        final CachedFile cachedFile = get(key);
+        if (cachedFile != null && cachedFile.size() == size && cachedFile.lastModifiedMillis() == lastModifiedMillis) {
+            hits.increment();
+            boardRecordBuffer.clear();
+            boardRecordBuffer.addAll(cachedFile.boardRecordBuffer());
+            for (final RejectedRecord rejectedRecord : cachedFile.rejectedRecords()) {
+                rejectedRecordCollector.reject(rejectedRecord.sourceFile(), rejectedRecord.index(), rejectedRecord.rejectionReason());
+            }
+            rejectedRecordCollector.flush();
+            return cachedFile.parsed();
+        }
+        misses.increment();
+        final long readStartMillis = System.currentTimeMillis();
+        final DeferredRejectedRecordCollector deferredRejectedRecordCollector = new DeferredRejectedRecordCollector();
+        final boolean parsed = fileParser.parse(deferredRejectedRecordCollector);
+        final List<RejectedRecord> rejectedRecords = List.copyOf(deferredRejectedRecordCollector.getRejectedRecords());
+        deferredRejectedRecordCollector.replayTo(rejectedRecordCollector);
+        // File changed while being parsed, content read may be of either version. File modified shortly before it was
+        // read may change again within the same timestamp
+        if (jsonFile.length() == size && jsonFile.lastModified() == lastModifiedMillis
+                && lastModifiedMillis < readStartMillis - FileManifest.RACY_WINDOW_MILLIS) {
+            final BoardRecordBuffer cachedBoardRecordBuffer = new BoardRecordBuffer();
+            cachedBoardRecordBuffer.addAll(boardRecordBuffer);
+            put(key, new CachedFile(size, lastModifiedMillis, parsed, cachedBoardRecordBuffer, rejectedRecords));
+        }
+        return parsed;
+    }
+
+    /**
+     * Drops all cached files.
+     */
+    public synchronized void clear() {
+        cachedFiles.clear();
+        cachedBoards = 0;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public synchronized long getCachedBoards() {
+        return cachedBoards;
+    }
+
+    private synchronized CachedFile get(final String key) {
+        return cachedFiles.get(key);
+    }
+
+    private synchronized void put(final String key,
+                                  final CachedFile cachedFile) {
+        final long noOfBoards = cachedFile.noOfBoards();
+        final CachedFile replacedFile = cachedFiles.remove(key);
+        if (replacedFile != null) {
+            cachedBoards -= replacedFile.noOfBoards();
+        }
+        if (noOfBoards > maxCachedBoards) {
+            return;
+        }
+        final Iterator<Map.Entry<String, CachedFile>> eldestFiles = cachedFiles.entrySet().iterator();
+        while (cachedBoards + noOfBoards > maxCachedBoards && eldestFiles.hasNext()) {
+            cachedBoards -= eldestFiles.next().getValue().noOfBoards();
+            eldestFiles.remove();
+        }
+        cachedFiles.put(key, cachedFile);
+        cachedBoards += noOfBoards;
+    }
+
+    /**
+     * Parses a file which isn't cached.
+     */
+    @FunctionalInterface
+    public interface FileParser {
+        /**
+         * @param rejectedRecordCollector {@link RejectedRecordCollector} collects records & files rejected during parsing.
+         *
+         * @return true if file has been parsed, false if there is an error while processing file.
+         */
+        boolean parse(RejectedRecordCollector rejectedRecordCollector);
+    }
+
+    /**
+     * Parsed file, rejections count as boards so files with many rejections are bounded as well.
+     */
+    private record CachedFile(long size,
+                              long lastModifiedMillis,
+                              boolean parsed,
+                              BoardRecordBuffer boardRecordBuffer,
+                              List<RejectedRecord> rejectedRecords) {
+        private long noOfBoards() {
+            return boardRecordBuffer.size() + rejectedRecords.size();
+        }
+    }
+}
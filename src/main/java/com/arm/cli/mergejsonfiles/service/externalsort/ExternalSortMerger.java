@@ -0,0 +1,198 @@
+package com.arm.cli.mergejsonfiles.service.externalsort;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+import com.arm.cli.mergejsonfiles.service.BoardRecordSource;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * External sort merger, keeps records in memory until memory budget is exceeded, then spills them as a sorted run
+ * to a temp file. Runs are k-way merged at the end, for duplicates record of the earlier run wins, so the
+ * first file in file name order still wins as it does for the in-memory merge.
+ */
+public class ExternalSortMerger implements BoardRecordSource, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExternalSortMerger.class);
+    // Rough heap cost of TreeMap entries, BoardDataSlice & String headers kept per record
+    private static final long ESTIMATED_RECORD_OVERHEAD_BYTES = 160;
+    private static final int MAX_RUNS_PER_MERGE = 128;
+    private static final Comparator<SortedRun> SORTED_RUN_COMPARATOR = Comparator
+            .comparing(SortedRun::getVendor)
+            .thenComparing(SortedRun::getName)
+            .thenComparingInt(SortedRun::getRunIndex);
+
+    private final long memoryBudgetBytes;
+    private final Path runsDirPath;
+    private final List<Path> runFilePaths = new ArrayList<>();
+    private TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData = new TreeMap<>();
+    private long estimatedSizeBytes;
+
+    public ExternalSortMerger(final long memoryBudgetBytes) throws IOException {
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.runsDirPath = Files.createTempDirectory("merge-json-files-runs-");
+    }
+
+    /**
+     * Adds records of the file to in-memory chunk, spills chunk as a sorted run once memory budget is exceeded.
+     * Files must be added in file name order.
+     *
+     * @param boardRecordBuffer {@link BoardRecordBuffer} records of a single file.
+     *
+     * @throws IOException if an I/O error occurs while spilling records.
+     */
+    public void addAll(final BoardRecordBuffer boardRecordBuffer) throws IOException {
+        for (int index = 0; index < boardRecordBuffer.size(); index++) {
+            final TreeMap<String, BoardDataSlice> boardNameMap = parsedJsonData.computeIfAbsent(boardRecordBuffer.getVendor(index), vendorAsKey -> {
+                estimatedSizeBytes += estimateSize(vendorAsKey);
+                return new TreeMap<>();
+            });
+            final String boardName = boardRecordBuffer.getName(index);
+            if (!boardNameMap.containsKey(boardName)) {
+                final String core = boardRecordBuffer.getCore(index);
+                boardNameMap.put(boardName, new BoardDataSlice(core, boardRecordBuffer.isHasWifi(index)));
+                estimatedSizeBytes += ESTIMATED_RECORD_OVERHEAD_BYTES + estimateSize(boardName) + estimateSize(core);
+            }
+            if (estimatedSizeBytes >= memoryBudgetBytes) {
+                spill();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Records are served from memory if nothing has been spilled, otherwise all runs are k-way merged.
+     * </p>
+     */
+    @Override
+    public void forEachRecord(final BoardRecordConsumer boardRecordConsumer) throws IOException {
+        if (runFilePaths.isEmpty()) {
+            for (final Map.Entry<String, TreeMap<String, BoardDataSlice>> mapEntry : parsedJsonData.entrySet()) {
+                for (final Map.Entry<String, BoardDataSlice> boardDataSliceMapEntry : mapEntry.getValue().entrySet()) {
+                    boardRecordConsumer.accept(mapEntry.getKey(), boardDataSliceMapEntry.getKey(), boardDataSliceMapEntry.getValue());
+                }
+            }
+            return;
+        }
+        spill();
+        List<Path> runs = runFilePaths;
+        // Reduce no. of runs first so the final merge doesn't keep too many files open
+        while (runs.size() > MAX_RUNS_PER_MERGE) {
+            final List<Path> mergedRuns = new ArrayList<>();
+            for (int fromIndex = 0; fromIndex < runs.size(); fromIndex += MAX_RUNS_PER_MERGE) {
+                final Path mergedRunFilePath = Files.createTempFile(runsDirPath, "merged-run-", ".bin");
+                try (final SortedRun.Writer writer = new SortedRun.Writer(mergedRunFilePath)) {
+                    mergeRuns(runs.subList(fromIndex, Math.min(fromIndex + MAX_RUNS_PER_MERGE, runs.size())), writer::write);
+                }
+                mergedRuns.add(mergedRunFilePath);
+            }
+            runs = mergedRuns;
+        }
+        mergeRuns(runs, boardRecordConsumer);
+    }
+
+    /**
+     * Deletes all temp run files.
+     *
+     * @throws IOException if an I/O error occurs while deleting files.
+     */
+    @Override
+    public void close() throws IOException {
+        try (final Stream<Path> paths = Files.list(runsDirPath)) {
+            for (final Path path : paths.toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(runsDirPath);
+    }
+
+    public int getNoOfRuns() {
+        return runFilePaths.size();
+    }
+
+    /**
+     * Writes in-memory records as a sorted run & releases memory.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    private void spill() throws IOException {
+        if (parsedJsonData.isEmpty()) {
+            return;
+        }
+        final Path runFilePath = Files.createTempFile(runsDirPath, "run-", ".bin");
+        SortedRun.write(runFilePath, parsedJsonData);
+        runFilePaths.add(runFilePath);
+        LOGGER.debug("Spilled sorted run no. {} to {}", runFilePaths.size(), runFilePath);
+        parsedJsonData = new TreeMap<>();
+        estimatedSizeBytes = 0;
+    }
+
+    /**
+     * K-way merges runs, for duplicates record of the run appearing earlier in the list wins.
+     *
+     * @param runs run files in the order they were created.
+     * @param boardRecordConsumer {@link BoardRecordConsumer} consumer of merged records.
+     *
+     * @throws IOException if an I/O error occurs during reading or consuming records.
+     */
+    private void mergeRuns(final List<Path> runs,
+                           final BoardRecordConsumer boardRecordConsumer) throws IOException {
+        final PriorityQueue<SortedRun> sortedRuns = new PriorityQueue<>(Math.max(1, runs.size()), SORTED_RUN_COMPARATOR);
+        try {
+            for (int runIndex = 0; runIndex < runs.size(); runIndex++) {
+                final SortedRun sortedRun = SortedRun.open(runIndex, runs.get(runIndex));
+                if (sortedRun.hasRecord()) {
+                    sortedRuns.add(sortedRun);
+                } else {
+                    sortedRun.close();
+                }
+            }
+            String lastVendor = null;
+            String lastName = null;
+            while (!sortedRuns.isEmpty()) {
+                final SortedRun sortedRun = sortedRuns.poll();
+                // Polled run is out of the queue, it's closed here if consuming or reading fails
+                try {
+                    if (!sortedRun.getVendor().equals(lastVendor) || !sortedRun.getName().equals(lastName)) {
+                        lastVendor = sortedRun.getVendor();
+                        lastName = sortedRun.getName();
+                        boardRecordConsumer.accept(lastVendor, lastName, new BoardDataSlice(sortedRun.getCore(), sortedRun.isHasWifi()));
+                    }
+                    sortedRun.advance();
+                } catch (IOException | RuntimeException exception) {
+                    try {
+                        sortedRun.close();
+                    } catch (IOException closeException) {
+                        exception.addSuppressed(closeException);
+                    }
+                    throw exception;
+                }
+                if (sortedRun.hasRecord()) {
+                    sortedRuns.add(sortedRun);
+                } else {
+                    sortedRun.close();
+                }
+            }
+        } finally {
+            for (final SortedRun sortedRun : sortedRuns) {
+                sortedRun.close();
+            }
+        }
+    }
+
+    private static long estimateSize(final String value) {
+        return 2L * value.length();
+    }
+}
@@ -0,0 +1,162 @@
+package com.arm.cli.mergejsonfiles.service.externalsort;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Sorted run spilled to a temp file. Records are stored as (vendor, name, core, has_wifi) in vendor & name order,
+ * run is read back one record at a time during k-way merge.
+ */
+public class SortedRun implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final int runIndex;
+    private final DataInputStream inputStream;
+    private String vendor;
+    private String name;
+    private String core;
+    private boolean hasWifi;
+
+    private SortedRun(final int runIndex,
+                      final Path runFilePath) throws IOException {
+        this.runIndex = runIndex;
+        this.inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(runFilePath), BUFFER_SIZE));
+    }
+
+    /**
+     * Writes in-memory sorted records to a run file.
+     *
+     * @param runFilePath run file path.
+     * @param parsedJsonData {@link TreeMap} stores records in sorted order. e.g. vendor and name.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    public static void write(final Path runFilePath,
+                             final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData) throws IOException {
+        try (final Writer writer = new Writer(runFilePath)) {
+            for (final Map.Entry<String, TreeMap<String, BoardDataSlice>> mapEntry : parsedJsonData.entrySet()) {
+                for (final Map.Entry<String, BoardDataSlice> boardDataSliceMapEntry : mapEntry.getValue().entrySet()) {
+                    writer.write(mapEntry.getKey(), boardDataSliceMapEntry.getKey(), boardDataSliceMapEntry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens run file & positions it at the first record.
+     *
+     * @param runIndex index of the run, runs created from earlier files have lower index.
+     * @param runFilePath run file path.
+     *
+     * @return {@link SortedRun} instance, {@link #hasRecord()} returns false for an empty run.
+     * @throws IOException if an I/O error occurs during reading process.
+     */
+    public static SortedRun open(final int runIndex,
+                                 final Path runFilePath) throws IOException {
+        final SortedRun sortedRun = new SortedRun(runIndex, runFilePath);
+        sortedRun.advance();
+        return sortedRun;
+    }
+
+    /**
+     * Moves to the next record of the run.
+     *
+     * @throws IOException if an I/O error occurs during reading process.
+     */
+    public void advance() throws IOException {
+        try {
+            vendor = readString(inputStream);
+        } catch (EOFException eofException) {
+            vendor = null;
+            return;
+        }
+        name = readString(inputStream);
+        core = readString(inputStream);
+        hasWifi = inputStream.readBoolean();
+    }
+
+    public boolean hasRecord() {
+        return vendor != null;
+    }
+
+    public int getRunIndex() {
+        return runIndex;
+    }
+
+    public String getVendor() {
+        return vendor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCore() {
+        return core;
+    }
+
+    public boolean isHasWifi() {
+        return hasWifi;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+    private static String readString(final DataInputStream inputStream) throws IOException {
+        final byte[] bytes = new byte[inputStream.readInt()];
+        inputStream.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Sequential writer of a run file, records must be written in vendor & name order.
+     */
+    public static class Writer implements Closeable {
+        private final DataOutputStream outputStream;
+
+        public Writer(final Path runFilePath) throws IOException {
+            this.outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(runFilePath), BUFFER_SIZE));
+        }
+
+        /**
+         * @param vendorName vendor name.
+         * @param boardName board name.
+         * @param boardDataSlice {@link BoardDataSlice} instance, keeps partial info.
+         *
+         * @throws IOException if an I/O error occurs during writing process.
+         */
+        public void write(final String vendorName,
+                          final String boardName,
+                          final BoardDataSlice boardDataSlice) throws IOException {
+            writeString(vendorName);
+            writeString(boardName);
+            writeString(boardDataSlice.getCore());
+            outputStream.writeBoolean(boardDataSlice.isHasWifi());
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.close();
+        }
+
+        private void writeString(final String value) throws IOException {
+            final byte[] bytes = value.getBytes(UTF_8);
+            outputStream.writeInt(bytes.length);
+            outputStream.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.arm.cli.mergejsonfiles.service.incremental;
+
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
+import com.arm.cli.mergejsonfiles.service.quarantine.RejectedRecord;
+import com.arm.cli.mergejsonfiles.service.quarantine.RejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Manifest of an incremental merge, persisted next to the output. Keeps fingerprint (size, last modified time &
+ * content hash) of every input file together with the file's parsed boards & rejections in a compact binary
+ * partial, so unchanged files don't need to be parsed again.
+ * <p>
+ * Layout: header (magic, version, creation time), partials one after another, index of entries & offset of the
+ * index as the last 8 bytes. Vendor & core names of a partial are dictionary encoded, every partial starts with a
+ * CRC-32 of its content, so a damaged partial is detected & its file is parsed again.
+ * </p>
+ */
+public class FileManifest implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileManifest.class);
+    private static final int MAGIC = 0x4D4A464D;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Files modified this close to manifest creation may change again within the same timestamp, hash is checked then
+    public static final long RACY_WINDOW_MILLIS = 2000;
+
+    private final FileChannel fileChannel;
+    private final long createdMillis;
+    private final Map<String, ManifestEntry> manifestEntries;
+
+    private FileManifest(final FileChannel fileChannel,
+                         final long createdMillis,
+                         final Map<String, ManifestEntry> manifestEntries) {
+        this.fileChannel = fileChannel;
+        this.createdMillis = createdMillis;
+        this.manifestEntries = manifestEntries;
+    }
+
+    /**
+     * Opens manifest of the previous run, a missing or unreadable manifest is treated as an empty one.
+     *
+     * @param manifestFilePath manifest file path.
+     *
+     * @return {@link FileManifest} instance.
+     */
+    public static FileManifest open(final Path manifestFilePath) {
+        if (!Files.isRegularFile(manifestFilePath)) {
+            return new FileManifest(null, 0, Map.of());
+        }
+        FileChannel fileChannel = null;
+        try {
+            fileChannel = FileChannel.open(manifestFilePath, READ);
+            final DataInputStream header = new DataInputStream(new ByteArrayInputStream(read(fileChannel, 0, HEADER_SIZE)));
+            if (header.readInt() != MAGIC || header.readInt() != VERSION) {
+                throw new IOException("Unsupported manifest format");
+            }
+            final long createdMillis = header.readLong();
+            final long indexOffset = ByteBuffer.wrap(read(fileChannel, fileChannel.size() - Long.BYTES, Long.BYTES)).getLong();
+            final byte[] index = read(fileChannel, indexOffset, Math.toIntExact(fileChannel.size() - Long.BYTES - indexOffset));
+            final DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(index));
+            final int noOfEntries = inputStream.readInt();
+            final Map<String, ManifestEntry> manifestEntries = new HashMap<>(noOfEntries * 2);
+            for (int entryIndex = 0; entryIndex < noOfEntries; entryIndex++) {
+                final String sourceFile = readString(inputStream);
+                final long sizeBytes = inputStream.readLong();
+                final long lastModifiedMillis = inputStream.readLong();
+                final byte[] contentHash = new byte[inputStream.readInt()];
+                inputStream.readFully(contentHash);
+                manifestEntries.put(sourceFile, new ManifestEntry(sourceFile, sizeBytes, lastModifiedMillis, contentHash,
+                        inputStream.readLong(), inputStream.readInt()));
+            }
+            return new FileManifest(fileChannel, createdMillis, manifestEntries);
+        } catch (IOException | RuntimeException exception) {
+            LOGGER.warn("Manifest {} can't be read, all files are parsed again: {}", manifestFilePath, exception.getMessage());
+            closeQuietly(fileChannel);
+            return new FileManifest(null, 0, Map.of());
+        }
+    }
+
+    /**
+     * @param sourceFile path of the input file.
+     *
+     * @return {@link ManifestEntry} of the file, {@code null} if file was not part of the previous run.
+     */
+    public ManifestEntry getEntry(final String sourceFile) {
+        return manifestEntries.get(sourceFile);
+    }
+
+    /**
+     * @param manifestEntry {@link ManifestEntry} of this manifest.
+     *
+     * @return true if file was last modified well before manifest was created, so unchanged size & last modified
+     *         time mean unchanged content.
+     */
+    public boolean isSettled(final ManifestEntry manifestEntry) {
+        return manifestEntry.lastModifiedMillis() < createdMillis - RACY_WINDOW_MILLIS;
+    }
+
+    /**
+     * Reads partial of the file into buffer & passes stored rejections to the collector. Rejections are passed on
+     * only once the whole partial has been decoded, a damaged partial leaves no trace in the collector.
+     *
+     * @param manifestEntry {@link ManifestEntry} of this manifest.
+     * @param boardRecordBuffer {@link BoardRecordBuffer} reusable buffer, cleared before reading.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects rejections of the file.
+     *
+     * @return true if file had been parsed, false if it had been skipped, buffer is left empty then.
+     * @throws IOException if partial can't be read, fails its checksum or can't be decoded.
+     */
+    public boolean readPartial(final ManifestEntry manifestEntry,
+                               final BoardRecordBuffer boardRecordBuffer,
+                               final RejectedRecordCollector rejectedRecordCollector) throws IOException {
+        boardRecordBuffer.clear();
+        final byte[] partial = read(fileChannel, manifestEntry.partialOffset(), manifestEntry.partialLength());
+        final boolean parsed;
+        final List<RejectedRecord> rejectedRecords;
+        try {
+            final CRC32 crc32 = new CRC32();
+            crc32.update(partial, Integer.BYTES, partial.length - Integer.BYTES);
+            if (ByteBuffer.wrap(partial).getInt() != (int) crc32.getValue()) {
+                throw new IOException("Checksum mismatch");
+            }
+            final DataInputStream inputStream = new DataInputStream(
+                    new ByteArrayInputStream(partial, Integer.BYTES, partial.length - Integer.BYTES));
+            parsed = inputStream.readBoolean();
+            final String[] dictionary = new String[inputStream.readInt()];
+            for (int id = 0; id < dictionary.length; id++) {
+                dictionary[id] = readString(inputStream);
+            }
+            final int noOfRecords = inputStream.readInt();
+            for (int index = 0; index < noOfRecords; index++) {
+                final String name = readString(inputStream);
+                final String vendor = dictionary[inputStream.readInt()];
+                final String core = dictionary[inputStream.readInt()];
+                boardRecordBuffer.add(name, vendor, core, inputStream.readBoolean());
+            }
+            final int noOfRejections = inputStream.readInt();
+            rejectedRecords = new ArrayList<>(noOfRejections);
+            for (int index = 0; index < noOfRejections; index++) {
+                final int recordIndex = inputStream.readInt();
+                rejectedRecords.add(new RejectedRecord(manifestEntry.sourceFile(), recordIndex, RejectionReason.valueOf(readString(inputStream))));
+            }
+        } catch (IOException | RuntimeException exception) {
+            boardRecordBuffer.clear();
+            throw new IOException("Partial of %s is damaged: %s".formatted(manifestEntry.sourceFile(), exception.getMessage()), exception);
+        }
+        for (final RejectedRecord rejectedRecord : rejectedRecords) {
+            rejectedRecordCollector.reject(rejectedRecord.sourceFile(), rejectedRecord.index(), rejectedRecord.rejectionReason());
+        }
+        rejectedRecordCollector.flush();
+        return parsed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (fileChannel != null) {
+            fileChannel.close();
+        }
+    }
+
+    /**
+     * @param filePath file to hash.
+     *
+     * @return SHA-256 hash of the file content.
+     * @throws IOException if an I/O error occurs during reading process.
+     */
+    public static byte[] hash(final Path filePath) throws IOException {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+            throw new IllegalStateException(noSuchAlgorithmException);
+        }
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try (final InputStream inputStream = Files.newInputStream(filePath)) {
+            int noOfBytes;
+            while ((noOfBytes = inputStream.read(buffer)) > 0) {
+                messageDigest.update(buffer, 0, noOfBytes);
+            }
+        }
+        return messageDigest.digest();
+    }
+
+    private static byte[] read(final FileChannel fileChannel,
+                               final long position,
+                               final int length) throws IOException {
+        final ByteBuffer byteBuffer = ByteBuffer.allocate(length);
+        while (byteBuffer.hasRemaining()) {
+            if (fileChannel.read(byteBuffer, position + byteBuffer.position()) < 0) {
+                throw new IOException("Unexpected end of manifest");
+            }
+        }
+        return byteBuffer.array();
+    }
+
+    private static String readString(final DataInputStream inputStream) throws IOException {
+        final byte[] bytes = new byte[inputStream.readInt()];
+        inputStream.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void closeQuietly(final FileChannel fileChannel) {
+        try {
+            if (fileChannel != null) {
+                fileChannel.close();
+            }
+        } catch (IOException ioException) {
+            LOGGER.debug("Error while closing manifest: {}", ioException.getMessage());
+        }
+    }
+
+    /**
+     * Sequential writer of a manifest, index is written on close.
+     */
+    public static class Writer implements Closeable {
+        private final FileChannel fileChannel;
+        private final List<ManifestEntry> manifestEntries = new ArrayList<>();
+        // Reused for every partial
+        private final ByteArrayOutputStream partialBytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        private final DataOutputStream outputStream = new DataOutputStream(partialBytes);
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        /**
+         * @param manifestFilePath manifest file path, replaced if it exists.
+         * @param createdMillis start time of the merge run.
+         *
+         * @throws IOException if manifest file can't be created.
+         */
+        public Writer(final Path manifestFilePath,
+                      final long createdMillis) throws IOException {
+            this.fileChannel = FileChannel.open(manifestFilePath, WRITE, CREATE, TRUNCATE_EXISTING);
+            write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(createdMillis).flip());
+        }
+
+        /**
+         * Writes partial of a freshly parsed file.
+         *
+         * @param sourceFile path of the input file.
+         * @param sizeBytes size of the input file.
+         * @param lastModifiedMillis last modified time of the input file.
+         * @param contentHash SHA-256 hash of the input file content.
+         * @param parsed true if file has been parsed, false if it has been skipped.
+         * @param boardRecordBuffer {@link BoardRecordBuffer} valid records of the file.
+         * @param rejectedRecords records & files rejected while parsing the file.
+         *
+         * @throws IOException if an I/O error occurs during writing process.
+         */
+        public void addPartial(final String sourceFile,
+                               final long sizeBytes,
+                               final long lastModifiedMillis,
+                               final byte[] contentHash,
+                               final boolean parsed,
+                               final BoardRecordBuffer boardRecordBuffer,
+                               final List<RejectedRecord> rejectedRecords) throws IOException {
+            partialBytes.reset();
+            dictionary.clear();
+            // Checksum is filled in once the partial is complete
+            outputStream.writeInt(0);
+            final List<String> dictionaryValues = new ArrayList<>();
+            final int[] vendorIds = new int[boardRecordBuffer.size()];
+            final int[] coreIds = new int[boardRecordBuffer.size()];
+            for (int index = 0; index < boardRecordBuffer.size(); index++) {
+                vendorIds[index] = encode(boardRecordBuffer.getVendor(index), dictionaryValues);
+                coreIds[index] = encode(boardRecordBuffer.getCore(index), dictionaryValues);
+            }
+            outputStream.writeBoolean(parsed);
+            outputStream.writeInt(dictionaryValues.size());
+            for (final String value : dictionaryValues) {
+                writeString(value);
+            }
+            outputStream.writeInt(boardRecordBuffer.size());
+            for (int index = 0; index < boardRecordBuffer.size(); index++) {
+                writeString(boardRecordBuffer.getName(index));
+                outputStream.writeInt(vendorIds[index]);
+                outputStream.writeInt(coreIds[index]);
+                outputStream.writeBoolean(boardRecordBuffer.isHasWifi(index));
+            }
+            outputStream.writeInt(rejectedRecords.size());
+            for (final RejectedRecord rejectedRecord : rejectedRecords) {
+                outputStream.writeInt(rejectedRecord.index());
+                writeString(rejectedRecord.rejectionReason().name());
+            }
+            outputStream.flush();
+            final byte[] partial = partialBytes.toByteArray();
+            final CRC32 crc32 = new CRC32();
+            crc32.update(partial, Integer.BYTES, partial.length - Integer.BYTES);
+            ByteBuffer.wrap(partial).putInt((int) crc32.getValue());
+            final long partialOffset = fileChannel.position();
+            write(ByteBuffer.wrap(partial));
+            manifestEntries.add(new ManifestEntry(sourceFile, sizeBytes, lastModifiedMillis, contentHash,
+                    partialOffset, partialBytes.size()));
+        }
+
+        /**
+         * Copies partial of an unchanged file from the previous manifest without decoding it.
+         *
+         * @param fileManifest {@link FileManifest} of the previous run.
+         * @param manifestEntry {@link ManifestEntry} of the previous manifest.
+         * @param lastModifiedMillis current last modified time of the input file.
+         *
+         * @throws IOException if an I/O error occurs during copying process.
+         */
+        public void copyPartial(final FileManifest fileManifest,
+                                final ManifestEntry manifestEntry,
+                                final long lastModifiedMillis) throws IOException {
+            final long partialOffset = fileChannel.position();
+            long noOfCopiedBytes = 0;
+            while (noOfCopiedBytes < manifestEntry.partialLength()) {
+                noOfCopiedBytes += fileManifest.fileChannel.transferTo(manifestEntry.partialOffset() + noOfCopiedBytes,
+                        manifestEntry.partialLength() - noOfCopiedBytes, fileChannel);
+            }
+            fileChannel.position(partialOffset + noOfCopiedBytes);
+            manifestEntries.add(new ManifestEntry(manifestEntry.sourceFile(), manifestEntry.sizeBytes(), lastModifiedMillis,
+                    manifestEntry.contentHash(), partialOffset, manifestEntry.partialLength()));
+        }
+
+        /**
+         * Writes index & closes manifest file.
+         *
+         * @throws IOException if an I/O error occurs during writing process.
+         */
+        @Override
+        public void close() throws IOException {
+            try (fileChannel) {
+                final long indexOffset = fileChannel.position();
+                partialBytes.reset();
+                outputStream.writeInt(manifestEntries.size());
+                for (final ManifestEntry manifestEntry : manifestEntries) {
+                    writeString(manifestEntry.sourceFile());
+                    outputStream.writeLong(manifestEntry.sizeBytes());
+                    outputStream.writeLong(manifestEntry.lastModifiedMillis());
+                    outputStream.writeInt(manifestEntry.contentHash().length);
+                    outputStream.write(manifestEntry.contentHash());
+                    outputStream.writeLong(manifestEntry.partialOffset());
+                    outputStream.writeInt(manifestEntry.partialLength());
+                }
+                outputStream.writeLong(indexOffset);
+                outputStream.flush();
+                write(ByteBuffer.wrap(partialBytes.toByteArray()));
+            }
+        }
+
+        private int encode(final String value,
+                           final List<String> dictionaryValues) {
+            return dictionary.computeIfAbsent(value, key -> {
+                dictionaryValues.add(key);
+                return dictionaryValues.size() - 1;
+            });
+        }
+
+        private void write(final ByteBuffer byteBuffer) throws IOException {
+            while (byteBuffer.hasRemaining()) {
+                fileChannel.write(byteBuffer);
+            }
+        }
+
+        private void writeString(final String value) throws IOException {
+            final byte[] bytes = value.getBytes(UTF_8);
+            outputStream.writeInt(bytes.length);
+            outputStream.write(bytes);
+        }
+    }
+}
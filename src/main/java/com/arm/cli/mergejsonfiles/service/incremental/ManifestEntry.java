@@ -0,0 +1,19 @@
+package com.arm.cli.mergejsonfiles.service.incremental;
+
+/**
+ * Manifest entry of a single input file, keeps fingerprint of the file & location of its partial in the manifest.
+ *
+ * @param sourceFile path of the input file.
+ * @param sizeBytes size of the input file.
+ * @param lastModifiedMillis last modified time of the input file.
+ * @param contentHash SHA-256 hash of the input file content.
+ * @param partialOffset position of the partial in the manifest file.
+ * @param partialLength length of the partial in bytes.
+ */
+public record ManifestEntry(String sourceFile,
+                            long sizeBytes,
+                            long lastModifiedMillis,
+                            byte[] contentHash,
+                            long partialOffset,
+                            int partialLength) {
+}
@@ -0,0 +1,247 @@
+package com.arm.cli.mergejsonfiles.service.index;
+
+import com.arm.cli.mergejsonfiles.model.Board;
+import com.arm.cli.mergejsonfiles.service.index.OutputIndex.SparseEntry;
+import com.arm.cli.mergejsonfiles.service.index.OutputIndex.VendorRange;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Random-access reader of a combined output file written with a sidecar {@link OutputIndex}. Output file is
+ * memory-mapped once & only the byte range of the requested vendor, or of a few boards around the requested name, is
+ * parsed. Lookups don't change shared state, a reader can be used by many threads at once.
+ */
+public class MergedOutputReader implements Closeable {
+    private static final long CHUNK_SIZE = 1L << 30;
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_END = {']'};
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final FileChannel fileChannel;
+    private final OutputIndex outputIndex;
+    // A single mapping can't exceed 2 GB, larger files are mapped in chunks
+    private final MappedByteBuffer[] chunks;
+
+    private MergedOutputReader(final FileChannel fileChannel,
+                               final OutputIndex outputIndex,
+                               final MappedByteBuffer[] chunks) {
+        this.fileChannel = fileChannel;
+        this.outputIndex = outputIndex;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Reads index of the output file & maps the output file.
+     *
+     * @param outputFilePath combined output file, its index is expected next to it.
+     *
+     * @return {@link MergedOutputReader} instance.
+     * @throws IOException if index or output file can't be read or output has been replaced since it was indexed.
+     */
+    public static MergedOutputReader open(final Path outputFilePath) throws IOException {
+        final OutputIndex outputIndex = OutputIndex.read(OutputIndex.indexFilePath(outputFilePath));
+        final FileChannel fileChannel = FileChannel.open(outputFilePath, READ);
+        try {
+            final long size = fileChannel.size();
+            if (size != outputIndex.getOutputSizeBytes()) {
+                throw new IOException("Output index doesn't match output file - %s".formatted(outputFilePath));
+            }
+            final MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + CHUNK_SIZE - 1) / CHUNK_SIZE)];
+            for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+                final long position = chunkIndex * CHUNK_SIZE;
+                chunks[chunkIndex] = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK_SIZE, size - position));
+            }
+            return new MergedOutputReader(fileChannel, outputIndex, chunks);
+        } catch (IOException | RuntimeException exception) {
+            fileChannel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * @return vendor names in output order.
+     */
+    public Set<String> getVendors() {
+        return outputIndex.getVendorRanges().keySet();
+    }
+
+    /**
+     * @param vendorName vendor name.
+     *
+     * @return boards of the vendor in output order, empty list if there is no such vendor.
+     * @throws IOException if output file can't be parsed.
+     */
+    public List<Board> findBoards(final String vendorName) throws IOException {
+        final VendorRange vendorRange = outputIndex.getVendorRanges().get(vendorName);
+        if (vendorRange == null) {
+            return List.of();
+        }
+        final List<Board> boards = new ArrayList<>(vendorRange.noOfBoards());
+        readBoards(vendorRange.offset(), vendorRange.offset() + vendorRange.length(), boards::add);
+        return boards;
+    }
+
+    /**
+     * Board names of a vendor are sorted, so only boards from the closest sparse entry up to the next one are parsed.
+     *
+     * @param vendorName vendor name.
+     * @param boardName board name.
+     *
+     * @return board of the vendor with the name, empty if there is no such board.
+     * @throws IOException if output file can't be parsed.
+     */
+    public Optional<Board> findBoard(final String vendorName,
+                                     final String boardName) throws IOException {
+        final VendorRange vendorRange = outputIndex.getVendorRanges().get(vendorName);
+        if (vendorRange == null) {
+            return Optional.empty();
+        }
+        final List<SparseEntry> sparseEntries = vendorRange.sparseEntries();
+        // Last sparse entry with a name up to the requested one
+        int startEntryIndex = -1;
+        int low = 0;
+        int high = sparseEntries.size() - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (sparseEntries.get(middle).boardName().compareTo(boardName) <= 0) {
+                startEntryIndex = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (startEntryIndex < 0) {
+            // Sorts before the first board of the vendor
+            return Optional.empty();
+        }
+        final long endOffset = startEntryIndex + 1 < sparseEntries.size()
+                ? sparseEntries.get(startEntryIndex + 1).offset()
+                : vendorRange.offset() + vendorRange.length();
+        final Board[] foundBoard = {null};
+        readBoards(sparseEntries.get(startEntryIndex).offset(), endOffset, board -> {
+            if (foundBoard[0] == null && board.name().equals(boardName)) {
+                foundBoard[0] = board;
+            }
+        });
+        return Optional.ofNullable(foundBoard[0]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+
+    /**
+     * Parses boards of a byte range. Separators before the first board are skipped, boards of a 'boards' array are
+     * parsed as an array of their own, boards of newline-delimited output as root values.
+     */
+    private void readBoards(final long startOffset,
+                            final long endOffset,
+                            final BoardConsumer boardConsumer) throws IOException {
+        long offset = startOffset;
+        while (offset < endOffset && isSeparator(byteAt(offset))) {
+            offset++;
+        }
+        final InputStream rangeInputStream = new MappedRangeInputStream(offset, endOffset);
+        try (final JsonParser parser = jsonFactory.createParser(outputIndex.isNewlineDelimited()
+                ? rangeInputStream
+                : new SequenceInputStream(new SequenceInputStream(new ByteArrayInputStream(ARRAY_START), rangeInputStream),
+                new ByteArrayInputStream(ARRAY_END)))) {
+            if (!outputIndex.isNewlineDelimited() && parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Output index doesn't match output file");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                boardConsumer.accept(readBoard(parser));
+            }
+            if (token != null && token != JsonToken.END_ARRAY) {
+                throw new IOException("Output index doesn't match output file");
+            }
+        }
+    }
+
+    private static Board readBoard(final JsonParser parser) throws IOException {
+        String name = null;
+        String vendor = null;
+        String core = null;
+        boolean hasWifi = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.currentName();
+            parser.nextToken();
+            switch (fieldName) {
+                case "name" -> name = parser.getText();
+                case "vendor" -> vendor = parser.getText();
+                case "core" -> core = parser.getText();
+                case "has_wifi" -> hasWifi = parser.getBooleanValue();
+                default -> parser.skipChildren();
+            }
+        }
+        return new Board(name, vendor, core, hasWifi);
+    }
+
+    private static boolean isSeparator(final byte value) {
+        return value == ',' || value == ' ' || value == '\n' || value == '\r' || value == '\t';
+    }
+
+    private byte byteAt(final long offset) {
+        return chunks[(int) (offset / CHUNK_SIZE)].get((int) (offset % CHUNK_SIZE));
+    }
+
+    @FunctionalInterface
+    private interface BoardConsumer {
+        void accept(Board board) throws IOException;
+    }
+
+    /**
+     * Input stream of a byte range of the mapped output, reads with absolute positions so mappings are shared.
+     */
+    private final class MappedRangeInputStream extends InputStream {
+        private long position;
+        private final long endPosition;
+
+        private MappedRangeInputStream(final long position,
+                                       final long endPosition) {
+            this.position = position;
+            this.endPosition = endPosition;
+        }
+
+        @Override
+        public int read() {
+            return position < endPosition ? byteAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes,
+                        final int offset,
+                        final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= endPosition) {
+                return -1;
+            }
+            final MappedByteBuffer chunk = chunks[(int) (position / CHUNK_SIZE)];
+            final int chunkPosition = (int) (position % CHUNK_SIZE);
+            final int noOfBytes = (int) Math.min(Math.min(length, endPosition - position), chunk.limit() - chunkPosition);
+            chunk.get(chunkPosition, bytes, offset, noOfBytes);
+            position += noOfBytes;
+            return noOfBytes;
+        }
+    }
+}
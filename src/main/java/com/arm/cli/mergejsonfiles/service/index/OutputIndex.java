@@ -0,0 +1,251 @@
+package com.arm.cli.mergejsonfiles.service.index;
+
+import com.arm.cli.mergejsonfiles.service.io.JsonFiles;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Sidecar index of a combined output file, persisted next to it ({@code <output-path>.idx}). Keeps byte range &
+ * no. of boards of every vendor & a sparse index of board names, every {@link #SPARSE_INTERVAL}th board of a vendor
+ * with the offset it starts at, so a single board is found by scanning a few boards only.
+ * <p>
+ * Offsets are of the uncompressed JSON text. A range starts right after the previous board, so it may start with
+ * the separator between boards, & ends right after its last board.
+ * </p>
+ * <p>
+ * Layout: header (magic, version, size of the output file, newline-delimited flag), no. of vendors & for every vendor
+ * in output order its name, offset, length, no. of boards & sparse entries (name & offset).
+ * </p>
+ */
+public class OutputIndex {
+    public static final String INDEX_FILE_SUFFIX = ".idx";
+    public static final int SPARSE_INTERVAL = 64;
+    private static final int MAGIC = 0x4D4A4F49;
+    private static final int VERSION = 1;
+
+    private final long outputSizeBytes;
+    private final boolean newlineDelimited;
+    private final Map<String, VendorRange> vendorRanges;
+
+    private OutputIndex(final long outputSizeBytes,
+                        final boolean newlineDelimited,
+                        final Map<String, VendorRange> vendorRanges) {
+        this.outputSizeBytes = outputSizeBytes;
+        this.newlineDelimited = newlineDelimited;
+        this.vendorRanges = vendorRanges;
+    }
+
+    /**
+     * @param outputFilePath combined output file.
+     *
+     * @return index file next to the output file.
+     */
+    public static Path indexFilePath(final Path outputFilePath) {
+        return outputFilePath.resolveSibling(outputFilePath.getFileName() + INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * @param indexFilePath index file path.
+     *
+     * @return {@link OutputIndex} instance.
+     * @throws IOException if index can't be read or has an unsupported format.
+     */
+    public static OutputIndex read(final Path indexFilePath) throws IOException {
+        try (final DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFilePath)))) {
+            if (inputStream.readInt() != MAGIC || inputStream.readInt() != VERSION) {
+                throw new IOException("Unsupported output index format - %s".formatted(indexFilePath));
+            }
+            final long outputSizeBytes = inputStream.readLong();
+            final boolean newlineDelimited = inputStream.readBoolean();
+            final int noOfVendors = inputStream.readInt();
+            final Map<String, VendorRange> vendorRanges = new LinkedHashMap<>(noOfVendors * 2);
+            for (int vendorIndex = 0; vendorIndex < noOfVendors; vendorIndex++) {
+                final String vendorName = readString(inputStream);
+                final long offset = inputStream.readLong();
+                final long length = inputStream.readLong();
+                final int noOfBoards = inputStream.readInt();
+                final int noOfSparseEntries = inputStream.readInt();
+                final List<SparseEntry> sparseEntries = new ArrayList<>(noOfSparseEntries);
+                for (int entryIndex = 0; entryIndex < noOfSparseEntries; entryIndex++) {
+                    sparseEntries.add(new SparseEntry(readString(inputStream), inputStream.readLong()));
+                }
+                vendorRanges.put(vendorName, new VendorRange(vendorName, offset, length, noOfBoards, sparseEntries));
+            }
+            return new OutputIndex(outputSizeBytes, newlineDelimited, Collections.unmodifiableMap(vendorRanges));
+        }
+    }
+
+    /**
+     * @return size of the indexed output file, a different size means output has been replaced since.
+     */
+    public long getOutputSizeBytes() {
+        return outputSizeBytes;
+    }
+
+    /**
+     * @return true if output has one board object per line instead of a 'boards' array.
+     */
+    public boolean isNewlineDelimited() {
+        return newlineDelimited;
+    }
+
+    /**
+     * @return {@link VendorRange}s by vendor name, in output order.
+     */
+    public Map<String, VendorRange> getVendorRanges() {
+        return vendorRanges;
+    }
+
+    private static String readString(final DataInputStream inputStream) throws IOException {
+        final byte[] bytes = new byte[inputStream.readInt()];
+        inputStream.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Byte range of the boards of a vendor.
+     *
+     * @param vendorName vendor name.
+     * @param offset offset of the range.
+     * @param length length of the range.
+     * @param noOfBoards no. of boards in the range.
+     * @param sparseEntries every {@link #SPARSE_INTERVAL}th board of the vendor, starting with the first one.
+     */
+    public record VendorRange(String vendorName, long offset, long length, int noOfBoards, List<SparseEntry> sparseEntries) {
+    }
+
+    /**
+     * @param boardName name of the board.
+     * @param offset offset the board starts at, right after the previous board.
+     */
+    public record SparseEntry(String boardName, long offset) {
+    }
+
+    /**
+     * Collects offsets of boards while output is written, boards must be added in output order.
+     */
+    public static class Builder {
+        private final List<VendorRange> vendorRanges = new ArrayList<>();
+        private String vendorName;
+        private byte[] encodedVendorName;
+        private long vendorOffset;
+        private long vendorEndOffset;
+        private int noOfBoards;
+        private List<SparseEntry> sparseEntries;
+
+        /**
+         * @param vendorName vendor name.
+         * @param boardName board name.
+         * @param startOffset offset right after the previous board.
+         * @param endOffset offset right after the board.
+         */
+        public void add(final String vendorName,
+                        final String boardName,
+                        final long startOffset,
+                        final long endOffset) {
+            if (!vendorName.equals(this.vendorName)) {
+                startVendor(vendorName, startOffset);
+            }
+            if (noOfBoards % SPARSE_INTERVAL == 0) {
+                sparseEntries.add(new SparseEntry(boardName, startOffset));
+            }
+            noOfBoards++;
+            vendorEndOffset = endOffset;
+        }
+
+        /**
+         * Names are decoded only for a new vendor & for sparse entries.
+         *
+         * @param vendorName UTF-8 bytes of vendor name, a single array per vendor.
+         * @param boardName UTF-8 bytes of board name.
+         * @param boardNameLength no. of bytes of board name.
+         * @param startOffset offset right after the previous board.
+         * @param endOffset offset right after the board.
+         */
+        public void add(final byte[] vendorName,
+                        final byte[] boardName,
+                        final int boardNameLength,
+                        final long startOffset,
+                        final long endOffset) {
+            if (vendorName != encodedVendorName) {
+                encodedVendorName = vendorName;
+                startVendor(new String(vendorName, UTF_8), startOffset);
+            }
+            if (noOfBoards % SPARSE_INTERVAL == 0) {
+                sparseEntries.add(new SparseEntry(new String(boardName, 0, boardNameLength, UTF_8), startOffset));
+            }
+            noOfBoards++;
+            vendorEndOffset = endOffset;
+        }
+
+        /**
+         * Writes index file atomically.
+         *
+         * @param indexFilePath index file path.
+         * @param outputSizeBytes size of the written output file.
+         * @param newlineDelimited true if output has one board object per line.
+         * @param fsync true to force index file to the storage device before returning.
+         *
+         * @throws IOException if an I/O error occurs during writing process.
+         */
+        public void write(final Path indexFilePath,
+                          final long outputSizeBytes,
+                          final boolean newlineDelimited,
+                          final boolean fsync) throws IOException {
+            startVendor(null, 0);
+            JsonFiles.writeAtomically(indexFilePath, JsonFiles.NO_COMPRESSION, fsync, stream -> {
+                final DataOutputStream outputStream = new DataOutputStream(stream);
+                outputStream.writeInt(MAGIC);
+                outputStream.writeInt(VERSION);
+                outputStream.writeLong(outputSizeBytes);
+                outputStream.writeBoolean(newlineDelimited);
+                outputStream.writeInt(vendorRanges.size());
+                for (final VendorRange vendorRange : vendorRanges) {
+                    writeString(outputStream, vendorRange.vendorName());
+                    outputStream.writeLong(vendorRange.offset());
+                    outputStream.writeLong(vendorRange.length());
+                    outputStream.writeInt(vendorRange.noOfBoards());
+                    outputStream.writeInt(vendorRange.sparseEntries().size());
+                    for (final SparseEntry sparseEntry : vendorRange.sparseEntries()) {
+                        writeString(outputStream, sparseEntry.boardName());
+                        outputStream.writeLong(sparseEntry.offset());
+                    }
+                }
+                outputStream.flush();
+            });
+        }
+
+        /**
+         * Completes range of the current vendor & starts a new one, {@code null} vendor completes the last range.
+         */
+        private void startVendor(final String vendorName,
+                                 final long startOffset) {
+            if (this.vendorName != null) {
+                vendorRanges.add(new VendorRange(this.vendorName, vendorOffset, vendorEndOffset - vendorOffset, noOfBoards, sparseEntries));
+            }
+            this.vendorName = vendorName;
+            this.vendorOffset = startOffset;
+            this.noOfBoards = 0;
+            this.sparseEntries = new ArrayList<>();
+        }
+
+        private static void writeString(final DataOutputStream outputStream,
+                                        final String value) throws IOException {
+            final byte[] bytes = value.getBytes(UTF_8);
+            outputStream.writeInt(bytes.length);
+            outputStream.write(bytes);
+        }
+    }
+}
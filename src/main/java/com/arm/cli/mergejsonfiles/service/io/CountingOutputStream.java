@@ -0,0 +1,40 @@
+package com.arm.cli.mergejsonfiles.service.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream counting bytes written through it, e.g. to find offsets of records in the output file.
+ */
+public class CountingOutputStream extends FilterOutputStream {
+    private long count;
+
+    /**
+     * @param outputStream {@link OutputStream} bytes are written to.
+     */
+    public CountingOutputStream(final OutputStream outputStream) {
+        super(outputStream);
+    }
+
+    /**
+     * @return no. of bytes written so far.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        out.write(value);
+        count++;
+    }
+
+    @Override
+    public void write(final byte[] bytes,
+                      final int offset,
+                      final int length) throws IOException {
+        out.write(bytes, offset, length);
+        count += length;
+    }
+}
@@ -0,0 +1,58 @@
+package com.arm.cli.mergejsonfiles.service.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Input stream of a byte range of a file. Bytes are read at absolute positions, so several streams may read
+ * diff. ranges of the same channel at the same time. Closing the stream leaves the channel open.
+ */
+public class FileRangeInputStream extends InputStream {
+    private final FileChannel fileChannel;
+    private final long endOffset;
+    private long position;
+
+    /**
+     * @param fileChannel {@link FileChannel} of the file.
+     * @param startOffset offset of the first byte of the range.
+     * @param endOffset offset after the last byte of the range.
+     */
+    public FileRangeInputStream(final FileChannel fileChannel,
+                                final long startOffset,
+                                final long endOffset) {
+        this.fileChannel = fileChannel;
+        this.position = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] singleByte = new byte[1];
+        return read(singleByte, 0, 1) < 0 ? -1 : singleByte[0] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] bytes,
+                    final int offset,
+                    final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (position >= endOffset) {
+            return -1;
+        }
+        final int noOfBytes = fileChannel.read(ByteBuffer.wrap(bytes, offset, (int) Math.min(length, endOffset - position)), position);
+        if (noOfBytes < 0) {
+            return -1;
+        }
+        position += noOfBytes;
+        return noOfBytes;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, endOffset - position);
+    }
+}
@@ -0,0 +1,313 @@
+package com.arm.cli.mergejsonfiles.service.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Opens input & output files, gzip compressed files are decompressed & compressed as a stream. Path
+ * {@link #STANDARD_STREAM} stands for stdin as input & stdout as output.
+ */
+public final class JsonFiles {
+    public static final String JSON_EXTENSION = ".json";
+    public static final String GZIP_JSON_EXTENSION = ".json.gz";
+    public static final String NDJSON_EXTENSION = ".ndjson";
+    public static final String GZIP_NDJSON_EXTENSION = ".ndjson.gz";
+    public static final Path STANDARD_STREAM = Path.of("-");
+    public static final int NO_COMPRESSION = 0;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    // Generators flush a few KB at a time, output is written in large chunks instead
+    private static final int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private JsonFiles() {
+    }
+
+    /**
+     * @param path file path.
+     *
+     * @return true if file is a JSON or NDJSON input file, plain or gzip compressed.
+     */
+    public static boolean isJsonFile(final Path path) {
+        final String fileName = path.toString();
+        return fileName.endsWith(JSON_EXTENSION) || fileName.endsWith(GZIP_JSON_EXTENSION) || isNdjsonFile(fileName);
+    }
+
+    /**
+     * @param path file path.
+     *
+     * @return true if file holds newline-delimited board objects, plain or gzip compressed. Stdin is always read
+     *         as newline-delimited JSON.
+     */
+    public static boolean isNdjsonFile(final String path) {
+        return path.endsWith(NDJSON_EXTENSION) || path.endsWith(GZIP_NDJSON_EXTENSION) || isStandardStream(Path.of(path));
+    }
+
+    /**
+     * @param path file path.
+     *
+     * @return true if path stands for stdin or stdout.
+     */
+    public static boolean isStandardStream(final Path path) {
+        return STANDARD_STREAM.equals(path);
+    }
+
+    /**
+     * @param jsonFile {@link File} instance of JSON file.
+     *
+     * @return true if file is gzip compressed.
+     */
+    public static boolean isGzipped(final File jsonFile) {
+        return jsonFile.getName().endsWith(GZIP_JSON_EXTENSION) || jsonFile.getName().endsWith(GZIP_NDJSON_EXTENSION);
+    }
+
+    /**
+     * Creates parser of JSON file, gzip compressed file is decompressed while parsing.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON file.
+     * @param jsonFile {@link File} instance of JSON file, plain or gzip compressed.
+     *
+     * @return {@link JsonParser} closing the file once closed.
+     * @throws IOException if file can't be opened or has no valid gzip header.
+     */
+    public static JsonParser createParser(final JsonFactory jsonFactory,
+                                          final File jsonFile) throws IOException {
+        if (isStandardStream(jsonFile.toPath())) {
+            return jsonFactory.createParser(new StandardInputStream());
+        }
+        if (!isGzipped(jsonFile)) {
+            return jsonFactory.createParser(jsonFile);
+        }
+        final InputStream fileInputStream = new FileInputStream(jsonFile);
+        try {
+            return jsonFactory.createParser(new GZIPInputStream(fileInputStream, GZIP_BUFFER_SIZE));
+        } catch (IOException ioException) {
+            fileInputStream.close();
+            throw ioException;
+        }
+    }
+
+    /**
+     * Creates parser of memory-mapped JSON file, gzip compressed file is decompressed while parsing.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON file.
+     * @param jsonFile {@link File} instance of JSON file, plain or gzip compressed.
+     *
+     * @return {@link JsonParser} unmapping the file once closed.
+     * @throws IOException if file can't be mapped or has no valid gzip header.
+     */
+    public static JsonParser createMappedParser(final JsonFactory jsonFactory,
+                                                final File jsonFile) throws IOException {
+        final InputStream mappedInputStream = new MappedFileInputStream(jsonFile.toPath());
+        try {
+            return jsonFactory.createParser(isGzipped(jsonFile)
+                    ? new GZIPInputStream(mappedInputStream, GZIP_BUFFER_SIZE)
+                    : mappedInputStream);
+        } catch (IOException ioException) {
+            mappedInputStream.close();
+            throw ioException;
+        }
+    }
+
+    /**
+     * Creates parser of JSON file content loaded into memory, gzip compressed content is decompressed while parsing.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to process JSON file.
+     * @param content buffer holding file content from index {@code 0}.
+     * @param length no. of content bytes in the buffer.
+     * @param gzipped true if content is gzip compressed.
+     *
+     * @return {@link JsonParser} of the content.
+     * @throws IOException if content has no valid gzip header.
+     */
+    public static JsonParser createParser(final JsonFactory jsonFactory,
+                                          final byte[] content,
+                                          final int length,
+                                          final boolean gzipped) throws IOException {
+        if (!gzipped) {
+            return jsonFactory.createParser(content, 0, length);
+        }
+        return jsonFactory.createParser(new GZIPInputStream(new ByteArrayInputStream(content, 0, length), GZIP_BUFFER_SIZE));
+    }
+
+    /**
+     * Creates buffered output stream of the output file, replaces file if it exists.
+     *
+     * @param outputFilePath output file, {@link #STANDARD_STREAM} to write to stdout.
+     * @param compressionLevel gzip compression level from {@code 1} (fastest) to {@code 9} (smallest),
+     *         {@link #NO_COMPRESSION} to write plain file.
+     * @param fsync true to force file content to the storage device once stream is closed, ignored for stdout.
+     *
+     * @return {@link OutputStream} of the output file.
+     * @throws IOException if file can't be created.
+     */
+    public static OutputStream createOutputStream(final Path outputFilePath,
+                                                  final int compressionLevel,
+                                                  final boolean fsync) throws IOException {
+        final OutputStream fileOutputStream = new BufferedOutputStream(isStandardStream(outputFilePath)
+                ? new StandardOutputStream()
+                : new FileOutputStream(outputFilePath.toFile()) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            if (fsync) {
+                                getFD().sync();
+                            }
+                        } finally {
+                            super.close();
+                        }
+                    }
+                }, OUTPUT_BUFFER_SIZE);
+        if (compressionLevel == NO_COMPRESSION) {
+            return fileOutputStream;
+        }
+        try {
+            return new GZIPOutputStream(fileOutputStream, GZIP_BUFFER_SIZE) {
+                {
+                    def.setLevel(compressionLevel);
+                }
+            };
+        } catch (IOException ioException) {
+            fileOutputStream.close();
+            throw ioException;
+        }
+    }
+
+    /**
+     * Writes output file atomically. Content is written to a temp file next to the output file & renamed into place
+     * once complete, readers see either the previous or the new output file but never a partial one. Temp file is
+     * deleted if writing fails, previous output file is left as it is. Stdout is written directly.
+     *
+     * @param outputFilePath output file, {@link #STANDARD_STREAM} to write to stdout.
+     * @param compressionLevel gzip compression level from {@code 1} (fastest) to {@code 9} (smallest),
+     *         {@link #NO_COMPRESSION} to write plain file.
+     * @param fsync true to force file content & rename to the storage device before returning.
+     * @param outputWriter {@link OutputWriter} writes the content.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    public static void writeAtomically(final Path outputFilePath,
+                                       final int compressionLevel,
+                                       final boolean fsync,
+                                       final OutputWriter outputWriter) throws IOException {
+        if (isStandardStream(outputFilePath)) {
+            try (final OutputStream outputStream = createOutputStream(outputFilePath, compressionLevel, false)) {
+                outputWriter.write(outputStream);
+            }
+            return;
+        }
+        final Path outputDirPath = outputFilePath.toAbsolutePath().getParent();
+        final Path tempOutputFilePath = createTempOutputFile(outputDirPath, outputFilePath.getFileName().toString());
+        try {
+            try (final OutputStream outputStream = createOutputStream(tempOutputFilePath, compressionLevel, fsync)) {
+                outputWriter.write(outputStream);
+            }
+            Files.move(tempOutputFilePath, outputFilePath, REPLACE_EXISTING, ATOMIC_MOVE);
+            if (fsync) {
+                syncDirectory(outputDirPath);
+            }
+        } finally {
+            Files.deleteIfExists(tempOutputFilePath);
+        }
+    }
+
+    /**
+     * Creates an empty temp file next to the output file. Unlike {@link Files#createTempFile}, which restricts it to
+     * the owner, it gets default permissions, so published output is accessible as if it was created directly.
+     */
+    private static Path createTempOutputFile(final Path outputDirPath,
+                                             final String outputFileName) throws IOException {
+        while (true) {
+            final Path tempOutputFilePath = outputDirPath.resolve(".%s.%d%s".formatted(outputFileName,
+                    ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, TEMP_FILE_SUFFIX));
+            try {
+                return Files.createFile(tempOutputFilePath);
+            } catch (FileAlreadyExistsException fileAlreadyExistsException) {
+                // Name taken by a concurrent write of the same output, try another one
+            }
+        }
+    }
+
+    /**
+     * Forces directory entries, e.g. a rename, to the storage device. Not every platform can open a directory,
+     * it's skipped there.
+     */
+    private static void syncDirectory(final Path dirPath) {
+        try (final FileChannel dirChannel = FileChannel.open(dirPath, StandardOpenOption.READ)) {
+            dirChannel.force(true);
+        } catch (IOException ioException) {
+            // Directories can't be opened for reading on e.g. Windows, rename is durable once file system commits it
+        }
+    }
+
+    /**
+     * Writes content of an output file.
+     */
+    @FunctionalInterface
+    public interface OutputWriter {
+        /**
+         * @param outputStream {@link OutputStream} of the output file, closed by the caller.
+         *
+         * @throws IOException if an I/O error occurs during writing process.
+         */
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * Stdin of the process, left open once closed so it's read the same way as a file.
+     */
+    private static final class StandardInputStream extends FilterInputStream {
+        private StandardInputStream() {
+            super(new FileInputStream(FileDescriptor.in));
+        }
+
+        @Override
+        public void close() {
+            // Stdin belongs to the process
+        }
+    }
+
+    /**
+     * Stdout of the process, written to its file descriptor directly so console output redirected with
+     * {@link System#setOut(java.io.PrintStream)} can't mix with the data. Flushed but left open once closed.
+     */
+    private static final class StandardOutputStream extends FilterOutputStream {
+        private StandardOutputStream() {
+            super(new FileOutputStream(FileDescriptor.out));
+        }
+
+        @Override
+        public void write(final byte[] bytes,
+                          final int offset,
+                          final int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.arm.cli.mergejsonfiles.service.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Input file ready to be parsed, either read from disk while parsing or already loaded into memory.
+ */
+public interface JsonInput {
+    /**
+     * @return path of the input file, rejections are reported against it.
+     */
+    String getPath();
+
+    /**
+     * @return size of the input file in bytes as stored on disk.
+     */
+    long length();
+
+    /**
+     * @param jsonFactory {@link JsonFactory} instance to process JSON file.
+     *
+     * @return {@link JsonParser} of the input, gzip compressed input is decompressed while parsing.
+     * @throws IOException if input can't be opened or read.
+     */
+    JsonParser createParser(JsonFactory jsonFactory) throws IOException;
+
+    /**
+     * @param jsonFile {@link File} instance of JSON file, plain or gzip compressed.
+     *
+     * @return input read from disk while parsing.
+     */
+    static JsonInput of(final File jsonFile) {
+        return new JsonInput() {
+            @Override
+            public String getPath() {
+                return jsonFile.getPath();
+            }
+
+            @Override
+            public long length() {
+                return jsonFile.length();
+            }
+
+            @Override
+            public JsonParser createParser(final JsonFactory jsonFactory) throws IOException {
+                return JsonFiles.createParser(jsonFactory, jsonFile);
+            }
+        };
+    }
+
+    /**
+     * @param jsonFile {@link File} instance of JSON file, plain or gzip compressed.
+     *
+     * @return input parsed from memory-mapped file content.
+     */
+    static JsonInput mapped(final File jsonFile) {
+        return new JsonInput() {
+            @Override
+            public String getPath() {
+                return jsonFile.getPath();
+            }
+
+            @Override
+            public long length() {
+                return jsonFile.length();
+            }
+
+            @Override
+            public JsonParser createParser(final JsonFactory jsonFactory) throws IOException {
+                return JsonFiles.createMappedParser(jsonFactory, jsonFile);
+            }
+        };
+    }
+}
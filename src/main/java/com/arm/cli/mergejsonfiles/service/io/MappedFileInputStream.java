@@ -0,0 +1,112 @@
+package com.arm.cli.mergejsonfiles.service.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Input stream of a memory-mapped file, bytes are copied straight from the page cache without read calls. A single
+ * mapping can't exceed 2 GB, larger files are mapped chunk by chunk while they're read, a chunk is unmapped once it's
+ * no longer referenced.
+ */
+public class MappedFileInputStream extends InputStream {
+    private static final long CHUNK_SIZE = 1L << 30;
+
+    private final FileChannel fileChannel;
+    private final long size;
+    private final long chunkSize;
+    private long nextChunkPosition;
+    private MappedByteBuffer chunk;
+
+    /**
+     * @param filePath file to map.
+     *
+     * @throws IOException if file can't be opened.
+     */
+    public MappedFileInputStream(final Path filePath) throws IOException {
+        this(filePath, CHUNK_SIZE);
+    }
+
+    /**
+     * @param filePath file to map.
+     * @param chunkSize max. size of a single mapping.
+     *
+     * @throws IOException if file can't be opened.
+     */
+    MappedFileInputStream(final Path filePath,
+                          final long chunkSize) throws IOException {
+        this.chunkSize = chunkSize;
+        this.fileChannel = FileChannel.open(filePath, READ);
+        try {
+            this.size = fileChannel.size();
+        } catch (IOException ioException) {
+            fileChannel.close();
+            throw ioException;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!mapNextChunkIfRead()) {
+            return -1;
+        }
+        return chunk.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] bytes,
+                    final int offset,
+                    final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!mapNextChunkIfRead()) {
+            return -1;
+        }
+        final int noOfBytes = Math.min(length, chunk.remaining());
+        chunk.get(bytes, offset, noOfBytes);
+        return noOfBytes;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && mapNextChunkIfRead()) {
+            final int noOfBytes = (int) Math.min(n - skipped, chunk.remaining());
+            chunk.position(chunk.position() + noOfBytes);
+            skipped += noOfBytes;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return chunk == null ? 0 : chunk.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunk = null;
+        fileChannel.close();
+    }
+
+    /**
+     * @return true if there are bytes left to read in the current chunk, false at the end of the file.
+     * @throws IOException if an I/O error occurs during mapping.
+     */
+    private boolean mapNextChunkIfRead() throws IOException {
+        while (chunk == null || !chunk.hasRemaining()) {
+            if (nextChunkPosition >= size) {
+                return false;
+            }
+            final long mappedSize = Math.min(chunkSize, size - nextChunkPosition);
+            chunk = fileChannel.map(FileChannel.MapMode.READ_ONLY, nextChunkPosition, mappedSize);
+            nextChunkPosition += mappedSize;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,167 @@
+package com.arm.cli.mergejsonfiles.service.io;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+import com.arm.cli.mergejsonfiles.service.BoardRecordSource.BoardRecordConsumer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands merged records over to a writer thread in batches, so records are serialized & written while the index
+ * still sorts & provides the next ones. The index waits only if the writer falls behind by more than
+ * {@link #MAX_PENDING_BATCHES} batches. Records are passed to the wrapped consumer in the order they are accepted.
+ */
+public class PipelinedRecordWriter implements BoardRecordConsumer, Closeable {
+    private static final int BATCH_SIZE = 1024;
+    private static final int MAX_PENDING_BATCHES = 16;
+    private static final long HAND_OVER_POLL_MILLIS = 100;
+    // Marks the end of the records, compared by identity
+    private static final RecordBatch END_OF_RECORDS = new RecordBatch(0);
+
+    private final BoardRecordConsumer boardRecordConsumer;
+    private final BlockingQueue<RecordBatch> pendingBatches = new ArrayBlockingQueue<>(MAX_PENDING_BATCHES);
+    private final Thread writerThread;
+    private RecordBatch currentBatch = new RecordBatch(BATCH_SIZE);
+    private volatile Throwable writeException;
+    // Write exception is rethrown once, by accept or by close, it can't be suppressed by itself
+    private boolean writeExceptionRethrown;
+
+    /**
+     * Starts the writer thread.
+     *
+     * @param boardRecordConsumer {@link BoardRecordConsumer} writes records, called on the writer thread only.
+     */
+    public PipelinedRecordWriter(final BoardRecordConsumer boardRecordConsumer) {
+        this.boardRecordConsumer = boardRecordConsumer;
+        this.writerThread = new Thread(this::writeBatches, "merge-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException if writer has failed already, so the index stops providing records.
+     */
+    @Override
+    public void accept(final String vendorName,
+                       final String boardName,
+                       final BoardDataSlice boardDataSlice) throws IOException {
+        currentBatch.add(vendorName, boardName, boardDataSlice);
+        if (currentBatch.size == BATCH_SIZE) {
+            handOver(currentBatch);
+            currentBatch = new RecordBatch(BATCH_SIZE);
+            rethrowWriteException();
+        }
+    }
+
+    /**
+     * Hands over the remaining batch & waits for the writer thread to write all records.
+     *
+     * @throws IOException if an I/O error occurred while writing records.
+     */
+    @Override
+    public void close() throws IOException {
+        if (currentBatch.size > 0) {
+            handOver(currentBatch);
+        }
+        handOver(END_OF_RECORDS);
+        try {
+            writerThread.join();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing output file");
+        }
+        rethrowWriteException();
+    }
+
+    /**
+     * Waits for room in the queue as long as the writer thread is alive, a dead writer would never drain it.
+     */
+    private void handOver(final RecordBatch recordBatch) throws IOException {
+        try {
+            while (!pendingBatches.offer(recordBatch, HAND_OVER_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!writerThread.isAlive()) {
+                    rethrowWriteException();
+                    throw new IOException("Output writer has stopped");
+                }
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while handing over records to output writer");
+        }
+    }
+
+    private void rethrowWriteException() throws IOException {
+        if (writeExceptionRethrown) {
+            return;
+        }
+        writeExceptionRethrown = writeException != null;
+        if (writeException instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (writeException instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (writeException != null) {
+            throw (Error) writeException;
+        }
+    }
+
+    /**
+     * Body of the writer thread, writes batches until end of records. Batches are still drained after a write
+     * error or {@link Error} so the index never blocks on a full queue.
+     */
+    private void writeBatches() {
+        try {
+            RecordBatch recordBatch;
+            while ((recordBatch = pendingBatches.take()) != END_OF_RECORDS) {
+                if (writeException == null) {
+                    writeBatch(recordBatch);
+                }
+            }
+        } catch (InterruptedException interruptedException) {
+            writeException = new InterruptedIOException("Output writer was interrupted");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeBatch(final RecordBatch recordBatch) {
+        try {
+            for (int index = 0; index < recordBatch.size; index++) {
+                boardRecordConsumer.accept(recordBatch.vendorNames[index], recordBatch.boardNames[index], recordBatch.boardDataSlices[index]);
+            }
+        } catch (Throwable throwable) {
+            // Errors too, the queue must be drained until end of records
+            writeException = throwable;
+        }
+    }
+
+    /**
+     * Records handed over to the writer thread at once.
+     */
+    private static final class RecordBatch {
+        private final String[] vendorNames;
+        private final String[] boardNames;
+        private final BoardDataSlice[] boardDataSlices;
+        private int size;
+
+        private RecordBatch(final int capacity) {
+            this.vendorNames = new String[capacity];
+            this.boardNames = new String[capacity];
+            this.boardDataSlices = new BoardDataSlice[capacity];
+        }
+
+        private void add(final String vendorName,
+                         final String boardName,
+                         final BoardDataSlice boardDataSlice) {
+            vendorNames[size] = vendorName;
+            boardNames[size] = boardName;
+            boardDataSlices[size++] = boardDataSlice;
+        }
+    }
+}
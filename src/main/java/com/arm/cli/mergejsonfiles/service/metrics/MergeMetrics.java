@@ -0,0 +1,280 @@
+package com.arm.cli.mergejsonfiles.service.metrics;
+
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
+import com.arm.cli.mergejsonfiles.service.BoardRecordSource;
+import com.arm.cli.mergejsonfiles.service.quarantine.RejectedRecordCollector;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.fasterxml.jackson.core.JsonEncoding.UTF8;
+
+/**
+ * Metrics of a single merge run, safe to update from several parsing threads.
+ * <p>
+ * Phase times are summed over all threads working on the phase, so for parallel parsing they can exceed wall time
+ * of the run. Parsing & indexing interleave per file, stream merge of sorted input parses while writing & its time
+ * is reported as write phase. Peak heap & JVM uptime at the first file read are JVM wide, merges running at the same
+ * time share them.
+ * </p>
+ */
+public class MergeMetrics {
+    /**
+     * Phases of a merge run.
+     */
+    public enum Phase {
+        LIST_FILES,
+        PARSE,
+        INDEX,
+        WRITE
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final List<MemoryPoolMXBean> heapMemoryPools;
+    private final Map<Phase, LongAdder> phaseNanos = new EnumMap<>(Phase.class);
+    private final LongAdder filesRead = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder boardsRead = new LongAdder();
+    private final LongAdder boardsWritten = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder recordsRejected = new LongAdder();
+    private final LongAdder filesSkipped = new LongAdder();
+    private final AtomicLong firstReadUptimeMillis = new AtomicLong(-1);
+    private long totalNanos;
+    private long peakHeapBytes;
+
+    public MergeMetrics() {
+        for (final Phase phase : Phase.values()) {
+            phaseNanos.put(phase, new LongAdder());
+        }
+        this.heapMemoryPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(memoryPool -> memoryPool.getType() == MemoryType.HEAP && memoryPool.isValid())
+                .toList();
+        heapMemoryPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    /**
+     * @param phase {@link Phase} the time has been spent in.
+     * @param phaseStartNanos {@link System#nanoTime()} at the start of the phase.
+     */
+    public void addPhaseTime(final Phase phase,
+                             final long phaseStartNanos) {
+        phaseNanos.get(phase).add(System.nanoTime() - phaseStartNanos);
+    }
+
+    /**
+     * @param phase {@link Phase} the time has been spent in.
+     * @param nanos time spent in the phase.
+     */
+    public void addPhaseNanos(final Phase phase,
+                              final long nanos) {
+        phaseNanos.get(phase).add(nanos);
+    }
+
+    /**
+     * Marks start of reading a file, takes JVM uptime at the first file read of the run, i.e. startup cost of the
+     * process plus listing files.
+     */
+    public void markFileRead() {
+        if (firstReadUptimeMillis.get() < 0) {
+            firstReadUptimeMillis.compareAndSet(-1, ManagementFactory.getRuntimeMXBean().getUptime());
+        }
+    }
+
+    /**
+     * @param sizeBytes size of the file which has been read.
+     */
+    public void addFileRead(final long sizeBytes) {
+        filesRead.increment();
+        bytesRead.add(sizeBytes);
+    }
+
+    /**
+     * @param noOfBoards no. of valid boards read from input files or from a manifest.
+     */
+    public void addBoardsRead(final long noOfBoards) {
+        boardsRead.add(noOfBoards);
+    }
+
+    /**
+     * @param noOfBoards no. of boards written to the output file.
+     */
+    public void addBoardsWritten(final long noOfBoards) {
+        boardsWritten.add(noOfBoards);
+    }
+
+    /**
+     * @param sizeBytes size of an output file which has been written, e.g. of a shard.
+     */
+    public void addBytesWritten(final long sizeBytes) {
+        bytesWritten.add(sizeBytes);
+    }
+
+    /**
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collector rejections are passed on to.
+     *
+     * @return collector counting rejected records & skipped files before passing them on.
+     */
+    public RejectedRecordCollector countRejections(final RejectedRecordCollector rejectedRecordCollector) {
+        return new RejectedRecordCollector() {
+            @Override
+            public void reject(final String sourceFile,
+                               final int index,
+                               final RejectionReason rejectionReason) {
+                (rejectionReason.isFileLevel() ? filesSkipped : recordsRejected).increment();
+                rejectedRecordCollector.reject(sourceFile, index, rejectionReason);
+            }
+
+            @Override
+            public void flush() {
+                rejectedRecordCollector.flush();
+            }
+        };
+    }
+
+    /**
+     * @param boardRecordSource {@link BoardRecordSource} records written to the output file.
+     *
+     * @return source counting records it provides.
+     */
+    public BoardRecordSource countBoardsWritten(final BoardRecordSource boardRecordSource) {
+        return boardRecordConsumer -> boardRecordSource.forEachRecord((vendorName, boardName, boardDataSlice) -> {
+            boardsWritten.increment();
+            boardRecordConsumer.accept(vendorName, boardName, boardDataSlice);
+        });
+    }
+
+    /**
+     * Completes the run, takes total time & peak heap use.
+     */
+    public void complete() {
+        this.totalNanos = System.nanoTime() - startNanos;
+        this.peakHeapBytes = heapMemoryPools.stream()
+                .mapToLong(memoryPool -> memoryPool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    /**
+     * Publishes metrics of the completed run.
+     *
+     * @param meterRegistry {@link MeterRegistry} metrics are published to.
+     */
+    public void publish(final MeterRegistry meterRegistry) {
+        meterRegistry.timer("merge.duration").record(totalNanos, TimeUnit.NANOSECONDS);
+        phaseNanos.forEach((phase, nanos) -> meterRegistry
+                .timer("merge.phase.duration", "phase", phaseName(phase))
+                .record(nanos.sum(), TimeUnit.NANOSECONDS));
+        meterRegistry.counter("merge.files.read").increment(filesRead.sum());
+        meterRegistry.counter("merge.files.skipped").increment(filesSkipped.sum());
+        meterRegistry.counter("merge.bytes.read").increment(bytesRead.sum());
+        meterRegistry.counter("merge.bytes.written").increment(bytesWritten.sum());
+        meterRegistry.counter("merge.boards.read").increment(boardsRead.sum());
+        meterRegistry.counter("merge.boards.written").increment(boardsWritten.sum());
+        meterRegistry.counter("merge.duplicates.dropped").increment(getDuplicatesDropped());
+        meterRegistry.counter("merge.records.rejected").increment(recordsRejected.sum());
+        meterRegistry.summary("merge.files.per.second").record(perSecond(filesRead.sum()));
+        meterRegistry.summary("merge.boards.per.second").record(perSecond(boardsRead.sum()));
+        meterRegistry.summary("merge.heap.peak").record(peakHeapBytes);
+    }
+
+    /**
+     * Writes run report of the completed run.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to write report.
+     * @param reportFilePath report file, replaced if it exists.
+     *
+     * @throws IOException if an I/O error occurs during writing process.
+     */
+    public void writeReport(final JsonFactory jsonFactory,
+                            final Path reportFilePath) throws IOException {
+        try (final JsonGenerator jsonGenerator = jsonFactory.createGenerator(reportFilePath.toFile(), UTF8)) {
+            jsonGenerator.useDefaultPrettyPrinter();
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeNumberField("wall_time_ms", TimeUnit.NANOSECONDS.toMillis(totalNanos));
+            jsonGenerator.writeNumberField("jvm_uptime_at_first_read_ms", firstReadUptimeMillis.get());
+            jsonGenerator.writeFieldName("phases");
+            jsonGenerator.writeStartObject();
+            for (final Map.Entry<Phase, LongAdder> phase : phaseNanos.entrySet()) {
+                jsonGenerator.writeNumberField(phaseName(phase.getKey()) + "_ms", TimeUnit.NANOSECONDS.toMillis(phase.getValue().sum()));
+            }
+            jsonGenerator.writeEndObject();
+            jsonGenerator.writeNumberField("files_read", filesRead.sum());
+            jsonGenerator.writeNumberField("files_skipped", filesSkipped.sum());
+            jsonGenerator.writeNumberField("bytes_read", bytesRead.sum());
+            jsonGenerator.writeNumberField("bytes_written", bytesWritten.sum());
+            jsonGenerator.writeNumberField("boards_read", boardsRead.sum());
+            jsonGenerator.writeNumberField("boards_written", boardsWritten.sum());
+            jsonGenerator.writeNumberField("duplicates_dropped", getDuplicatesDropped());
+            jsonGenerator.writeNumberField("records_rejected", recordsRejected.sum());
+            jsonGenerator.writeNumberField("files_per_second", perSecond(filesRead.sum()));
+            jsonGenerator.writeNumberField("boards_per_second", perSecond(boardsRead.sum()));
+            jsonGenerator.writeNumberField("peak_heap_bytes", peakHeapBytes);
+            jsonGenerator.writeEndObject();
+        }
+    }
+
+    /**
+     * @return one line summary of the completed run.
+     */
+    public String summary() {
+        return "%d file(s), %d board(s) read, %d written, %d duplicate(s) dropped, %d record(s) rejected in %d ms (%.0f boards/s)"
+                .formatted(filesRead.sum(), boardsRead.sum(), boardsWritten.sum(), getDuplicatesDropped(),
+                        recordsRejected.sum(), TimeUnit.NANOSECONDS.toMillis(totalNanos), perSecond(boardsRead.sum()));
+    }
+
+    public long getPhaseNanos(final Phase phase) {
+        return phaseNanos.get(phase).sum();
+    }
+
+    /**
+     * @return JVM uptime at the first file read of the run, {@code -1} if no file has been read.
+     */
+    public long getFirstReadUptimeMillis() {
+        return firstReadUptimeMillis.get();
+    }
+
+    public long getFilesRead() {
+        return filesRead.sum();
+    }
+
+    public long getBoardsRead() {
+        return boardsRead.sum();
+    }
+
+    public long getBoardsWritten() {
+        return boardsWritten.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public long getDuplicatesDropped() {
+        return Math.max(0, boardsRead.sum() - boardsWritten.sum());
+    }
+
+    public long getRecordsRejected() {
+        return recordsRejected.sum();
+    }
+
+    private double perSecond(final long count) {
+        return totalNanos > 0 ? count * 1e9 / totalNanos : 0;
+    }
+
+    private static String phaseName(final Phase phase) {
+        return phase.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,204 @@
+package com.arm.cli.mergejsonfiles.service.prefetch;
+
+import com.arm.cli.mergejsonfiles.service.io.JsonFiles;
+import com.arm.cli.mergejsonfiles.service.io.JsonInput;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Loads upcoming input files into memory on dedicated I/O threads while the calling thread parses the current one,
+ * so parsing doesn't wait for slow storage. At most read-ahead depth files are loaded ahead, each into a pooled heap
+ * buffer which is re-used once the file has been parsed.
+ * <p>
+ * Files are provided in list order. A file larger than {@link #MAX_LOADED_FILE_SIZE} isn't loaded, it's opened by
+ * the given opener & read while parsing so memory use stays bounded, stdin is read while parsing too. A file which can't be read is provided as well, its parser fails
+ * the same way as if the file was read while parsing.
+ * </p>
+ */
+public class ReadAheadFileLoader implements AutoCloseable {
+    public static final long MAX_LOADED_FILE_SIZE = 64L * 1024 * 1024;
+    private static final AtomicInteger LOADER_COUNT = new AtomicInteger();
+
+    private final Iterator<Path> jsonFiles;
+    private final int readAheadDepth;
+    private final Function<Path, JsonInput> largeFileOpener;
+    private final ExecutorService ioExecutor;
+    private final BlockingQueue<byte[]> bufferPool;
+    private final Deque<Future<JsonInput>> loadingFiles = new ArrayDeque<>();
+    private LoadedFile currentFile;
+
+    /**
+     * @param jsonFiles list of JSON files in parsing order.
+     * @param readAheadDepth max. no. of files loaded ahead of the file being parsed, must be greater than {@code 0}.
+     * @param largeFileOpener opens file too large to be loaded.
+     */
+    public ReadAheadFileLoader(final List<Path> jsonFiles,
+                               final int readAheadDepth,
+                               final Function<Path, JsonInput> largeFileOpener) {
+        this.jsonFiles = jsonFiles.iterator();
+        this.readAheadDepth = readAheadDepth;
+        this.largeFileOpener = largeFileOpener;
+        // One buffer per file loaded ahead plus the one being parsed
+        this.bufferPool = new ArrayBlockingQueue<>(readAheadDepth + 1);
+        for (int index = 0; index <= readAheadDepth; index++) {
+            bufferPool.add(new byte[0]);
+        }
+        final int loaderNo = LOADER_COUNT.incrementAndGet();
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.ioExecutor = Executors.newFixedThreadPool(readAheadDepth, runnable -> {
+            final Thread thread = new Thread(runnable, "read-ahead-" + loaderNo + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        loadAhead();
+    }
+
+    /**
+     * @return true if there are files left.
+     */
+    public boolean hasNext() {
+        return !loadingFiles.isEmpty();
+    }
+
+    /**
+     * Provides the next file, buffer of the previous file is released, so the previous file must not be parsed
+     * anymore.
+     *
+     * @return {@link JsonInput} of the next file.
+     * @throws InterruptedIOException if waiting for the file has been interrupted.
+     */
+    public JsonInput next() throws InterruptedIOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        releaseCurrentFile();
+        final Future<JsonInput> loadingFile = loadingFiles.poll();
+        loadAhead();
+        try {
+            final JsonInput jsonInput = loadingFile.get();
+            if (jsonInput instanceof LoadedFile loadedFile) {
+                currentFile = loadedFile;
+            }
+            return jsonInput;
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading file ahead");
+        } catch (ExecutionException executionException) {
+            throw new IllegalStateException("Loading file ahead failed unexpectedly", executionException.getCause());
+        }
+    }
+
+    /**
+     * Stops loading files ahead, files being loaded are dropped.
+     */
+    @Override
+    public void close() {
+        ioExecutor.shutdownNow();
+        loadingFiles.clear();
+        currentFile = null;
+    }
+
+    private void loadAhead() {
+        while (loadingFiles.size() < readAheadDepth && jsonFiles.hasNext()) {
+            final Path jsonFile = jsonFiles.next();
+            loadingFiles.add(ioExecutor.submit(() -> load(jsonFile)));
+        }
+    }
+
+    private void releaseCurrentFile() {
+        if (currentFile != null) {
+            bufferPool.add(currentFile.content);
+            currentFile = null;
+        }
+    }
+
+    private JsonInput load(final Path jsonFile) throws InterruptedException {
+        // Stdin can only be read once, it's read while parsing
+        if (JsonFiles.isStandardStream(jsonFile)) {
+            return largeFileOpener.apply(jsonFile);
+        }
+        try (final FileChannel fileChannel = FileChannel.open(jsonFile, READ)) {
+            final long size = fileChannel.size();
+            if (size > MAX_LOADED_FILE_SIZE) {
+                return largeFileOpener.apply(jsonFile);
+            }
+            byte[] content = bufferPool.take();
+            try {
+                if (content.length < size) {
+                    content = new byte[(int) size];
+                }
+                final ByteBuffer byteBuffer = ByteBuffer.wrap(content, 0, (int) size);
+                while (byteBuffer.hasRemaining() && fileChannel.read(byteBuffer) >= 0) {
+                    // File may shrink while being read, content ends where the file ends
+                }
+                return new LoadedFile(jsonFile, size, content, byteBuffer.position());
+            } catch (IOException ioException) {
+                bufferPool.add(content);
+                throw ioException;
+            }
+        } catch (IOException ioException) {
+            return new UnreadableFile(jsonFile, ioException);
+        }
+    }
+
+    /**
+     * File loaded into a pooled buffer.
+     */
+    private record LoadedFile(Path jsonFile, long size, byte[] content, int contentLength) implements JsonInput {
+        @Override
+        public String getPath() {
+            return jsonFile.toString();
+        }
+
+        @Override
+        public long length() {
+            return size;
+        }
+
+        @Override
+        public JsonParser createParser(final JsonFactory jsonFactory) throws IOException {
+            return JsonFiles.createParser(jsonFactory, content, contentLength, JsonFiles.isGzipped(jsonFile.toFile()));
+        }
+    }
+
+    /**
+     * File which couldn't be loaded, its parser fails with the load error.
+     */
+    private record UnreadableFile(Path jsonFile, IOException ioException) implements JsonInput {
+        @Override
+        public String getPath() {
+            return jsonFile.toString();
+        }
+
+        @Override
+        public long length() {
+            return 0;
+        }
+
+        @Override
+        public JsonParser createParser(final JsonFactory jsonFactory) throws IOException {
+            throw ioException;
+        }
+    }
+}
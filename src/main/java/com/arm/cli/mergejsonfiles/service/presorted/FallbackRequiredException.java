@@ -0,0 +1,29 @@
+package com.arm.cli.mergejsonfiles.service.presorted;
+
+import java.io.IOException;
+
+/**
+ * Exception class represents input which can't be stream merged, e.g. file isn't sorted by vendor & name.
+ * Merge falls back to the in-memory merge.
+ */
+public class FallbackRequiredException extends IOException {
+    public FallbackRequiredException(final String message) {
+        super(message);
+    }
+
+    public FallbackRequiredException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+    public static FallbackRequiredException unsortedFile(final String fileName) {
+        return new FallbackRequiredException("Boards of file %s are not sorted by vendor & name".formatted(fileName));
+    }
+
+    public static FallbackRequiredException multipleBoardsFields(final String fileName) {
+        return new FallbackRequiredException("File %s contains more than one 'boards' field".formatted(fileName));
+    }
+
+    public static FallbackRequiredException unreadableFile(final String fileName, final Throwable cause) {
+        return new FallbackRequiredException("File %s can't be stream merged: %s".formatted(fileName, cause.getMessage()), cause);
+    }
+}
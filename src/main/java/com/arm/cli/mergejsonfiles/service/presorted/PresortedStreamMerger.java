@@ -0,0 +1,93 @@
+package com.arm.cli.mergejsonfiles.service.presorted;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+import com.arm.cli.mergejsonfiles.service.BoardRecordSource;
+import com.arm.cli.mergejsonfiles.service.quarantine.RejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordReader;
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Streaming k-way merger for files whose 'boards' arrays are already sorted by vendor & name.
+ * Only the current record of each file is kept in memory, for duplicates record of the file appearing
+ * earlier in file name order wins.
+ */
+public class PresortedStreamMerger implements BoardRecordSource, Closeable {
+    private static final Comparator<SortedFileCursor> SORTED_FILE_CURSOR_COMPARATOR = Comparator
+            .comparing(SortedFileCursor::getVendor)
+            .thenComparing(SortedFileCursor::getName)
+            .thenComparingInt(SortedFileCursor::getFileIndex);
+
+    private final JsonFactory jsonFactory;
+    private final List<Path> jsonFiles;
+    private final BoardRecordReader boardRecordReader;
+    private final RejectedRecordCollector rejectedRecordCollector;
+    private final PriorityQueue<SortedFileCursor> sortedFileCursors;
+
+    /**
+     * @param jsonFactory {@link JsonFactory} instance to process JSON files.
+     * @param jsonFiles list of JSON files, sorted by file name.
+     * @param boardRecordReader reads & validates board object parser is positioned at.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects files without 'boards' field.
+     */
+    public PresortedStreamMerger(final JsonFactory jsonFactory,
+                                 final List<Path> jsonFiles,
+                                 final BoardRecordReader boardRecordReader,
+                                 final RejectedRecordCollector rejectedRecordCollector) {
+        this.jsonFactory = jsonFactory;
+        this.jsonFiles = jsonFiles;
+        this.boardRecordReader = boardRecordReader;
+        this.rejectedRecordCollector = rejectedRecordCollector;
+        this.sortedFileCursors = new PriorityQueue<>(Math.max(1, jsonFiles.size()), SORTED_FILE_CURSOR_COMPARATOR);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws FallbackRequiredException if any file is not sorted or can't be stream merged.
+     */
+    @Override
+    public void forEachRecord(final BoardRecordConsumer boardRecordConsumer) throws IOException {
+        for (int fileIndex = 0; fileIndex < jsonFiles.size(); fileIndex++) {
+            final SortedFileCursor sortedFileCursor = SortedFileCursor.open(fileIndex, jsonFactory, jsonFiles.get(fileIndex).toFile(),
+                    boardRecordReader, rejectedRecordCollector);
+            if (sortedFileCursor.hasRecord()) {
+                sortedFileCursors.add(sortedFileCursor);
+            }
+        }
+        String lastVendor = null;
+        String lastName = null;
+        while (!sortedFileCursors.isEmpty()) {
+            final SortedFileCursor sortedFileCursor = sortedFileCursors.poll();
+            if (!sortedFileCursor.getVendor().equals(lastVendor) || !sortedFileCursor.getName().equals(lastName)) {
+                lastVendor = sortedFileCursor.getVendor();
+                lastName = sortedFileCursor.getName();
+                boardRecordConsumer.accept(lastVendor, lastName, new BoardDataSlice(sortedFileCursor.getCore(), sortedFileCursor.isHasWifi()));
+            }
+            try {
+                sortedFileCursor.advance();
+            } catch (FallbackRequiredException fallbackRequiredException) {
+                sortedFileCursor.closeQuietly();
+                throw fallbackRequiredException;
+            }
+            if (sortedFileCursor.hasRecord()) {
+                sortedFileCursors.add(sortedFileCursor);
+            }
+        }
+    }
+
+    /**
+     * Closes files which are still open.
+     */
+    @Override
+    public void close() {
+        sortedFileCursors.forEach(SortedFileCursor::closeQuietly);
+        sortedFileCursors.clear();
+    }
+}
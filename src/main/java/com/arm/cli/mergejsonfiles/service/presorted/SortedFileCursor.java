@@ -0,0 +1,194 @@
+package com.arm.cli.mergejsonfiles.service.presorted;
+
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
+import com.arm.cli.mergejsonfiles.service.io.JsonFiles;
+import com.arm.cli.mergejsonfiles.service.quarantine.RejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordReader;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Cursor over the 'boards' array of a single JSON file, keeps only the current record in memory
+ * & verifies records appear in vendor & name order.
+ */
+public class SortedFileCursor implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SortedFileCursor.class);
+    private final int fileIndex;
+    private final File jsonFile;
+    private final JsonParser parser;
+    private final BoardRecordReader boardRecordReader;
+    // Holds the current record only, reused for every record of the file
+    private final BoardRecordBuffer boardRecordBuffer = new BoardRecordBuffer();
+    // Index of the next element of the 'boards' array
+    private int nextIndex;
+
+    private SortedFileCursor(final int fileIndex,
+                             final File jsonFile,
+                             final JsonParser parser,
+                             final BoardRecordReader boardRecordReader) {
+        this.fileIndex = fileIndex;
+        this.jsonFile = jsonFile;
+        this.parser = parser;
+        this.boardRecordReader = boardRecordReader;
+    }
+
+    /**
+     * Opens JSON file & positions cursor at the first valid record of the 'boards' array.
+     *
+     * @param fileIndex index of the file in file name order.
+     * @param jsonFactory {@link JsonFactory} instance to process JSON file.
+     * @param jsonFile {@link File} instance of JSON file to process.
+     * @param boardRecordReader reads & validates board object parser is positioned at.
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collects file if it has no 'boards' field.
+     *
+     * @return {@link SortedFileCursor} instance, {@link #hasRecord()} returns false if file has no valid records.
+     * @throws FallbackRequiredException if file can't be stream merged.
+     */
+    public static SortedFileCursor open(final int fileIndex,
+                                        final JsonFactory jsonFactory,
+                                        final File jsonFile,
+                                        final BoardRecordReader boardRecordReader,
+                                        final RejectedRecordCollector rejectedRecordCollector) throws FallbackRequiredException {
+        final JsonParser parser;
+        try {
+            parser = JsonFiles.createParser(jsonFactory, jsonFile);
+        } catch (IOException ioException) {
+            throw FallbackRequiredException.unreadableFile(jsonFile.getName(), ioException);
+        }
+        final SortedFileCursor sortedFileCursor = new SortedFileCursor(fileIndex, jsonFile, parser, boardRecordReader);
+        try {
+            if (sortedFileCursor.moveToBoards()) {
+                sortedFileCursor.advance();
+            } else {
+                rejectedRecordCollector.reject(jsonFile.getPath(), RejectedRecordCollector.FILE_LEVEL_INDEX, RejectionReason.MISSING_BOARDS);
+                sortedFileCursor.close();
+            }
+        } catch (IOException ioException) {
+            sortedFileCursor.closeQuietly();
+            throw ioException instanceof FallbackRequiredException fallbackRequiredException
+                    ? fallbackRequiredException
+                    : FallbackRequiredException.unreadableFile(jsonFile.getName(), ioException);
+        }
+        return sortedFileCursor;
+    }
+
+    /**
+     * Moves to the next valid record of the file.
+     *
+     * @throws FallbackRequiredException if records are not sorted or file can't be stream merged.
+     */
+    public void advance() throws FallbackRequiredException {
+        final String previousVendor = hasRecord() ? getVendor() : null;
+        final String previousName = hasRecord() ? getName() : null;
+        boardRecordBuffer.clear();
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw FallbackRequiredException.unreadableFile(jsonFile.getName(), new IOException("Unexpected end of file"));
+                }
+                if (boardRecordReader.read(parser, boardRecordBuffer, jsonFile.getPath(), nextIndex++)) {
+                    if (previousVendor != null && compare(previousVendor, previousName, getVendor(), getName()) > 0) {
+                        throw FallbackRequiredException.unsortedFile(jsonFile.getName());
+                    }
+                    return;
+                }
+            }
+            verifyNoMoreBoards();
+            close();
+        } catch (FallbackRequiredException fallbackRequiredException) {
+            throw fallbackRequiredException;
+        } catch (IOException ioException) {
+            throw FallbackRequiredException.unreadableFile(jsonFile.getName(), ioException);
+        }
+    }
+
+    public boolean hasRecord() {
+        return boardRecordBuffer.size() > 0;
+    }
+
+    public String getName() {
+        return boardRecordBuffer.getName(0);
+    }
+
+    public String getVendor() {
+        return boardRecordBuffer.getVendor(0);
+    }
+
+    public String getCore() {
+        return boardRecordBuffer.getCore(0);
+    }
+
+    public boolean isHasWifi() {
+        return boardRecordBuffer.isHasWifi(0);
+    }
+
+    public int getFileIndex() {
+        return fileIndex;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /**
+     * Closes parser, ignores errors as cursor is being abandoned.
+     */
+    public void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ioException) {
+            LOGGER.debug("Error while closing file {}: {}", jsonFile.getName(), ioException.getMessage());
+        }
+    }
+
+    /**
+     * Skips tokens up to the start of 'boards' array.
+     *
+     * @return true if 'boards' array has been found.
+     * @throws IOException if file structure is invalid.
+     */
+    private boolean moveToBoards() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (JsonToken.FIELD_NAME.equals(token) && "boards".equals(parser.currentName())) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IOException("Field 'boards' is not an array");
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * In-memory merge reads every 'boards' field of a file, make sure rest of the file has none.
+     *
+     * @throws IOException if another 'boards' field exists or file structure is invalid.
+     */
+    private void verifyNoMoreBoards() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (JsonToken.FIELD_NAME.equals(token) && "boards".equals(parser.currentName())) {
+                throw FallbackRequiredException.multipleBoardsFields(jsonFile.getName());
+            }
+        }
+    }
+
+    private static int compare(final String vendor,
+                               final String name,
+                               final String otherVendor,
+                               final String otherName) {
+        final int vendorComparison = vendor.compareTo(otherVendor);
+        return vendorComparison != 0 ? vendorComparison : name.compareTo(otherName);
+    }
+}
@@ -0,0 +1,60 @@
+package com.arm.cli.mergejsonfiles.service.quarantine;
+
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds rejections back until the merge attempt they belong to succeeds, so files re-parsed by a fallback
+ * merge aren't reported twice. Used by a single thread only.
+ */
+public class DeferredRejectedRecordCollector implements RejectedRecordCollector {
+    private final List<RejectedRecord> rejectedRecords = new ArrayList<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reject(final String sourceFile,
+                       final int index,
+                       final RejectionReason rejectionReason) {
+        rejectedRecords.add(new RejectedRecord(sourceFile, index, rejectionReason));
+    }
+
+    /**
+     * @return held back rejections in the order they have been collected.
+     */
+    public List<RejectedRecord> getRejectedRecords() {
+        return rejectedRecords;
+    }
+
+    /**
+     * @return no. of held back rejections per reason, reasons without rejections are included with {@code 0}.
+     */
+    public Map<RejectionReason, Long> getRejectionCounts() {
+        final Map<RejectionReason, Long> counts = new EnumMap<>(RejectionReason.class);
+        for (final RejectionReason rejectionReason : RejectionReason.values()) {
+            counts.put(rejectionReason, 0L);
+        }
+        for (final RejectedRecord rejectedRecord : rejectedRecords) {
+            counts.merge(rejectedRecord.rejectionReason(), 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Passes held back rejections on in the order they have been collected.
+     *
+     * @param rejectedRecordCollector {@link RejectedRecordCollector} collector of the merge run.
+     */
+    public void replayTo(final RejectedRecordCollector rejectedRecordCollector) {
+        for (final RejectedRecord rejectedRecord : rejectedRecords) {
+            rejectedRecordCollector.reject(rejectedRecord.sourceFile(), rejectedRecord.index(), rejectedRecord.rejectionReason());
+        }
+        rejectedRecordCollector.flush();
+        rejectedRecords.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package com.arm.cli.mergejsonfiles.service.quarantine;
+
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default collector, logs every rejection as it happens.
+ */
+public class LoggingRejectedRecordCollector implements RejectedRecordCollector {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoggingRejectedRecordCollector.class);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reject(final String sourceFile,
+                       final int index,
+                       final RejectionReason rejectionReason) {
+        if (rejectionReason.isFileLevel()) {
+            LOGGER.error("Error: {} in file: {}. Skipping the file.", rejectionReason.getDescription(), sourceFile);
+        } else {
+            LOGGER.error("Error reading json object: {} in file: {} at index: {}", rejectionReason.getDescription(), sourceFile, index);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.arm.cli.mergejsonfiles.service.quarantine;
+
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.fasterxml.jackson.core.JsonEncoding.UTF8;
+
+/**
+ * Writes rejections to a quarantine report, one JSON object per line. Parsing threads collect rejections
+ * into thread local batches & hand complete batches over to a background writer thread, so parsing never
+ * waits for report I/O unless the writer falls behind by more than {@link #MAX_PENDING_BATCHES} batches.
+ * A thread interrupted while handing over a batch writes it itself.
+ */
+public class QuarantineWriter implements RejectedRecordCollector, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuarantineWriter.class);
+    private static final String LINE_SEPARATOR = "\n";
+    private static final int BATCH_SIZE = 512;
+    private static final int MAX_PENDING_BATCHES = 64;
+    // Marks the end of the report, compared by identity
+    private static final List<RejectedRecord> END_OF_REPORT = new ArrayList<>(0);
+
+    private final Path quarantineFilePath;
+    private final JsonGenerator jsonGenerator;
+    private final BlockingQueue<List<RejectedRecord>> pendingBatches = new ArrayBlockingQueue<>(MAX_PENDING_BATCHES);
+    private final ThreadLocal<List<RejectedRecord>> currentBatches = ThreadLocal.withInitial(() -> new ArrayList<>(BATCH_SIZE));
+    private final Map<RejectionReason, LongAdder> rejectionCounts = new EnumMap<>(RejectionReason.class);
+    private final Thread writerThread;
+    private volatile IOException writeException;
+
+    /**
+     * Creates report file & starts the writer thread.
+     *
+     * @param jsonFactory {@link JsonFactory} instance to write report.
+     * @param quarantineFilePath quarantine report file, replaced if it exists.
+     *
+     * @throws IOException if report file can't be created.
+     */
+    public QuarantineWriter(final JsonFactory jsonFactory,
+                            final Path quarantineFilePath) throws IOException {
+        this.quarantineFilePath = quarantineFilePath;
+        this.jsonGenerator = jsonFactory.createGenerator(quarantineFilePath.toFile(), UTF8);
+        this.jsonGenerator.setRootValueSeparator(new SerializedString(LINE_SEPARATOR));
+        for (final RejectionReason rejectionReason : RejectionReason.values()) {
+            rejectionCounts.put(rejectionReason, new LongAdder());
+        }
+        this.writerThread = new Thread(this::writeBatches, "quarantine-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reject(final String sourceFile,
+                       final int index,
+                       final RejectionReason rejectionReason) {
+        rejectionCounts.get(rejectionReason).increment();
+        final List<RejectedRecord> currentBatch = currentBatches.get();
+        currentBatch.add(new RejectedRecord(sourceFile, index, rejectionReason));
+        if (currentBatch.size() >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        final List<RejectedRecord> currentBatch = currentBatches.get();
+        if (currentBatch.isEmpty()) {
+            return;
+        }
+        currentBatches.set(new ArrayList<>(BATCH_SIZE));
+        try {
+            pendingBatches.put(currentBatch);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            // Batch is never dropped, write errors are still reported on close
+            writeBatch(currentBatch);
+        }
+    }
+
+    /**
+     * @return no. of rejections per reason, reasons without rejections are included with {@code 0}.
+     */
+    public Map<RejectionReason, Long> getRejectionCounts() {
+        final Map<RejectionReason, Long> counts = new EnumMap<>(RejectionReason.class);
+        rejectionCounts.forEach((rejectionReason, count) -> counts.put(rejectionReason, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Writes remaining batch of the calling thread, waits for the writer thread to finish & closes report file.
+     *
+     * @throws IOException if an I/O error occurred while writing report.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        try {
+            pendingBatches.put(END_OF_REPORT);
+            writerThread.join();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing quarantine report", interruptedException);
+        }
+        if (writeException != null) {
+            throw writeException;
+        }
+        LOGGER.info("Quarantine report has been generated - {}", quarantineFilePath);
+    }
+
+    /**
+     * Body of the writer thread, writes batches until end of report. Batches are still drained after a write
+     * error so parsing threads never block on a full queue.
+     */
+    private void writeBatches() {
+        try {
+            List<RejectedRecord> batch;
+            while ((batch = pendingBatches.take()) != END_OF_REPORT) {
+                writeBatch(batch);
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeReport();
+        }
+    }
+
+    private synchronized void closeReport() {
+        try {
+            if (jsonGenerator.getOutputContext().getEntryCount() > 0) {
+                jsonGenerator.writeRaw(LINE_SEPARATOR);
+            }
+            jsonGenerator.close();
+        } catch (IOException ioException) {
+            if (writeException == null) {
+                writeException = ioException;
+            }
+        }
+    }
+
+    /**
+     * Writes batch on the writer thread or, if handing it over has been interrupted, on the parsing thread.
+     */
+    private synchronized void writeBatch(final List<RejectedRecord> batch) {
+        if (writeException != null) {
+            return;
+        }
+        try {
+            for (final RejectedRecord rejectedRecord : batch) {
+                jsonGenerator.writeStartObject();
+                jsonGenerator.writeStringField("source_file", rejectedRecord.sourceFile());
+                if (rejectedRecord.index() != FILE_LEVEL_INDEX) {
+                    jsonGenerator.writeNumberField("index", rejectedRecord.index());
+                }
+                jsonGenerator.writeStringField("reason", rejectedRecord.rejectionReason().name());
+                jsonGenerator.writeStringField("description", rejectedRecord.rejectionReason().getDescription());
+                jsonGenerator.writeEndObject();
+            }
+        } catch (IOException ioException) {
+            writeException = ioException;
+        }
+    }
+}
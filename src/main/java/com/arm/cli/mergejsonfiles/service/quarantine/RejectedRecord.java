@@ -0,0 +1,13 @@
+package com.arm.cli.mergejsonfiles.service.quarantine;
+
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
+
+/**
+ * Single entry of the quarantine report.
+ *
+ * @param sourceFile path of the file the record has been read from.
+ * @param index index of the record in the 'boards' array, {@link RejectedRecordCollector#FILE_LEVEL_INDEX} if the whole file is skipped.
+ * @param rejectionReason {@link RejectionReason} why record or file has been rejected.
+ */
+public record RejectedRecord(String sourceFile, int index, RejectionReason rejectionReason) {
+}
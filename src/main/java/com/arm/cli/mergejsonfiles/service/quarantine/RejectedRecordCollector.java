@@ -0,0 +1,25 @@
+package com.arm.cli.mergejsonfiles.service.quarantine;
+
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
+
+/**
+ * Collects board records & files rejected during parsing of a single merge run.
+ * Implementations must be safe to call from several parsing threads.
+ */
+public interface RejectedRecordCollector {
+    // Array index reported for rejections which apply to a whole file
+    int FILE_LEVEL_INDEX = -1;
+
+    /**
+     * @param sourceFile path of the file the record has been read from.
+     * @param index index of the record in the 'boards' array, {@link #FILE_LEVEL_INDEX} if the whole file is skipped.
+     * @param rejectionReason {@link RejectionReason} why record or file has been rejected.
+     */
+    void reject(String sourceFile, int index, RejectionReason rejectionReason);
+
+    /**
+     * Hands over rejections collected by the calling thread, called once a file has been parsed.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,85 @@
+package com.arm.cli.mergejsonfiles.service.reader;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Reusable column buffer of board records parsed from a single file, avoids one object per record.
+ * Records keep the order they appear in the file.
+ */
+public class BoardRecordBuffer {
+    private static final int INITIAL_CAPACITY = 256;
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] vendors = new String[INITIAL_CAPACITY];
+    private String[] cores = new String[INITIAL_CAPACITY];
+    private final BitSet hasWifi = new BitSet(INITIAL_CAPACITY);
+    private int size;
+
+    /**
+     * Appends a validated record.
+     *
+     * @param name board name.
+     * @param vendor vendor name.
+     * @param core core name.
+     * @param hasWifi true if board has wifi.
+     */
+    public void add(final String name,
+                    final String vendor,
+                    final String core,
+                    final boolean hasWifi) {
+        if (size == names.length) {
+            final int newCapacity = names.length * 2;
+            names = Arrays.copyOf(names, newCapacity);
+            vendors = Arrays.copyOf(vendors, newCapacity);
+            cores = Arrays.copyOf(cores, newCapacity);
+        }
+        names[size] = name;
+        vendors[size] = vendor;
+        cores[size] = core;
+        this.hasWifi.set(size, hasWifi);
+        size++;
+    }
+
+    /**
+     * Appends all records of another buffer, keeping their order.
+     *
+     * @param boardRecordBuffer {@link BoardRecordBuffer} records to append.
+     */
+    public void addAll(final BoardRecordBuffer boardRecordBuffer) {
+        for (int index = 0; index < boardRecordBuffer.size; index++) {
+            add(boardRecordBuffer.names[index], boardRecordBuffer.vendors[index], boardRecordBuffer.cores[index],
+                    boardRecordBuffer.hasWifi.get(index));
+        }
+    }
+
+    /**
+     * Removes all records, keeps capacity so the buffer can be reused for the next file.
+     */
+    public void clear() {
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(vendors, 0, size, null);
+        Arrays.fill(cores, 0, size, null);
+        hasWifi.clear();
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getName(final int index) {
+        return names[index];
+    }
+
+    public String getVendor(final int index) {
+        return vendors[index];
+    }
+
+    public String getCore(final int index) {
+        return cores[index];
+    }
+
+    public boolean isHasWifi(final int index) {
+        return hasWifi.get(index);
+    }
+}
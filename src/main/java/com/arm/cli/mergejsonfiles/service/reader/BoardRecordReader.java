@@ -0,0 +1,22 @@
+package com.arm.cli.mergejsonfiles.service.reader;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Reads a single board record parser is positioned at.
+ */
+@FunctionalInterface
+public interface BoardRecordReader {
+    /**
+     * @param parser {@link JsonParser} positioned at the start of a board value.
+     * @param boardRecordBuffer {@link BoardRecordBuffer} valid record is appended to.
+     * @param sourceFile path of the file being parsed.
+     * @param index index of the record in the 'boards' array.
+     *
+     * @return true if record is valid & has been appended.
+     * @throws IOException if JSON is malformed or an I/O error occurs.
+     */
+    boolean read(JsonParser parser, BoardRecordBuffer boardRecordBuffer, String sourceFile, int index) throws IOException;
+}
@@ -0,0 +1,122 @@
+package com.arm.cli.mergejsonfiles.service.reader;
+
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+import static com.arm.cli.mergejsonfiles.constants.RejectionReason.INVALID_CORE;
+import static com.arm.cli.mergejsonfiles.constants.RejectionReason.INVALID_HAS_WIFI;
+import static com.arm.cli.mergejsonfiles.constants.RejectionReason.INVALID_NAME;
+import static com.arm.cli.mergejsonfiles.constants.RejectionReason.INVALID_VENDOR;
+import static com.arm.cli.mergejsonfiles.constants.RejectionReason.NOT_AN_OBJECT;
+import static com.arm.cli.mergejsonfiles.constants.RejectionReason.UNKNOWN_FIELD;
+
+/**
+ * Token level reader of board records, reads fields straight into {@link BoardRecordBuffer} without databind.
+ * Coerces scalar values the same way databind does e.g. number core becomes text, "true" or 1 has_wifi becomes true.
+ * Invalid records are skipped as a whole & reported through {@link RejectionReason}, no exception is thrown for them.
+ * Vendor & core names are served from {@link TextCache}, so reader is not thread safe.
+ */
+public class BoardTokenReader {
+    private static final int HAS_WIFI_UNSET = -1;
+    private static final int HAS_WIFI_INVALID = -2;
+    private final TextCache textCache = new TextCache();
+
+    /**
+     * Reads board object parser is positioned at, parser is left at the end of the object.
+     *
+     * @param parser {@link JsonParser} positioned at the start of a board value.
+     * @param boardRecordBuffer {@link BoardRecordBuffer} valid record is appended to.
+     *
+     * @return {@code null} if record has been appended, otherwise {@link RejectionReason} of the record.
+     * @throws IOException if JSON is malformed or an I/O error occurs.
+     */
+    public RejectionReason read(final JsonParser parser,
+                                final BoardRecordBuffer boardRecordBuffer) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return NOT_AN_OBJECT;
+        }
+        String name = null;
+        String vendor = null;
+        String core = null;
+        int hasWifi = HAS_WIFI_UNSET;
+        boolean unknownField = false;
+        // Field names are canonicalized by the parser, repeated vendor & core values come from cache
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.currentName();
+            final JsonToken valueToken = parser.nextToken();
+            switch (fieldName) {
+                case "name" -> name = readText(parser, valueToken, false);
+                case "vendor" -> vendor = readText(parser, valueToken, true);
+                case "core" -> core = readText(parser, valueToken, true);
+                case "has_wifi" -> hasWifi = readBoolean(parser, valueToken);
+                default -> {
+                    unknownField = true;
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (unknownField) {
+            return UNKNOWN_FIELD;
+        }
+        if (name == null) {
+            return INVALID_NAME;
+        }
+        if (vendor == null) {
+            return INVALID_VENDOR;
+        }
+        if (core == null) {
+            return INVALID_CORE;
+        }
+        if (hasWifi < 0) {
+            return INVALID_HAS_WIFI;
+        }
+        boardRecordBuffer.add(name, vendor, core, hasWifi == 1);
+        return null;
+    }
+
+    /**
+     * @return text of scalar value, {@code null} for null, object & array values.
+     */
+    private String readText(final JsonParser parser,
+                            final JsonToken valueToken,
+                            final boolean cached) throws IOException {
+        if (cached && valueToken == JsonToken.VALUE_STRING) {
+            return textCache.get(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        if (valueToken.isScalarValue() && valueToken != JsonToken.VALUE_NULL) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * @return 1 for true, 0 for false, negative value for invalid value.
+     */
+    private int readBoolean(final JsonParser parser,
+                            final JsonToken valueToken) throws IOException {
+        return switch (valueToken) {
+            case VALUE_TRUE -> 1;
+            case VALUE_FALSE -> 0;
+            // Integers beyond int range are coerced as databind does, anything but 0 is true
+            case VALUE_NUMBER_INT -> parser.getNumberType() == JsonParser.NumberType.INT
+                    ? parser.getIntValue() != 0 ? 1 : 0
+                    : "0".equals(parser.getText()) ? 0 : 1;
+            case VALUE_STRING -> {
+                final String text = parser.getText().trim();
+                if ("true".equalsIgnoreCase(text)) {
+                    yield 1;
+                }
+                yield "false".equalsIgnoreCase(text) ? 0 : HAS_WIFI_INVALID;
+            }
+            default -> {
+                parser.skipChildren();
+                yield HAS_WIFI_INVALID;
+            }
+        };
+    }
+}
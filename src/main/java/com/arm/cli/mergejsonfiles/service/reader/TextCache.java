@@ -0,0 +1,54 @@
+package com.arm.cli.mergejsonfiles.service.reader;
+
+/**
+ * Small direct-mapped cache of short, frequently repeated text values e.g. vendor & core names.
+ * Returns the cached {@link String} when the parser's characters match, so repeated values don't allocate.
+ * Not thread safe.
+ */
+public class TextCache {
+    private static final int SIZE = 512;
+    private static final int MAX_CACHED_LENGTH = 64;
+    private final String[] values = new String[SIZE];
+
+    /**
+     * @param chars character buffer.
+     * @param offset offset of the text in the buffer.
+     * @param length length of the text.
+     *
+     * @return cached or newly created {@link String} of the text.
+     */
+    public String get(final char[] chars,
+                      final int offset,
+                      final int length) {
+        if (length > MAX_CACHED_LENGTH) {
+            return new String(chars, offset, length);
+        }
+        int hash = 0;
+        for (int index = offset; index < offset + length; index++) {
+            hash = 31 * hash + chars[index];
+        }
+        final int slot = (hash ^ (hash >>> 16)) & (SIZE - 1);
+        final String cachedValue = values[slot];
+        if (cachedValue != null && matches(cachedValue, chars, offset, length)) {
+            return cachedValue;
+        }
+        final String value = new String(chars, offset, length);
+        values[slot] = value;
+        return value;
+    }
+
+    private static boolean matches(final String value,
+                                   final char[] chars,
+                                   final int offset,
+                                   final int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int index = 0; index < length; index++) {
+            if (value.charAt(index) != chars[offset + index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
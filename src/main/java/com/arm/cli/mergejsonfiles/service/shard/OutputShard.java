@@ -0,0 +1,32 @@
+package com.arm.cli.mergejsonfiles.service.shard;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+
+import java.nio.file.Path;
+import java.util.TreeMap;
+
+/**
+ * Single shard of a sharded output, a contiguous range of vendors written to its own file.
+ *
+ * @param filePath shard file, next to the shard manifest.
+ * @param vendors records of the vendors of the shard, sorted by vendor & name. Board maps are shared with the
+ *         merged records, not copied.
+ * @param noOfBoards no. of boards of the shard.
+ */
+public record OutputShard(Path filePath,
+                          TreeMap<String, TreeMap<String, BoardDataSlice>> vendors,
+                          int noOfBoards) {
+    /**
+     * @return first vendor of the shard, {@code null} if the shard is empty.
+     */
+    public String firstVendor() {
+        return vendors.isEmpty() ? null : vendors.firstKey();
+    }
+
+    /**
+     * @return last vendor of the shard, {@code null} if the shard is empty.
+     */
+    public String lastVendor() {
+        return vendors.isEmpty() ? null : vendors.lastKey();
+    }
+}
@@ -0,0 +1,107 @@
+package com.arm.cli.mergejsonfiles.service.shard;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+import com.arm.cli.mergejsonfiles.service.io.JsonFiles;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Splits merged records into vendor range shards. Vendors are never split across shards & shards hold
+ * roughly the same no. of boards, so parallel writers & readers of the shards get similar amounts of work.
+ */
+public final class OutputShards {
+    private static final List<String> OUTPUT_EXTENSIONS = List.of(JsonFiles.GZIP_JSON_EXTENSION, JsonFiles.GZIP_NDJSON_EXTENSION,
+            JsonFiles.JSON_EXTENSION, JsonFiles.NDJSON_EXTENSION);
+
+    private OutputShards() {
+    }
+
+    /**
+     * @param parsedJsonData {@link TreeMap} stores records in a sorted order. e.g. vendor and name.
+     * @param noOfShards requested no. of shards, fewer shards are returned if there are fewer vendors.
+     * @param outputFilePath shard manifest file, shard files are named after it.
+     *
+     * @return {@link OutputShard}s in vendor order, at least one even if there are no records.
+     */
+    public static List<OutputShard> split(final TreeMap<String, TreeMap<String, BoardDataSlice>> parsedJsonData,
+                                          final int noOfShards,
+                                          final Path outputFilePath) {
+        final int shardCount = Math.max(1, Math.min(noOfShards, parsedJsonData.size()));
+        long totalBoards = 0;
+        for (final TreeMap<String, BoardDataSlice> boardNameMap : parsedJsonData.values()) {
+            totalBoards += boardNameMap.size();
+        }
+        final List<OutputShard> outputShards = new ArrayList<>(shardCount);
+        String firstVendor = null;
+        long cumulativeBoards = 0;
+        int shardBoards = 0;
+        int remainingVendors = parsedJsonData.size();
+        for (final Map.Entry<String, TreeMap<String, BoardDataSlice>> vendorEntry : parsedJsonData.entrySet()) {
+            firstVendor = firstVendor == null ? vendorEntry.getKey() : firstVendor;
+            cumulativeBoards += vendorEntry.getValue().size();
+            shardBoards += vendorEntry.getValue().size();
+            remainingVendors--;
+            final int remainingShards = shardCount - outputShards.size() - 1;
+            // Cut once the shard reaches its share of all boards, but leave a vendor for each remaining shard
+            final boolean shareReached = cumulativeBoards * shardCount >= totalBoards * (outputShards.size() + 1);
+            if (remainingShards > 0 && remainingVendors >= remainingShards && (shareReached || remainingVendors == remainingShards)) {
+                outputShards.add(new OutputShard(shardFilePath(outputFilePath, outputShards.size() + 1, shardCount),
+                        new TreeMap<>(parsedJsonData.subMap(firstVendor, true, vendorEntry.getKey(), true)), shardBoards));
+                firstVendor = null;
+                shardBoards = 0;
+            }
+        }
+        outputShards.add(new OutputShard(shardFilePath(outputFilePath, shardCount, shardCount),
+                firstVendor == null ? parsedJsonData : new TreeMap<>(parsedJsonData.tailMap(firstVendor, true)), shardBoards));
+        return outputShards;
+    }
+
+    /**
+     * Shards of an earlier run with a different no. of shards are matched too, they're never deleted.
+     *
+     * @param outputFilePath combined output file or shard manifest file.
+     *
+     * @return predicate matching the output file & any shard file named after it, e.g. to leave them out of input files.
+     */
+    public static Predicate<Path> outputFileMatcher(final Path outputFilePath) {
+        final String fileName = outputFilePath.getFileName().toString();
+        final String extension = extensionOf(fileName);
+        final Pattern shardFileNamePattern = Pattern.compile(Pattern.quote(fileName.substring(0, fileName.length() - extension.length()))
+                + "-shard-\\d+-of-\\d+" + Pattern.quote(extension));
+        return path -> path.equals(outputFilePath)
+                || Objects.equals(path.getParent(), outputFilePath.getParent())
+                && shardFileNamePattern.matcher(path.getFileName().toString()).matches();
+    }
+
+    /**
+     * @param outputFilePath shard manifest file.
+     * @param shardNo no. of the shard, from {@code 1}.
+     * @param noOfShards no. of shards.
+     *
+     * @return shard file next to the manifest keeping its extension, e.g. {@code boards-shard-02-of-16.json.gz}
+     *         for {@code boards.json.gz}.
+     */
+    public static Path shardFilePath(final Path outputFilePath,
+                                     final int shardNo,
+                                     final int noOfShards) {
+        final String fileName = outputFilePath.getFileName().toString();
+        final String extension = extensionOf(fileName);
+        final String digits = Integer.toString(String.valueOf(noOfShards).length());
+        return outputFilePath.resolveSibling(("%s-shard-%0" + digits + "d-of-%d%s").formatted(
+                fileName.substring(0, fileName.length() - extension.length()), shardNo, noOfShards, extension));
+    }
+
+    private static String extensionOf(final String fileName) {
+        return OUTPUT_EXTENSIONS.stream()
+                .filter(fileName::endsWith)
+                .findFirst()
+                .orElse(fileName.lastIndexOf('.') > 0 ? fileName.substring(fileName.lastIndexOf('.')) : "");
+    }
+}
@@ -0,0 +1,180 @@
+package com.arm.cli.mergejsonfiles.service.split;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the 'boards' array of a large file into byte ranges of whole board values, so ranges can be parsed on
+ * separate cores. The array is scanned byte by byte, only brackets & commas outside of strings count, string state
+ * & escapes are tracked so brackets, commas & quotes inside names don't cut a board in two.
+ * <p>
+ * Only the plain layout {@code {"boards": [...]}} is split, UTF-8 encoded & optionally with a BOM. Any other layout,
+ * e.g. more fields, unbalanced brackets or an empty value like {@code [A,,B]}, returns no ranges & the file is parsed
+ * as a whole, which reports its errors the usual way.
+ * </p>
+ */
+public final class BoardsArraySplitter {
+    private static final int SCAN_BUFFER_SIZE = 1024 * 1024;
+    private static final byte[] BOARDS_FIELD = "\"boards\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    /**
+     * Byte range of whole board values separated by commas, without the enclosing brackets.
+     *
+     * @param startOffset offset of the first byte of the range.
+     * @param endOffset offset after the last byte of the range.
+     * @param firstIndex index of the first board of the range in the 'boards' array.
+     */
+    public record BoardsRange(long startOffset, long endOffset, int firstIndex) {
+    }
+
+    private BoardsArraySplitter() {
+    }
+
+    /**
+     * @param fileChannel {@link FileChannel} of the JSON file, read at absolute positions.
+     * @param noOfRanges no. of ranges of roughly equal size to cut the array into.
+     *
+     * @return ranges in array order, empty list if file layout isn't supported.
+     * @throws IOException if an I/O error occurs during reading.
+     */
+    public static List<BoardsRange> split(final FileChannel fileChannel,
+                                          final int noOfRanges) throws IOException {
+        final Scanner scanner = new Scanner(fileChannel);
+        if (!scanner.skipPrefix()) {
+            return List.of();
+        }
+        final long rangeSize = Math.max(1, (fileChannel.size() - scanner.offset) / noOfRanges);
+        final List<BoardsRange> boardsRanges = new ArrayList<>(noOfRanges);
+        long rangeStartOffset = scanner.offset;
+        int rangeFirstIndex = 0;
+        int noOfSeparators = 0;
+        int depth = 0;
+        // Empty values of [A,,B] or [A,B,] could end up as a range of whitespace only, depending on where ranges are cut
+        boolean valueSinceSeparator = false;
+        boolean inString = false;
+        boolean escaped = false;
+        int value;
+        while ((value = scanner.next()) >= 0) {
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (value == '\\') {
+                    escaped = true;
+                } else if (value == '"') {
+                    inString = false;
+                }
+            } else if (value == '"') {
+                inString = true;
+                valueSinceSeparator = true;
+            } else if (value == '{' || value == '[') {
+                depth++;
+                valueSinceSeparator = true;
+            } else if (value == '}' || value == ']') {
+                if (depth > 0) {
+                    depth--;
+                } else if (value == ']' && valueSinceSeparator) {
+                    boardsRanges.add(new BoardsRange(rangeStartOffset, scanner.offset - 1, rangeFirstIndex));
+                    return scanner.skipSuffix() ? boardsRanges : List.of();
+                } else {
+                    return List.of();
+                }
+            } else if (value == ',' && depth == 0) {
+                if (!valueSinceSeparator) {
+                    return List.of();
+                }
+                valueSinceSeparator = false;
+                noOfSeparators++;
+                if (scanner.offset - rangeStartOffset >= rangeSize) {
+                    boardsRanges.add(new BoardsRange(rangeStartOffset, scanner.offset - 1, rangeFirstIndex));
+                    rangeStartOffset = scanner.offset;
+                    rangeFirstIndex = noOfSeparators;
+                }
+            } else if (value != ' ' && value != '\t' && value != '\n' && value != '\r') {
+                valueSinceSeparator = true;
+            }
+        }
+        // Array isn't closed
+        return List.of();
+    }
+
+    /**
+     * Reads file bytes sequentially through a heap buffer, keeps offset of the next byte.
+     */
+    private static final class Scanner {
+        private final FileChannel fileChannel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE).limit(0);
+        private long offset;
+
+        private Scanner(final FileChannel fileChannel) {
+            this.fileChannel = fileChannel;
+        }
+
+        /**
+         * @return next byte as unsigned value, {@code -1} at the end of the file.
+         */
+        private int next() throws IOException {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                final int noOfBytes = fileChannel.read(buffer, offset);
+                buffer.flip();
+                if (noOfBytes <= 0) {
+                    return -1;
+                }
+            }
+            offset++;
+            return buffer.get() & 0xFF;
+        }
+
+        /**
+         * @return next byte which isn't JSON whitespace, {@code -1} at the end of the file.
+         */
+        private int nextNonWhitespace() throws IOException {
+            int value;
+            do {
+                value = next();
+            } while (value == ' ' || value == '\t' || value == '\n' || value == '\r');
+            return value;
+        }
+
+        /**
+         * Skips optional BOM, object start & 'boards' field up to the array start.
+         *
+         * @return true if file starts with the plain layout.
+         */
+        private boolean skipPrefix() throws IOException {
+            int value = next();
+            if (value == (UTF8_BOM[0] & 0xFF)) {
+                if (next() != (UTF8_BOM[1] & 0xFF) || next() != (UTF8_BOM[2] & 0xFF)) {
+                    return false;
+                }
+                value = next();
+            }
+            while (value == ' ' || value == '\t' || value == '\n' || value == '\r') {
+                value = next();
+            }
+            if (value != '{' || nextNonWhitespace() != BOARDS_FIELD[0]) {
+                return false;
+            }
+            for (int index = 1; index < BOARDS_FIELD.length; index++) {
+                if (next() != BOARDS_FIELD[index]) {
+                    return false;
+                }
+            }
+            return nextNonWhitespace() == ':' && nextNonWhitespace() == '[';
+        }
+
+        /**
+         * Skips object end after the array end.
+         *
+         * @return true if nothing but whitespace follows the object end.
+         */
+        private boolean skipSuffix() throws IOException {
+            return nextNonWhitespace() == '}' && nextNonWhitespace() == -1;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.arm.cli.mergejsonfiles.service.store;
+
+import com.arm.cli.mergejsonfiles.service.BoardRecordSource;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+
+/**
+ * Store of merged board records, built file by file & provides distinct records in vendor & name order.
+ * For duplicates (vendor, name) record added first wins.
+ */
+public interface BoardStore extends BoardRecordSource {
+    /**
+     * Adds all records of the file, records with vendor & name added already are skipped.
+     *
+     * @param boardRecordBuffer {@link BoardRecordBuffer} records of a single file.
+     */
+    void addAll(BoardRecordBuffer boardRecordBuffer);
+
+    /**
+     * Adds all records of a store built from files appearing later in file name order,
+     * records of this store win for duplicates.
+     *
+     * @param nextBoardStore {@link BoardStore} of the same type built from later files.
+     */
+    void combine(BoardStore nextBoardStore);
+}
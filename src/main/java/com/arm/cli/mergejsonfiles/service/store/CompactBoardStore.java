@@ -0,0 +1,171 @@
+package com.arm.cli.mergejsonfiles.service.store;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compact in-memory board store. Vendor & core names are dictionary encoded, each board keeps only its name &
+ * a packed int value holding core id & has_wifi bit instead of a {@link BoardDataSlice} & its core string.
+ * Boards of a vendor are kept in primitive arrays de-duplicated by an open addressing hash table, so no object is
+ * allocated per board but its name, & sorted by name only when written.
+ * For duplicates (vendor, name) record added first wins.
+ */
+public class CompactBoardStore implements BoardStore {
+    private final StringDictionary vendorDictionary = new StringDictionary();
+    private final StringDictionary coreDictionary = new StringDictionary();
+    // Indexed by vendor id
+    private final List<VendorBoards> boardsByVendorId = new ArrayList<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAll(final BoardRecordBuffer boardRecordBuffer) {
+        for (int index = 0; index < boardRecordBuffer.size(); index++) {
+            add(boardRecordBuffer.getVendor(index),
+                    boardRecordBuffer.getName(index),
+                    boardRecordBuffer.getCore(index),
+                    boardRecordBuffer.isHasWifi(index));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void combine(final BoardStore nextBoardStore) {
+        final CompactBoardStore nextCompactBoardStore = (CompactBoardStore) nextBoardStore;
+        for (int vendorId = 0; vendorId < nextCompactBoardStore.boardsByVendorId.size(); vendorId++) {
+            final String vendorName = nextCompactBoardStore.vendorDictionary.decode(vendorId);
+            final VendorBoards vendorBoards = nextCompactBoardStore.boardsByVendorId.get(vendorId);
+            for (int index = 0; index < vendorBoards.size; index++) {
+                final int packedValue = vendorBoards.packedValues[index];
+                add(vendorName,
+                        vendorBoards.boardNames[index],
+                        nextCompactBoardStore.coreDictionary.decode(packedValue >>> 1),
+                        (packedValue & 1) == 1);
+            }
+        }
+    }
+
+    /**
+     * @return no. of distinct (vendor, name) records.
+     */
+    public int size() {
+        int size = 0;
+        for (final VendorBoards vendorBoards : boardsByVendorId) {
+            size += vendorBoards.size;
+        }
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Board names of each vendor are sorted once & packed values are looked up by name.
+     */
+    @Override
+    public void forEachRecord(final BoardRecordConsumer boardRecordConsumer) throws IOException {
+        final List<Integer> sortedVendorIds = new ArrayList<>(boardsByVendorId.size());
+        for (int vendorId = 0; vendorId < boardsByVendorId.size(); vendorId++) {
+            sortedVendorIds.add(vendorId);
+        }
+        sortedVendorIds.sort(Comparator.comparing(vendorDictionary::decode));
+        for (final int vendorId : sortedVendorIds) {
+            final String vendorName = vendorDictionary.decode(vendorId);
+            final VendorBoards vendorBoards = boardsByVendorId.get(vendorId);
+            final String[] sortedBoardNames = Arrays.copyOf(vendorBoards.boardNames, vendorBoards.size);
+            Arrays.sort(sortedBoardNames);
+            for (final String boardName : sortedBoardNames) {
+                final int packedValue = vendorBoards.packedValues[vendorBoards.indexOf(boardName)];
+                boardRecordConsumer.accept(vendorName, boardName, new BoardDataSlice(
+                        coreDictionary.decode(packedValue >>> 1),
+                        (packedValue & 1) == 1));
+            }
+        }
+    }
+
+    private void add(final String vendorName,
+                     final String boardName,
+                     final String core,
+                     final boolean hasWifi) {
+        final int vendorId = vendorDictionary.encode(vendorName);
+        if (vendorId == boardsByVendorId.size()) {
+            boardsByVendorId.add(new VendorBoards());
+        }
+        final VendorBoards vendorBoards = boardsByVendorId.get(vendorId);
+        final int slot = vendorBoards.findSlot(boardName);
+        if (vendorBoards.slots[slot] == 0) {
+            vendorBoards.add(slot, boardName, coreDictionary.encode(core) << 1 | (hasWifi ? 1 : 0));
+        }
+    }
+
+    /**
+     * Boards of a single vendor, names & packed core id & has_wifi bit in insertion order.
+     */
+    private static final class VendorBoards {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private String[] boardNames = new String[INITIAL_CAPACITY / 2];
+        private int[] packedValues = new int[INITIAL_CAPACITY / 2];
+        // Index of a board plus one, 0 marks an empty slot. Size is a power of two & kept at most half full
+        private int[] slots = new int[INITIAL_CAPACITY];
+        private int size;
+
+        /**
+         * @return slot of the board name, empty slot to add it at if it isn't added yet.
+         */
+        private int findSlot(final String boardName) {
+            final int mask = slots.length - 1;
+            int slot = mix(boardName.hashCode()) & mask;
+            while (slots[slot] != 0 && !boardNames[slots[slot] - 1].equals(boardName)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private int indexOf(final String boardName) {
+            return slots[findSlot(boardName)] - 1;
+        }
+
+        private void add(final int slot,
+                         final String boardName,
+                         final int packedValue) {
+            if (size == boardNames.length) {
+                boardNames = Arrays.copyOf(boardNames, size * 2);
+                packedValues = Arrays.copyOf(packedValues, size * 2);
+            }
+            boardNames[size] = boardName;
+            packedValues[size++] = packedValue;
+            slots[slot] = size;
+            if (size * 2 > slots.length) {
+                resize();
+            }
+        }
+
+        private void resize() {
+            slots = new int[slots.length * 2];
+            final int mask = slots.length - 1;
+            for (int index = 0; index < size; index++) {
+                int slot = mix(boardNames[index].hashCode()) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = index + 1;
+            }
+        }
+
+        /**
+         * Spreads higher bits to lower ones, similar names of a vendor differ in low bits mostly.
+         */
+        private static int mix(final int hash) {
+            final int spread = hash * 0x9E3779B9;
+            return spread ^ (spread >>> 16);
+        }
+    }
+}
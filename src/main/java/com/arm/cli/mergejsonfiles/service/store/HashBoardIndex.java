@@ -0,0 +1,154 @@
+package com.arm.cli.mergejsonfiles.service.store;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash-first board index. Records are de-duplicated by (vendor, name) in an open addressing hash table while
+ * files are parsed & surviving records are sorted by vendor & name only once, when they are written.
+ * Duplicates cost a probe & no allocation, unlike nested {@link java.util.TreeMap}s which compare strings
+ * on every level for every record. For duplicates (vendor, name) record added first wins.
+ */
+public class HashBoardIndex implements BoardStore {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Comparator<IndexedBoard> NAME_ORDER = Comparator.comparing(IndexedBoard::boardName);
+
+    // Few distinct vendors, records keep vendor id & are bucketed by it before sorting
+    private final Map<String, Integer> vendorIds = new HashMap<>();
+    private final List<String> vendorNames = new ArrayList<>();
+    // Surviving records in insertion order
+    private IndexedBoard[] boards = new IndexedBoard[INITIAL_CAPACITY / 2];
+    // Hash of a record in upper & its index in boards plus one in lower half, 0 marks an empty slot.
+    // Probes compare hashes without touching records. Size is a power of two & kept at most half full
+    private long[] slots = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAll(final BoardRecordBuffer boardRecordBuffer) {
+        for (int index = 0; index < boardRecordBuffer.size(); index++) {
+            add(boardRecordBuffer.getVendor(index),
+                    boardRecordBuffer.getName(index),
+                    boardRecordBuffer.getCore(index),
+                    boardRecordBuffer.isHasWifi(index));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void combine(final BoardStore nextBoardStore) {
+        final HashBoardIndex nextHashBoardIndex = (HashBoardIndex) nextBoardStore;
+        for (int index = 0; index < nextHashBoardIndex.size; index++) {
+            final IndexedBoard board = nextHashBoardIndex.boards[index];
+            add(nextHashBoardIndex.vendorNames.get(board.vendorId()), board.boardName(), board.core(), board.hasWifi());
+        }
+    }
+
+    /**
+     * @return no. of distinct (vendor, name) records.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Records are bucketed by vendor & each bucket is sorted by name, vendor names are compared once per vendor.
+     */
+    @Override
+    public void forEachRecord(final BoardRecordConsumer boardRecordConsumer) throws IOException {
+        final int[] bucketStarts = new int[vendorNames.size() + 1];
+        for (int index = 0; index < size; index++) {
+            bucketStarts[boards[index].vendorId() + 1]++;
+        }
+        for (int vendorId = 0; vendorId < vendorNames.size(); vendorId++) {
+            bucketStarts[vendorId + 1] += bucketStarts[vendorId];
+        }
+        final int[] bucketEnds = Arrays.copyOf(bucketStarts, vendorNames.size());
+        final IndexedBoard[] bucketedBoards = new IndexedBoard[size];
+        for (int index = 0; index < size; index++) {
+            bucketedBoards[bucketEnds[boards[index].vendorId()]++] = boards[index];
+        }
+        final List<Integer> sortedVendorIds = new ArrayList<>(vendorNames.size());
+        for (int vendorId = 0; vendorId < vendorNames.size(); vendorId++) {
+            sortedVendorIds.add(vendorId);
+        }
+        sortedVendorIds.sort(Comparator.comparing(vendorNames::get));
+        for (final int vendorId : sortedVendorIds) {
+            final String vendorName = vendorNames.get(vendorId);
+            Arrays.sort(bucketedBoards, bucketStarts[vendorId], bucketStarts[vendorId + 1], NAME_ORDER);
+            for (int index = bucketStarts[vendorId]; index < bucketStarts[vendorId + 1]; index++) {
+                final IndexedBoard board = bucketedBoards[index];
+                boardRecordConsumer.accept(vendorName, board.boardName(), new BoardDataSlice(board.core(), board.hasWifi()));
+            }
+        }
+    }
+
+    private void add(final String vendorName,
+                     final String boardName,
+                     final String core,
+                     final boolean hasWifi) {
+        final int hash = mix(31 * vendorName.hashCode() + boardName.hashCode());
+        final int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            if ((int) (slots[slot] >>> 32) == hash) {
+                final IndexedBoard board = boards[(int) slots[slot] - 1];
+                if (board.boardName().equals(boardName) && vendorNames.get(board.vendorId()).equals(vendorName)) {
+                    return;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == boards.length) {
+            boards = Arrays.copyOf(boards, size * 2);
+        }
+        final int vendorId = vendorIds.computeIfAbsent(vendorName, name -> {
+            vendorNames.add(name);
+            return vendorNames.size() - 1;
+        });
+        boards[size++] = new IndexedBoard(vendorId, boardName, core, hasWifi);
+        slots[slot] = (long) hash << 32 | size;
+        if (size * 2 > slots.length) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        final long[] oldSlots = slots;
+        slots = new long[oldSlots.length * 2];
+        final int mask = slots.length - 1;
+        for (final long oldSlot : oldSlots) {
+            if (oldSlot != 0) {
+                int slot = (int) (oldSlot >>> 32) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = oldSlot;
+            }
+        }
+    }
+
+    /**
+     * Spreads higher bits to lower ones, similar names of a vendor differ in low bits mostly.
+     */
+    private static int mix(final int hash) {
+        final int spread = hash * 0x9E3779B9;
+        return spread ^ (spread >>> 16);
+    }
+
+    private record IndexedBoard(int vendorId, String boardName, String core, boolean hasWifi) {
+    }
+}
@@ -0,0 +1,384 @@
+package com.arm.cli.mergejsonfiles.service.store;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Off-heap board store. UTF-8 bytes of board names are appended to direct {@link ByteBuffer} arenas with
+ * vendor id, core id & has_wifi flag, vendor & core names are dictionary encoded. Heap keeps only primitive arrays,
+ * an open addressing hash table de-duplicating (vendor, name) & record addresses sorted once when written,
+ * so GC has no per-record objects to trace however many records are merged.
+ * For duplicates (vendor, name) record added first wins.
+ */
+public class OffHeapBoardStore implements BoardStore {
+    private static final int ARENA_SIZE = 16 * 1024 * 1024;
+    private static final int INITIAL_CAPACITY = 1024;
+    // Vendor id, packed core id & has_wifi bit, name length
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    private final StringDictionary vendorDictionary = new StringDictionary();
+    private final StringDictionary coreDictionary = new StringDictionary();
+    private final List<byte[]> encodedVendorNames = new ArrayList<>();
+    private final List<byte[]> encodedCores = new ArrayList<>();
+    private final List<ByteBuffer> arenas = new ArrayList<>();
+    private final int arenaSize;
+    // Arena index in upper & offset in lower half of the record address, in insertion order
+    private long[] recordAddresses = new long[INITIAL_CAPACITY / 2];
+    // Hash of a record in upper & its index in record addresses plus one in lower half, 0 marks an empty slot.
+    // Size is a power of two & kept at most half full
+    private long[] slots = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public OffHeapBoardStore() {
+        this(ARENA_SIZE);
+    }
+
+    /**
+     * @param arenaSize size of a direct memory arena in bytes, larger records get an arena of their own size.
+     */
+    OffHeapBoardStore(final int arenaSize) {
+        this.arenaSize = arenaSize;
+    }
+
+    /**
+     * Consumer of a single merged record, as UTF-8 bytes.
+     */
+    @FunctionalInterface
+    public interface EncodedRecordConsumer {
+        /**
+         * @param vendorName UTF-8 bytes of vendor name, same array for every record of the vendor.
+         * @param boardName UTF-8 bytes of board name, array is re-used for the next record.
+         * @param boardNameLength no. of bytes of board name.
+         * @param core UTF-8 bytes of core name.
+         * @param hasWifi true if board has wifi.
+         *
+         * @throws IOException if an I/O error occurs while consuming record.
+         */
+        void accept(byte[] vendorName, byte[] boardName, int boardNameLength, byte[] core, boolean hasWifi) throws IOException;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addAll(final BoardRecordBuffer boardRecordBuffer) {
+        for (int index = 0; index < boardRecordBuffer.size(); index++) {
+            final byte[] boardName = boardRecordBuffer.getName(index).getBytes(UTF_8);
+            add(encodeVendor(boardRecordBuffer.getVendor(index)), boardName, boardName.length,
+                    encodeCore(boardRecordBuffer.getCore(index)), boardRecordBuffer.isHasWifi(index));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void combine(final BoardStore nextBoardStore) {
+        final OffHeapBoardStore nextOffHeapBoardStore = (OffHeapBoardStore) nextBoardStore;
+        byte[] boardName = new byte[64];
+        for (int index = 0; index < nextOffHeapBoardStore.size; index++) {
+            final ByteBuffer arena = nextOffHeapBoardStore.arena(nextOffHeapBoardStore.recordAddresses[index]);
+            final int offset = offset(nextOffHeapBoardStore.recordAddresses[index]);
+            final int packedCore = arena.getInt(offset + Integer.BYTES);
+            final int boardNameLength = arena.getInt(offset + 2 * Integer.BYTES);
+            if (boardName.length < boardNameLength) {
+                boardName = new byte[boardNameLength];
+            }
+            arena.get(offset + HEADER_SIZE, boardName, 0, boardNameLength);
+            add(encodeVendor(nextOffHeapBoardStore.vendorDictionary.decode(arena.getInt(offset))),
+                    boardName, boardNameLength,
+                    encodeCore(nextOffHeapBoardStore.coreDictionary.decode(packedCore >>> 1)),
+                    (packedCore & 1) == 1);
+        }
+    }
+
+    /**
+     * @return no. of distinct (vendor, name) records.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return no. of direct memory arenas records are kept in.
+     */
+    int getNoOfArenas() {
+        return arenas.size();
+    }
+
+    /**
+     * Provides each record to the consumer in vendor & name order without decoding its bytes.
+     * Records are bucketed by vendor & each bucket is sorted by name bytes.
+     *
+     * @param encodedRecordConsumer {@link EncodedRecordConsumer} consumer of records.
+     *
+     * @throws IOException if an I/O error occurs while consuming records.
+     */
+    public void forEachEncodedRecord(final EncodedRecordConsumer encodedRecordConsumer) throws IOException {
+        final int noOfVendors = vendorDictionary.size();
+        final int[] bucketStarts = new int[noOfVendors + 1];
+        for (int index = 0; index < size; index++) {
+            bucketStarts[vendorId(recordAddresses[index]) + 1]++;
+        }
+        for (int vendorId = 0; vendorId < noOfVendors; vendorId++) {
+            bucketStarts[vendorId + 1] += bucketStarts[vendorId];
+        }
+        final int[] bucketEnds = Arrays.copyOf(bucketStarts, noOfVendors);
+        final long[] sortedAddresses = new long[size];
+        for (int index = 0; index < size; index++) {
+            sortedAddresses[bucketEnds[vendorId(recordAddresses[index])]++] = recordAddresses[index];
+        }
+        final List<Integer> sortedVendorIds = new ArrayList<>(noOfVendors);
+        for (int vendorId = 0; vendorId < noOfVendors; vendorId++) {
+            sortedVendorIds.add(vendorId);
+        }
+        sortedVendorIds.sort(Comparator.comparing(vendorDictionary::decode));
+        byte[] boardName = new byte[64];
+        for (final int vendorId : sortedVendorIds) {
+            sortByName(sortedAddresses, bucketStarts[vendorId], bucketStarts[vendorId + 1] - 1);
+            for (int index = bucketStarts[vendorId]; index < bucketStarts[vendorId + 1]; index++) {
+                final ByteBuffer arena = arena(sortedAddresses[index]);
+                final int offset = offset(sortedAddresses[index]);
+                final int packedCore = arena.getInt(offset + Integer.BYTES);
+                final int boardNameLength = arena.getInt(offset + 2 * Integer.BYTES);
+                if (boardName.length < boardNameLength) {
+                    boardName = new byte[boardNameLength];
+                }
+                arena.get(offset + HEADER_SIZE, boardName, 0, boardNameLength);
+                encodedRecordConsumer.accept(encodedVendorNames.get(vendorId), boardName, boardNameLength,
+                        encodedCores.get(packedCore >>> 1), (packedCore & 1) == 1);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Vendor, board & core names are decoded for every record, {@link #forEachEncodedRecord} avoids it.
+     */
+    @Override
+    public void forEachRecord(final BoardRecordConsumer boardRecordConsumer) throws IOException {
+        forEachEncodedRecord((vendorName, boardName, boardNameLength, core, hasWifi) ->
+                boardRecordConsumer.accept(new String(vendorName, UTF_8), new String(boardName, 0, boardNameLength, UTF_8),
+                        new BoardDataSlice(new String(core, UTF_8), hasWifi)));
+    }
+
+    private int encodeVendor(final String vendorName) {
+        final int vendorId = vendorDictionary.encode(vendorName);
+        if (vendorId == encodedVendorNames.size()) {
+            encodedVendorNames.add(vendorName.getBytes(UTF_8));
+        }
+        return vendorId;
+    }
+
+    private int encodeCore(final String core) {
+        final int coreId = coreDictionary.encode(core);
+        if (coreId == encodedCores.size()) {
+            encodedCores.add(core.getBytes(UTF_8));
+        }
+        return coreId;
+    }
+
+    private void add(final int vendorId,
+                     final byte[] boardName,
+                     final int boardNameLength,
+                     final int coreId,
+                     final boolean hasWifi) {
+        int hashCode = vendorId;
+        for (int index = 0; index < boardNameLength; index++) {
+            hashCode = 31 * hashCode + boardName[index];
+        }
+        final int hash = mix(hashCode);
+        final int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            if ((int) (slots[slot] >>> 32) == hash && isSameRecord(recordAddresses[(int) slots[slot] - 1], vendorId, boardName, boardNameLength)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == recordAddresses.length) {
+            recordAddresses = Arrays.copyOf(recordAddresses, size * 2);
+        }
+        recordAddresses[size++] = append(vendorId, boardName, boardNameLength, coreId << 1 | (hasWifi ? 1 : 0));
+        slots[slot] = (long) hash << 32 | size;
+        if (size * 2 > slots.length) {
+            resize();
+        }
+    }
+
+    private long append(final int vendorId,
+                        final byte[] boardName,
+                        final int boardNameLength,
+                        final int packedCore) {
+        final int recordSize = HEADER_SIZE + boardNameLength;
+        ByteBuffer arena = arenas.isEmpty() ? null : arenas.get(arenas.size() - 1);
+        if (arena == null || arena.remaining() < recordSize) {
+            arena = ByteBuffer.allocateDirect(Math.max(arenaSize, recordSize));
+            arenas.add(arena);
+        }
+        final long address = (long) (arenas.size() - 1) << 32 | arena.position();
+        arena.putInt(vendorId).putInt(packedCore).putInt(boardNameLength).put(boardName, 0, boardNameLength);
+        return address;
+    }
+
+    private boolean isSameRecord(final long address,
+                                 final int vendorId,
+                                 final byte[] boardName,
+                                 final int boardNameLength) {
+        final ByteBuffer arena = arena(address);
+        final int offset = offset(address);
+        if (arena.getInt(offset) != vendorId || arena.getInt(offset + 2 * Integer.BYTES) != boardNameLength) {
+            return false;
+        }
+        for (int index = 0; index < boardNameLength; index++) {
+            if (arena.get(offset + HEADER_SIZE + index) != boardName[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void resize() {
+        final long[] oldSlots = slots;
+        slots = new long[oldSlots.length * 2];
+        final int mask = slots.length - 1;
+        for (final long oldSlot : oldSlots) {
+            if (oldSlot != 0) {
+                int slot = (int) (oldSlot >>> 32) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = oldSlot;
+            }
+        }
+    }
+
+    /**
+     * Sorts addresses in the range by board name, quicksort with insertion sort for short ranges.
+     * Recurses into the shorter part only, so stack depth stays logarithmic.
+     */
+    private void sortByName(final long[] addresses,
+                            int low,
+                            int high) {
+        while (high - low > 16) {
+            final int middle = (low + high) >>> 1;
+            // Median of three as pivot
+            if (compareNames(addresses[middle], addresses[low]) < 0) {
+                swap(addresses, middle, low);
+            }
+            if (compareNames(addresses[high], addresses[low]) < 0) {
+                swap(addresses, high, low);
+            }
+            if (compareNames(addresses[high], addresses[middle]) < 0) {
+                swap(addresses, high, middle);
+            }
+            final long pivot = addresses[middle];
+            int left = low;
+            int right = high;
+            while (left <= right) {
+                while (compareNames(addresses[left], pivot) < 0) {
+                    left++;
+                }
+                while (compareNames(addresses[right], pivot) > 0) {
+                    right--;
+                }
+                if (left <= right) {
+                    swap(addresses, left++, right--);
+                }
+            }
+            if (right - low < high - left) {
+                sortByName(addresses, low, right);
+                low = left;
+            } else {
+                sortByName(addresses, left, high);
+                high = right;
+            }
+        }
+        for (int index = low + 1; index <= high; index++) {
+            final long address = addresses[index];
+            int position = index - 1;
+            while (position >= low && compareNames(addresses[position], address) > 0) {
+                addresses[position + 1] = addresses[position];
+                position--;
+            }
+            addresses[position + 1] = address;
+        }
+    }
+
+    /**
+     * Compares UTF-8 board names in {@link String#compareTo} order, i.e. by UTF-16 code units.
+     */
+    private int compareNames(final long firstAddress,
+                             final long secondAddress) {
+        final ByteBuffer firstArena = arena(firstAddress);
+        final ByteBuffer secondArena = arena(secondAddress);
+        final int firstOffset = offset(firstAddress);
+        final int secondOffset = offset(secondAddress);
+        final int firstLength = firstArena.getInt(firstOffset + 2 * Integer.BYTES);
+        final int secondLength = secondArena.getInt(secondOffset + 2 * Integer.BYTES);
+        final int length = Math.min(firstLength, secondLength);
+        int index = 0;
+        // Skips common prefix 8 bytes at a time, differing bytes are looked up one by one
+        while (index + Long.BYTES <= length
+                && firstArena.getLong(firstOffset + HEADER_SIZE + index) == secondArena.getLong(secondOffset + HEADER_SIZE + index)) {
+            index += Long.BYTES;
+        }
+        for (; index < length; index++) {
+            final int firstByte = firstArena.get(firstOffset + HEADER_SIZE + index) & 0xFF;
+            final int secondByte = secondArena.get(secondOffset + HEADER_SIZE + index) & 0xFF;
+            if (firstByte != secondByte) {
+                return toUtf16Order(firstByte) - toUtf16Order(secondByte);
+            }
+        }
+        return firstLength - secondLength;
+    }
+
+    /**
+     * UTF-8 bytes compare in code point order, which differs from UTF-16 order only as surrogate pairs (lead bytes
+     * {@code F0-F4}) sort before U+E000-U+FFFF (lead bytes {@code EE-EF}). Bytes from {@code EE} are lead bytes only,
+     * so swapping these two ranges yields {@link String#compareTo} order.
+     */
+    private static int toUtf16Order(final int unsignedByte) {
+        if (unsignedByte >= 0xF0) {
+            return unsignedByte - 2;
+        }
+        return unsignedByte >= 0xEE ? unsignedByte + 5 : unsignedByte;
+    }
+
+    private static void swap(final long[] addresses,
+                             final int first,
+                             final int second) {
+        final long address = addresses[first];
+        addresses[first] = addresses[second];
+        addresses[second] = address;
+    }
+
+    private int vendorId(final long address) {
+        return arena(address).getInt(offset(address));
+    }
+
+    private ByteBuffer arena(final long address) {
+        return arenas.get((int) (address >>> 32));
+    }
+
+    private static int offset(final long address) {
+        return (int) address;
+    }
+
+    /**
+     * Spreads higher bits to lower ones, similar names of a vendor differ in low bits mostly.
+     */
+    private static int mix(final int hash) {
+        final int spread = hash * 0x9E3779B9;
+        return spread ^ (spread >>> 16);
+    }
+}
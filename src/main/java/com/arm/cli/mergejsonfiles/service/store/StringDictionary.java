@@ -0,0 +1,44 @@
+package com.arm.cli.mergejsonfiles.service.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary of repeated string values e.g. vendor & core names, each distinct value is kept once & encoded
+ * as a small integer id.
+ */
+public class StringDictionary {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * @param value string value.
+     *
+     * @return id of the value, new id is assigned if value is seen for the first time.
+     */
+    public int encode(final String value) {
+        final Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        final int newId = values.size();
+        ids.put(value, newId);
+        values.add(value);
+        return newId;
+    }
+
+    /**
+     * @param id id of the value.
+     *
+     * @return string value of the id.
+     */
+    public String decode(final int id) {
+        return values.get(id);
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,242 @@
+package com.arm.cli.mergejsonfiles.service.walk;
+
+import com.arm.cli.mergejsonfiles.service.io.JsonFiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Walks source dir tree & finds JSON input files, sub dirs are listed in parallel on a fork/join pool. Links are
+ * followed, a linked dir which is an ancestor of itself is reported & skipped instead of failing the walk.
+ * <p>
+ * Globs are matched against the path relative to the source dir, a glob without a '/' is matched against the file
+ * or dir name only. Include globs select files, exclude globs skip files & whole dirs.
+ * </p>
+ */
+public class DirectoryWalker {
+    /**
+     * Order of input files, earlier file wins for duplicates. Files are ordered by file name & then by path, so files
+     * of the same name in diff. dirs have a stable order too.
+     */
+    public static final Comparator<Path> FILE_ORDER = Comparator.comparing(Path::getFileName)
+            .thenComparing(Path::toString);
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryWalker.class);
+
+    private final Path sourceDirPath;
+    private final List<PathMatcher> includeMatchers;
+    private final List<PathMatcher> excludeMatchers;
+    private final int maxDepth;
+    private final LongAdder listingNanos = new LongAdder();
+
+    /**
+     * @param sourceDirPath dir to walk.
+     * @param includeGlobs globs of files to include, all JSON files are included if empty.
+     * @param excludeGlobs globs of files & dirs to skip.
+     * @param maxDepth max depth of files, files directly inside source dir have depth {@code 1}.
+     */
+    public DirectoryWalker(final Path sourceDirPath,
+                           final List<String> includeGlobs,
+                           final List<String> excludeGlobs,
+                           final int maxDepth) {
+        this.sourceDirPath = sourceDirPath;
+        this.includeMatchers = toPathMatchers(sourceDirPath.getFileSystem(), includeGlobs);
+        this.excludeMatchers = toPathMatchers(sourceDirPath.getFileSystem(), excludeGlobs);
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Walks dir tree & passes each input file to the consumer as soon as it is found, in no particular order.
+     *
+     * @param parallelism no. of threads listing dirs, consumer is called on them concurrently if greater than {@code 1}.
+     * @param fileConsumer consumer of found files.
+     *
+     * @throws IOException if an I/O error occurs while listing a dir.
+     */
+    public void walk(final int parallelism,
+                     final Consumer<Path> fileConsumer) throws IOException {
+        final DirectoryTask rootTask = new DirectoryTask(sourceDirPath, 0, null, fileConsumer, parallelism > 1);
+        try {
+            if (parallelism > 1) {
+                final ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+                try {
+                    forkJoinPool.invoke(rootTask);
+                } finally {
+                    forkJoinPool.shutdown();
+                }
+            } else {
+                rootTask.compute();
+            }
+        } catch (UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            throw new IOException("Listing files has been interrupted", rejectedExecutionException);
+        }
+    }
+
+    /**
+     * Walks dir tree & lists input files.
+     *
+     * @param parallelism no. of threads listing dirs.
+     *
+     * @return input files in {@link #FILE_ORDER}.
+     * @throws IOException if an I/O error occurs while listing a dir.
+     */
+    public List<Path> list(final int parallelism) throws IOException {
+        final Queue<Path> jsonFiles = new ConcurrentLinkedQueue<>();
+        walk(parallelism, jsonFiles::add);
+        return jsonFiles.stream()
+                .sorted(FILE_ORDER)
+                .toList();
+    }
+
+    /**
+     * @return time spent listing dirs summed over all threads, excludes time spent in the file consumer.
+     */
+    public long getListingNanos() {
+        return listingNanos.sum();
+    }
+
+    private boolean isIncluded(final Path path,
+                               final BasicFileAttributes fileAttributes) {
+        if (!fileAttributes.isRegularFile() || !JsonFiles.isJsonFile(path) || matchesAny(excludeMatchers, path)) {
+            return false;
+        }
+        return includeMatchers.isEmpty() || matchesAny(includeMatchers, path);
+    }
+
+    private boolean matchesAny(final List<PathMatcher> pathMatchers,
+                               final Path path) {
+        final Path relativePath = sourceDirPath.relativize(path);
+        for (final PathMatcher pathMatcher : pathMatchers) {
+            if (pathMatcher.matches(relativePath) || pathMatcher.matches(relativePath.getFileName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathMatcher> toPathMatchers(final FileSystem fileSystem,
+                                                    final List<String> globs) {
+        return globs.stream()
+                .map(glob -> fileSystem.getPathMatcher("glob:" + glob))
+                .toList();
+    }
+
+    /**
+     * Dir on the path from the source dir to the dir being listed, used to detect links back into the path.
+     *
+     * @param fileKey file key of the dir, real path if file system has no file keys.
+     * @param parent ancestor dir, {@code null} for the source dir.
+     */
+    private record Ancestor(Object fileKey, Ancestor parent) {
+        boolean contains(final Object otherFileKey) {
+            for (Ancestor ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+                if (Objects.equals(ancestor.fileKey, otherFileKey)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Lists a single dir, files are passed to the consumer & sub dirs are forked or listed in place.
+     */
+    private final class DirectoryTask extends RecursiveAction {
+        private final Path dirPath;
+        private final int depth;
+        private final Ancestor parent;
+        private final Consumer<Path> fileConsumer;
+        private final boolean forked;
+
+        private DirectoryTask(final Path dirPath,
+                              final int depth,
+                              final Ancestor parent,
+                              final Consumer<Path> fileConsumer,
+                              final boolean forked) {
+            this.dirPath = dirPath;
+            this.depth = depth;
+            this.parent = parent;
+            this.fileConsumer = fileConsumer;
+            this.forked = forked;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                final Object fileKey = fileKey(dirPath);
+                if (parent != null && parent.contains(fileKey)) {
+                    LOGGER.warn("Skipping dir {}, it links to one of its parent dirs", dirPath);
+                    return;
+                }
+                final Ancestor ancestor = new Ancestor(fileKey, parent);
+                final List<Path> jsonFiles = new ArrayList<>();
+                final List<DirectoryTask> subDirTasks = new ArrayList<>();
+                final long listingStartNanos = System.nanoTime();
+                try (final DirectoryStream<Path> entries = Files.newDirectoryStream(dirPath)) {
+                    for (final Path entry : entries) {
+                        final BasicFileAttributes fileAttributes = readAttributes(entry);
+                        if (fileAttributes == null) {
+                            continue;
+                        }
+                        if (fileAttributes.isDirectory()) {
+                            if (depth + 1 < maxDepth && !matchesAny(excludeMatchers, entry)) {
+                                subDirTasks.add(new DirectoryTask(entry, depth + 1, ancestor, fileConsumer, forked));
+                            }
+                        } else if (isIncluded(entry, fileAttributes)) {
+                            jsonFiles.add(entry);
+                        }
+                    }
+                }
+                listingNanos.add(System.nanoTime() - listingStartNanos);
+                if (!forked) {
+                    jsonFiles.forEach(fileConsumer);
+                    subDirTasks.forEach(DirectoryTask::compute);
+                    return;
+                }
+                // Files of a single large dir are consumed in parallel as well
+                final List<ForkJoinTask<?>> tasks = new ArrayList<>(subDirTasks);
+                for (final Path jsonFile : jsonFiles) {
+                    tasks.add(ForkJoinTask.adapt(() -> fileConsumer.accept(jsonFile)));
+                }
+                invokeAll(tasks);
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+
+        private Object fileKey(final Path path) throws IOException {
+            final Object fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+            return fileKey != null ? fileKey : path.toRealPath();
+        }
+
+        private BasicFileAttributes readAttributes(final Path path) {
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (IOException ioException) {
+                // Broken link, neither a dir nor a regular file
+                return null;
+            }
+        }
+    }
+}
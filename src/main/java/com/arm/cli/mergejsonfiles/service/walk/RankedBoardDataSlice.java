@@ -0,0 +1,40 @@
+package com.arm.cli.mergejsonfiles.service.walk;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+
+import java.nio.file.Path;
+
+/**
+ * Partial board data which keeps the file it has been read from, so duplicates of files parsed in any order are
+ * resolved the same way as if files were parsed in {@link DirectoryWalker#FILE_ORDER}.
+ */
+public class RankedBoardDataSlice extends BoardDataSlice {
+    private final Path sourceFile;
+
+    public RankedBoardDataSlice(final String core,
+                                final boolean hasWifi,
+                                final Path sourceFile) {
+        super(core, hasWifi);
+        this.sourceFile = sourceFile;
+    }
+
+    public Path getSourceFile() {
+        return sourceFile;
+    }
+
+    /**
+     * Picks record of the earlier file for a duplicate (vendor, name).
+     *
+     * @param existingBoardDataSlice {@link RankedBoardDataSlice} record kept so far.
+     * @param nextBoardDataSlice {@link RankedBoardDataSlice} duplicate record.
+     *
+     * @return record of the earlier file, existing record if both are read from the same file as it has been read first.
+     */
+    public static BoardDataSlice earlier(final BoardDataSlice existingBoardDataSlice,
+                                         final BoardDataSlice nextBoardDataSlice) {
+        return DirectoryWalker.FILE_ORDER.compare(((RankedBoardDataSlice) nextBoardDataSlice).sourceFile,
+                ((RankedBoardDataSlice) existingBoardDataSlice).sourceFile) < 0
+                ? nextBoardDataSlice
+                : existingBoardDataSlice;
+    }
+}
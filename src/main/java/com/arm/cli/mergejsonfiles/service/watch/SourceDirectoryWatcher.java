@@ -0,0 +1,182 @@
+package com.arm.cli.mergejsonfiles.service.watch;
+
+import com.arm.cli.mergejsonfiles.model.MergeOptions;
+import com.arm.cli.mergejsonfiles.service.IMergeFilesService;
+import com.arm.cli.mergejsonfiles.service.io.JsonFiles;
+import com.arm.cli.mergejsonfiles.service.shard.OutputShards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches source dir tree & re-merges files once changes settle. Bursts of events are debounced, a merge starts
+ * after no relevant event has arrived for the debounce period, or at the latest after {@link #MAX_DEBOUNCE_PERIODS}
+ * periods so a steady stream of changes can't hold merging back forever.
+ */
+public class SourceDirectoryWatcher implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SourceDirectoryWatcher.class);
+    private static final int MAX_DEBOUNCE_PERIODS = 10;
+
+    private final IMergeFilesService mergeFilesService;
+    private final Path sourceDirPath;
+    private final Path outputFilePath;
+    // Output file & its shards, rewritten by every merge
+    private final Predicate<Path> outputFileMatcher;
+    private final MergeOptions mergeOptions;
+    private final long debounceMillis;
+    private final WatchService watchService;
+    // Registered directories, sub dirs are registered as they're created
+    private final Map<WatchKey, Path> watchedDirPaths = new HashMap<>();
+
+    /**
+     * @param mergeFilesService {@link IMergeFilesService} merges files on changes.
+     * @param sourceDirPath source dir, watched together with its sub dirs.
+     * @param outputFilePath combined JSON output file, changes to it & its shard files are ignored.
+     * @param mergeOptions {@link MergeOptions} tuning parameters of every merge run.
+     * @param debounceMillis quiet period after the last change before files are merged.
+     *
+     * @throws IOException if watch service can't be created or source dir tree can't be registered.
+     */
+    public SourceDirectoryWatcher(final IMergeFilesService mergeFilesService,
+                                  final Path sourceDirPath,
+                                  final Path outputFilePath,
+                                  final MergeOptions mergeOptions,
+                                  final long debounceMillis) throws IOException {
+        this.mergeFilesService = mergeFilesService;
+        this.sourceDirPath = sourceDirPath;
+        this.outputFilePath = outputFilePath;
+        this.outputFileMatcher = OutputShards.outputFileMatcher(outputFilePath);
+        this.mergeOptions = mergeOptions;
+        this.debounceMillis = debounceMillis;
+        this.watchService = sourceDirPath.getFileSystem().newWatchService();
+        registerTree(sourceDirPath);
+    }
+
+    /**
+     * Waits for changes & re-merges files until watcher is closed or thread is interrupted. Failed merges are
+     * logged & watching continues.
+     */
+    public void run() {
+        LOGGER.info("Watching {} for changes", sourceDirPath);
+        try {
+            while (true) {
+                if (!awaitChanges()) {
+                    continue;
+                }
+                final long startNanos = System.nanoTime();
+                try {
+                    mergeFilesService.merge(sourceDirPath, outputFilePath, mergeOptions);
+                    LOGGER.info("Re-merged changes in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                } catch (Exception e) {
+                    LOGGER.error("Error while re-merging json files: %s".formatted(e.getMessage()), e);
+                }
+            }
+        } catch (ClosedWatchServiceException closedWatchServiceException) {
+            LOGGER.info("Stopped watching {}", sourceDirPath);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            LOGGER.info("Stopped watching {}", sourceDirPath);
+        }
+    }
+
+    /**
+     * Stops watching, {@link #run()} returns once the current merge has completed.
+     *
+     * @throws IOException if an I/O error occurs while closing watch service.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * Blocks until a relevant change arrives & debounces following changes.
+     *
+     * @return true if files need to be merged.
+     * @throws InterruptedException if waiting has been interrupted.
+     */
+    private boolean awaitChanges() throws InterruptedException {
+        boolean changed = processEvents(watchService.take());
+        final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(debounceMillis * MAX_DEBOUNCE_PERIODS);
+        WatchKey watchKey;
+        while (System.nanoTime() < deadlineNanos
+                && (watchKey = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+            changed |= processEvents(watchKey);
+        }
+        return changed;
+    }
+
+    /**
+     * Registers newly created dirs & checks whether events affect input files.
+     *
+     * @param watchKey {@link WatchKey} signalled key.
+     *
+     * @return true if any event affects input files or their dirs.
+     */
+    private boolean processEvents(final WatchKey watchKey) {
+        final Path dirPath = watchedDirPaths.get(watchKey);
+        boolean changed = false;
+        for (final WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+            if (watchEvent.kind() == OVERFLOW || dirPath == null) {
+                changed = true;
+                continue;
+            }
+            final Path path = dirPath.resolve((Path) watchEvent.context());
+            if (outputFileMatcher.test(path)) {
+                continue;
+            }
+            if (watchEvent.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                registerTreeQuietly(path);
+                changed = true;
+            } else if (JsonFiles.isJsonFile(path) || watchedDirPaths.containsValue(path)) {
+                changed = true;
+            }
+        }
+        if (!watchKey.reset()) {
+            watchedDirPaths.remove(watchKey);
+        }
+        return changed;
+    }
+
+    /**
+     * Registers dir & all its sub dirs, follows links the same way files are listed for merging.
+     *
+     * @param dirPath dir to register.
+     *
+     * @throws IOException if an I/O error occurs while registering dirs.
+     */
+    private void registerTree(final Path dirPath) throws IOException {
+        try (final Stream<Path> paths = Files.walk(dirPath, FOLLOW_LINKS)) {
+            for (final Path path : paths.filter(Files::isDirectory).toList()) {
+                watchedDirPaths.put(path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), path);
+            }
+        }
+    }
+
+    private void registerTreeQuietly(final Path dirPath) {
+        try {
+            registerTree(dirPath);
+        } catch (IOException ioException) {
+            LOGGER.warn("Dir {} can't be watched: {}", dirPath, ioException.getMessage());
+        }
+    }
+}
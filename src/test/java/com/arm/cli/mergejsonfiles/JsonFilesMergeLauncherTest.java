@@ -0,0 +1,102 @@
+package com.arm.cli.mergejsonfiles;
+
+import com.arm.cli.mergejsonfiles.constants.ApplicationStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.ResourceUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.Files.copy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class JsonFilesMergeLauncherTest {
+    private static final String BOARDS_1_JSON = "boards-1.json";
+    private static final String BOARDS_2_JSON = "boards-2.json";
+    private static final String JSON_MISMATCHED_MESSAGE = "The merged JSON does not match the expected output";
+
+    @DisplayName("When valid arguments passed to plain launcher generates combined json file without Spring context")
+    @Test
+    void launchTest_GeneratesCombinedFile(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_1 = "classpath:test-suite-1-example-files";
+        final String expectedResultFile = "combined-board-file-expected-result.json";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_1);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path outputFile = tmpDir.resolve("combined-json-file.json");
+
+        // Method to test
+        final ApplicationStatus applicationStatus = JsonFilesMergeLauncher.launch(
+                "--source-path=" + sourceDir, "--output-file-path=" + outputFile);
+
+        // Read the files using ObjectMapper
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final JsonNode mergedJson = objectMapper.readTree(outputFile.toFile());
+        final JsonNode expectedJson = objectMapper.readTree(folder.toPath().resolve(expectedResultFile).toFile());
+
+        // Compare the JSON contents
+        assertEquals(ApplicationStatus.SUCCESS, applicationStatus);
+        assertEquals(expectedJson, mergedJson, JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When source path is missing plain launcher fails without generating output file")
+    @Test
+    void launchTest_SourcePathMissing_Fails(@TempDir Path tmpDir) {
+        final Path outputFile = tmpDir.resolve("combined-json-file.json");
+
+        // Method to test
+        final ApplicationStatus applicationStatus = JsonFilesMergeLauncher.launch("--output-file-path=" + outputFile);
+
+        assertEquals(ApplicationStatus.APPLICATION_FAILED, applicationStatus);
+        assertFalse(Files.exists(outputFile), "Output file was not expected to be generated");
+    }
+
+    @DisplayName("When jobs file passed to plain launcher runs every job & summarises partial failure")
+    @Test
+    void launchTest_JobsFile_RunsEveryJob(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_1 = "classpath:test-suite-1-example-files";
+        final String expectedResultFile = "combined-board-file-expected-result.json";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_1);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path outputFile = tmpDir.resolve("combined-json-file.json");
+        final Path compactOutputFile = tmpDir.resolve("compact-combined-json-file.json");
+        final Path failedOutputFile = tmpDir.resolve("failed-combined-json-file.json");
+        final Path jobsFile = tmpDir.resolve("jobs.json");
+        final ObjectMapper objectMapper = new ObjectMapper();
+        Files.writeString(jobsFile, """
+                {"jobs": [
+                  {"name": "default", "source-path": %s, "output-file-path": %s},
+                  {"name": "compact", "source-path": %s, "output-file-path": %s, "compact-index": true, "threads": 2},
+                  {"name": "missing-source", "source-path": %s, "output-file-path": %s}
+                ]}
+                """.formatted(
+                objectMapper.writeValueAsString(sourceDir.toString()), objectMapper.writeValueAsString(outputFile.toString()),
+                objectMapper.writeValueAsString(sourceDir.toString()), objectMapper.writeValueAsString(compactOutputFile.toString()),
+                objectMapper.writeValueAsString(tmpDir.resolve("missing").toString()), objectMapper.writeValueAsString(failedOutputFile.toString())));
+
+        // Method to test
+        final ApplicationStatus applicationStatus = JsonFilesMergeLauncher.launch("--jobs-file=" + jobsFile, "--job-threads=2");
+
+        final JsonNode expectedJson = objectMapper.readTree(folder.toPath().resolve(expectedResultFile).toFile());
+        assertEquals(ApplicationStatus.JOBS_PARTIALLY_FAILED, applicationStatus);
+        assertEquals(expectedJson, objectMapper.readTree(outputFile.toFile()), JSON_MISMATCHED_MESSAGE);
+        assertEquals(expectedJson, objectMapper.readTree(compactOutputFile.toFile()), JSON_MISMATCHED_MESSAGE);
+        assertFalse(Files.exists(failedOutputFile), "Output file was not expected to be generated");
+    }
+}
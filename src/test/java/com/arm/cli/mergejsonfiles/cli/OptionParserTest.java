@@ -0,0 +1,61 @@
+package com.arm.cli.mergejsonfiles.cli;
+
+import com.arm.cli.mergejsonfiles.exception.ClientException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OptionParserTest {
+    private static final String SOURCE_PATH = "--source-path=/data/boards";
+    private static final String OUTPUT_FILE_PATH = "--output-file-path=/data/combined.json";
+
+    @DisplayName("When more than one merge engine is selected then arguments are rejected instead of one engine being ignored")
+    @Test
+    public void optionParserTest_ConflictingMergeEngines_AreRejected() {
+        for (final List<String> engineArgs : List.of(
+                List.of("--hash-index", "--compact-index"),
+                List.of("--off-heap-store", "--hash-index"),
+                List.of("--memory-budget-mb=64", "--off-heap-store"),
+                List.of("--incremental", "--compact-index"),
+                List.of("--watch", "--memory-budget-mb=64"),
+                List.of("--incremental", "--sorted-input"),
+                List.of("--watch", "--sorted-input"))) {
+            //Method to test
+            final ClientException clientException = assertThrows(ClientException.class,
+                    () -> new OptionParser(SOURCE_PATH, OUTPUT_FILE_PATH, engineArgs.get(0), engineArgs.get(1)));
+
+            assertTrue(clientException.getMessage().contains("can't be used together"), clientException.getMessage());
+        }
+    }
+
+    @DisplayName("When output shards are combined with a merge mode writing a single output file then arguments are rejected")
+    @Test
+    public void optionParserTest_OutputShardsWithSingleFileMergeMode_AreRejected() {
+        for (final String mergeModeArg : List.of("--sorted-input", "--memory-budget-mb=64", "--compact-index", "--hash-index",
+                "--off-heap-store")) {
+            //Method to test
+            final ClientException clientException = assertThrows(ClientException.class,
+                    () -> new OptionParser(SOURCE_PATH, OUTPUT_FILE_PATH, "--output-shards=4", mergeModeArg));
+
+            assertTrue(clientException.getMessage().contains("--output-shards"), clientException.getMessage());
+        }
+        assertTrue(new OptionParser(SOURCE_PATH, OUTPUT_FILE_PATH, "--output-shards=4", "--incremental").getMergeOptions().isIncremental());
+    }
+
+    @DisplayName("When merge engine is combined with watch & incremental or with sorted input fallback then arguments are accepted")
+    @Test
+    public void optionParserTest_CompatibleMergeEngines_AreAccepted() {
+        //Method to test
+        final OptionParser watchParser = new OptionParser(SOURCE_PATH, OUTPUT_FILE_PATH, "--watch", "--incremental");
+        final OptionParser sortedInputParser = new OptionParser(SOURCE_PATH, OUTPUT_FILE_PATH, "--sorted-input", "--hash-index");
+
+        assertTrue(watchParser.isWatch());
+        assertTrue(watchParser.getMergeOptions().isIncremental());
+        assertTrue(sortedInputParser.getMergeOptions().isSortedInput());
+        assertTrue(sortedInputParser.getMergeOptions().isHashIndex());
+    }
+}
@@ -0,0 +1,139 @@
+package com.arm.cli.mergejsonfiles.server;
+
+import com.arm.cli.mergejsonfiles.service.DefaultMergeFilesService;
+import com.arm.cli.mergejsonfiles.service.cache.ParsedFileCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.ResourceUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static java.nio.file.Files.copy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MergeServerTest {
+    private static final String BOARDS_1_JSON = "boards-1.json";
+    private static final String BOARDS_2_JSON = "boards-2.json";
+    private static final String JSON_MISMATCHED_MESSAGE = "The merged JSON does not match the expected output";
+
+    @DisplayName("When merges are submitted to merge server then status can be polled & result fetched, unchanged files are restored from cache")
+    @Test
+    void mergeServerTest_SubmitPollFetch_GeneratesCombinedFile(@TempDir Path tmpDir) throws IOException, InterruptedException {
+        final String TEST_SUITE_1 = "classpath:test-suite-1-example-files";
+        final String expectedResultFile = "combined-board-file-expected-result.json";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_1);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+        // Only files modified well before they are read are cached
+        final FileTime lastModifiedTime = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        Files.setLastModifiedTime(sourceDir.resolve(BOARDS_1_JSON), lastModifiedTime);
+        Files.setLastModifiedTime(sourceDir.resolve(BOARDS_2_JSON), lastModifiedTime);
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final JsonNode expectedJson = objectMapper.readTree(folder.toPath().resolve(expectedResultFile).toFile());
+        final ParsedFileCache parsedFileCache = new ParsedFileCache(1000);
+        final HttpClient httpClient = HttpClient.newHttpClient();
+        final String mergeRequest = objectMapper.createObjectNode().put("source-path", sourceDir.toString()).toString();
+
+        try (final MergeServer mergeServer = new MergeServer(
+                new DefaultMergeFilesService(Metrics.globalRegistry, parsedFileCache), 0, 1, 1)) {
+            mergeServer.start();
+            final URI mergesUri = URI.create("http://localhost:%d/merges".formatted(mergeServer.getPort()));
+
+            for (int run = 0; run < 2; run++) {
+                // Method to test
+                final HttpResponse<String> submitResponse = httpClient.send(HttpRequest.newBuilder(mergesUri)
+                        .POST(HttpRequest.BodyPublishers.ofString(mergeRequest)).build(), HttpResponse.BodyHandlers.ofString());
+                assertEquals(202, submitResponse.statusCode());
+                final URI mergeUri = mergesUri.resolve(submitResponse.headers().firstValue("Location").orElseThrow());
+
+                String status;
+                do {
+                    Thread.sleep(10);
+                    status = objectMapper.readTree(httpClient.send(HttpRequest.newBuilder(mergeUri).build(),
+                            HttpResponse.BodyHandlers.ofString()).body()).path("status").asText();
+                } while (!"SUCCEEDED".equals(status) && !"FAILED".equals(status));
+                assertEquals("SUCCEEDED", status);
+
+                final HttpResponse<String> resultResponse = httpClient.send(HttpRequest.newBuilder(URI.create(mergeUri + "/result")).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                assertEquals(200, resultResponse.statusCode());
+                assertEquals(expectedJson, objectMapper.readTree(resultResponse.body()), JSON_MISMATCHED_MESSAGE);
+            }
+
+            final HttpResponse<String> invalidResponse = httpClient.send(HttpRequest.newBuilder(mergesUri)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"threads\": 2}")).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, invalidResponse.statusCode());
+        }
+        assertEquals(2, parsedFileCache.getMisses());
+        assertEquals(2, parsedFileCache.getHits());
+        assertTrue(parsedFileCache.getCachedBoards() > 0, "Parsed files were expected to be cached");
+    }
+
+    @DisplayName("When a merge with output kept by the server is deleted then its output index & shard files are deleted too")
+    @Test
+    void mergeServerTest_DeleteMerge_DeletesOutputAndSidecarFiles(@TempDir Path tmpDir) throws IOException, InterruptedException {
+        final String TEST_SUITE_1 = "classpath:test-suite-1-example-files";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_1);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final HttpClient httpClient = HttpClient.newHttpClient();
+        final String[] mergeRequests = {
+                objectMapper.createObjectNode().put("source-path", sourceDir.toString()).put("output-index", true).toString(),
+                objectMapper.createObjectNode().put("source-path", sourceDir.toString()).put("output-shards", 2).toString()
+        };
+
+        try (final MergeServer mergeServer = new MergeServer(new DefaultMergeFilesService(Metrics.globalRegistry), 0, 1, 2)) {
+            mergeServer.start();
+            final URI mergesUri = URI.create("http://localhost:%d/merges".formatted(mergeServer.getPort()));
+
+            for (final String mergeRequest : mergeRequests) {
+                final HttpResponse<String> submitResponse = httpClient.send(HttpRequest.newBuilder(mergesUri)
+                        .POST(HttpRequest.BodyPublishers.ofString(mergeRequest)).build(), HttpResponse.BodyHandlers.ofString());
+                assertEquals(202, submitResponse.statusCode());
+                final URI mergeUri = mergesUri.resolve(submitResponse.headers().firstValue("Location").orElseThrow());
+
+                JsonNode statusNode;
+                do {
+                    Thread.sleep(10);
+                    statusNode = objectMapper.readTree(httpClient.send(HttpRequest.newBuilder(mergeUri).build(),
+                            HttpResponse.BodyHandlers.ofString()).body());
+                } while (!"SUCCEEDED".equals(statusNode.path("status").asText()) && !"FAILED".equals(statusNode.path("status").asText()));
+                assertEquals("SUCCEEDED", statusNode.path("status").asText());
+                final Path outputDir = Path.of(statusNode.path("output_file_path").asText()).getParent();
+                try (final Stream<Path> outputFiles = Files.list(outputDir)) {
+                    assertTrue(outputFiles.count() > 1, "Sidecar files were expected next to the output");
+                }
+
+                // Method to test
+                final HttpResponse<String> deleteResponse = httpClient.send(HttpRequest.newBuilder(mergeUri).DELETE().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                assertEquals(204, deleteResponse.statusCode());
+                assertFalse(Files.exists(outputDir), "Output & sidecar files were expected to be deleted");
+            }
+        }
+    }
+}
@@ -1,5 +1,15 @@
 package com.arm.cli.mergejsonfiles.service;
 
+import com.arm.cli.mergejsonfiles.constants.OutputFormat;
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+import com.arm.cli.mergejsonfiles.model.MergeOptions;
+import com.arm.cli.mergejsonfiles.service.index.OutputIndex;
+import com.arm.cli.mergejsonfiles.service.metrics.MergeMetrics;
+import com.arm.cli.mergejsonfiles.service.quarantine.RejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+import com.arm.cli.mergejsonfiles.service.walk.DirectoryWalker;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -9,11 +19,25 @@ import org.springframework.util.ResourceUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static java.nio.file.Files.copy;
+import static java.nio.file.Files.readAllBytes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DefaultMergeFilesServiceTest {
     private static final String BOARDS_1_JSON = "boards-1.json";
@@ -174,4 +198,778 @@ public class DefaultMergeFilesServiceTest {
         // Compare the JSON contents
         assertEquals(expectedJson, mergedJson, JSON_MISMATCHED_MESSAGE);
     }
+
+    @DisplayName("When parallel merge mode is used then generates byte-for-byte the same combined json file as sequential merge")
+    @Test
+    public void defaultMergeFilesServiceTest_ParallelMerge_GeneratesSameCombinedFile(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path sequentialResultFile = tmpDir.resolve("sequential-" + COMBINED_RESULT_JSON_FILE);
+        final Path parallelResultFile = tmpDir.resolve("parallel-" + COMBINED_RESULT_JSON_FILE);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, sequentialResultFile);
+        defaultMergeFilesService.merge(sourceDir, parallelResultFile, new MergeOptions().withParallelism(4));
+
+        assertArrayEquals(readAllBytes(sequentialResultFile), readAllBytes(parallelResultFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When files are loaded ahead then generates byte-for-byte the same combined json file as reading files while parsing")
+    @Test
+    public void defaultMergeFilesServiceTest_ReadAhead_GeneratesSameCombinedFile(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory, boards-2.json gzip compressed
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        try (final OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(sourceDir.resolve(BOARDS_2_JSON + ".gz")))) {
+            Files.copy(folder.toPath().resolve(BOARDS_2_JSON), outputStream);
+        }
+        Files.writeString(sourceDir.resolve("boards-3.json"), "{\"boards\": [");
+
+        final Path resultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final Path readAheadResultFile = tmpDir.resolve("read-ahead-" + COMBINED_RESULT_JSON_FILE);
+        final Path compactReadAheadResultFile = tmpDir.resolve("compact-read-ahead-" + COMBINED_RESULT_JSON_FILE);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        defaultMergeFilesService.merge(sourceDir, resultFile);
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, readAheadResultFile, new MergeOptions().withReadAheadDepth(1));
+        defaultMergeFilesService.merge(sourceDir, compactReadAheadResultFile,
+                new MergeOptions().withReadAheadDepth(4).withCompactIndex(true));
+
+        assertArrayEquals(readAllBytes(resultFile), readAllBytes(readAheadResultFile), JSON_MISMATCHED_MESSAGE);
+        assertArrayEquals(readAllBytes(resultFile), readAllBytes(compactReadAheadResultFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When files are memory-mapped then generates byte-for-byte the same combined json file as reading files while parsing")
+    @Test
+    public void defaultMergeFilesServiceTest_MemoryMapped_GeneratesSameCombinedFile(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory, boards-2.json gzip compressed
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        try (final OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(sourceDir.resolve(BOARDS_2_JSON + ".gz")))) {
+            Files.copy(folder.toPath().resolve(BOARDS_2_JSON), outputStream);
+        }
+        Files.writeString(sourceDir.resolve("boards-3.json"), "{\"boards\": [");
+
+        final Path resultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final Path memoryMappedResultFile = tmpDir.resolve("memory-mapped-" + COMBINED_RESULT_JSON_FILE);
+        final Path readAheadMemoryMappedResultFile = tmpDir.resolve("read-ahead-memory-mapped-" + COMBINED_RESULT_JSON_FILE);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        defaultMergeFilesService.merge(sourceDir, resultFile);
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, memoryMappedResultFile, new MergeOptions().withMemoryMapThresholdBytes(1));
+        defaultMergeFilesService.merge(sourceDir, readAheadMemoryMappedResultFile,
+                new MergeOptions().withMemoryMapThresholdBytes(1).withReadAheadDepth(2));
+
+        assertArrayEquals(readAllBytes(resultFile), readAllBytes(memoryMappedResultFile), JSON_MISMATCHED_MESSAGE);
+        assertArrayEquals(readAllBytes(resultFile), readAllBytes(readAheadMemoryMappedResultFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When boards array of a single file is split into ranges then generates the same combined json & quarantine file as parsing it as a whole")
+    @Test
+    public void defaultMergeFilesServiceTest_SplitBoardsArray_GeneratesSameCombinedFile(@TempDir Path tmpDir) throws IOException {
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+        // Names with brackets, commas & escaped quotes must not cut a board, invalid & duplicate boards keep their order
+        final StringBuilder json = new StringBuilder("\uFEFF{\n  \"boards\" : [\n");
+        for (int index = 0; index < 5_000; index++) {
+            json.append(index == 0 ? "" : ",\n")
+                    .append("{\"name\": \"B-%d \\\"},[{\\\\\", ".formatted(index % 3_000))
+                    .append("\"vendor\": \"Vendor {%d}\", ".formatted(index % 7))
+                    .append("\"core\": \"Cortex-M%d\", ".formatted(index % 5))
+                    .append(index % 97 == 0 ? "\"has_wifi\": \"maybe\"}" : "\"has_wifi\": %b}".formatted(index % 2 == 0));
+        }
+        Files.writeString(sourceDir.resolve(BOARDS_1_JSON), json.append("\n]\n}\n"));
+
+        final Path resultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final Path splitResultFile = tmpDir.resolve("split-" + COMBINED_RESULT_JSON_FILE);
+        final Path quarantineFile = tmpDir.resolve("quarantine.ndjson");
+        final Path splitQuarantineFile = tmpDir.resolve("split-quarantine.ndjson");
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        defaultMergeFilesService.merge(sourceDir, resultFile, new MergeOptions().withQuarantineFilePath(quarantineFile));
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, splitResultFile, new MergeOptions()
+                .withParallelism(4)
+                .withSplitThresholdBytes(1)
+                .withQuarantineFilePath(splitQuarantineFile));
+
+        assertArrayEquals(readAllBytes(resultFile), readAllBytes(splitResultFile), JSON_MISMATCHED_MESSAGE);
+        assertArrayEquals(readAllBytes(quarantineFile), readAllBytes(splitQuarantineFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When memory budget is exceeded then records are spilled to disk & generates byte-for-byte the same combined json file as in-memory merge")
+    @Test
+    public void defaultMergeFilesServiceTest_ExternalSortMerge_GeneratesSameCombinedFile(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path inMemoryResultFile = tmpDir.resolve("in-memory-" + COMBINED_RESULT_JSON_FILE);
+        final Path externalSortResultFile = tmpDir.resolve("external-sort-" + COMBINED_RESULT_JSON_FILE);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+
+        //Method to test, small budget forces many sorted runs
+        defaultMergeFilesService.merge(sourceDir, inMemoryResultFile);
+        defaultMergeFilesService.merge(sourceDir, externalSortResultFile, new MergeOptions().withMemoryBudgetBytes(16 * 1024));
+
+        assertArrayEquals(readAllBytes(inMemoryResultFile), readAllBytes(externalSortResultFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When sorted input files provided with sorted input option then stream merges files as per requirements")
+    @Test
+    public void defaultMergeFilesServiceTest_SortedInput_StreamMergesFiles(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_1 = "classpath:test-suite-1-example-files";
+        final String expectedResultFile = "combined-board-file-expected-result.json";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_1);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path combinedJsonResultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final AtomicBoolean streamMerged = new AtomicBoolean();
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService() {
+            @Override
+            protected boolean mergePresortedFiles(final JsonFactory jsonFactory,
+                                                  final List<Path> jsonFiles,
+                                                  final Path outputFilePath,
+                                                  final MergeOptions mergeOptions,
+                                                  final RejectedRecordCollector rejectedRecordCollector,
+                                                  final boolean includeRejectionCounts,
+                                                  final MergeMetrics mergeMetrics) throws IOException {
+                streamMerged.set(super.mergePresortedFiles(jsonFactory, jsonFiles, outputFilePath, mergeOptions, rejectedRecordCollector,
+                        includeRejectionCounts, mergeMetrics));
+                return streamMerged.get();
+            }
+        };
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, combinedJsonResultFile, new MergeOptions().withSortedInput(true));
+
+        // Read the files using ObjectMapper
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final JsonNode mergedJson = objectMapper.readTree(combinedJsonResultFile.toFile());
+        final JsonNode expectedJson = objectMapper.readTree(folder.toPath().resolve(expectedResultFile).toFile());
+
+        // Compare the JSON contents
+        assertTrue(streamMerged.get(), "Sorted files were expected to be stream merged");
+        assertEquals(expectedJson, mergedJson, JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When unsorted input files provided with sorted input option then falls back to in-memory merge & generates the same combined json file")
+    @Test
+    public void defaultMergeFilesServiceTest_SortedInput_FallsBackForUnsortedFiles(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path inMemoryResultFile = tmpDir.resolve("in-memory-" + COMBINED_RESULT_JSON_FILE);
+        final Path sortedInputResultFile = tmpDir.resolve("sorted-input-" + COMBINED_RESULT_JSON_FILE);
+        final AtomicBoolean streamMerged = new AtomicBoolean(true);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService() {
+            @Override
+            protected boolean mergePresortedFiles(final JsonFactory jsonFactory,
+                                                  final List<Path> jsonFiles,
+                                                  final Path outputFilePath,
+                                                  final MergeOptions mergeOptions,
+                                                  final RejectedRecordCollector rejectedRecordCollector,
+                                                  final boolean includeRejectionCounts,
+                                                  final MergeMetrics mergeMetrics) throws IOException {
+                streamMerged.set(super.mergePresortedFiles(jsonFactory, jsonFiles, outputFilePath, mergeOptions, rejectedRecordCollector,
+                        includeRejectionCounts, mergeMetrics));
+                return streamMerged.get();
+            }
+        };
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, inMemoryResultFile);
+        defaultMergeFilesService.merge(sourceDir, sortedInputResultFile, new MergeOptions().withSortedInput(true));
+
+        assertFalse(streamMerged.get(), "Unsorted files were expected to fall back to in-memory merge");
+        assertArrayEquals(readAllBytes(inMemoryResultFile), readAllBytes(sortedInputResultFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When compact index is used then generates byte-for-byte the same combined json file as default index")
+    @Test
+    public void defaultMergeFilesServiceTest_CompactIndex_GeneratesSameCombinedFile(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path defaultIndexResultFile = tmpDir.resolve("default-index-" + COMBINED_RESULT_JSON_FILE);
+        final Path compactIndexResultFile = tmpDir.resolve("compact-index-" + COMBINED_RESULT_JSON_FILE);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, defaultIndexResultFile);
+        defaultMergeFilesService.merge(sourceDir, compactIndexResultFile, new MergeOptions().withCompactIndex(true));
+
+        assertArrayEquals(readAllBytes(defaultIndexResultFile), readAllBytes(compactIndexResultFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When hash index is used then generates byte-for-byte the same combined json file as default index, sequentially & in parallel")
+    @Test
+    public void defaultMergeFilesServiceTest_HashIndex_GeneratesSameCombinedFile(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory, third file duplicates every board
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve("boards-3.json"));
+
+        final Path defaultIndexResultFile = tmpDir.resolve("default-index-" + COMBINED_RESULT_JSON_FILE);
+        final Path hashIndexResultFile = tmpDir.resolve("hash-index-" + COMBINED_RESULT_JSON_FILE);
+        final Path parallelHashIndexResultFile = tmpDir.resolve("parallel-hash-index-" + COMBINED_RESULT_JSON_FILE);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, defaultIndexResultFile);
+        defaultMergeFilesService.merge(sourceDir, hashIndexResultFile, new MergeOptions().withHashIndex(true));
+        defaultMergeFilesService.merge(sourceDir, parallelHashIndexResultFile, new MergeOptions().withHashIndex(true).withParallelism(3));
+
+        assertArrayEquals(readAllBytes(defaultIndexResultFile), readAllBytes(hashIndexResultFile), JSON_MISMATCHED_MESSAGE);
+        assertArrayEquals(readAllBytes(defaultIndexResultFile), readAllBytes(parallelHashIndexResultFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When off-heap store is used then generates byte-for-byte the same combined json file as default index, incl. escaped & non-ASCII names")
+    @Test
+    public void defaultMergeFilesServiceTest_OffHeapStore_GeneratesSameCombinedFile(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory, third file adds names sorting differently
+        // by code point than by UTF-16 code unit & names needing escapes
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+        Files.writeString(sourceDir.resolve("boards-3.json"), """
+                {"boards": [
+                  {"name": "B\\uE000", "vendor": "V\\u00e9ndor", "core": "Cortex-M4", "has_wifi": true},
+                  {"name": "B\\uD83D\\uDE00", "vendor": "V\\u00e9ndor", "core": "Cortex-M4", "has_wifi": false},
+                  {"name": "B\\"quoted\\"", "vendor": "V\\u00e9ndor", "core": "Cortex\\tM7", "has_wifi": false},
+                  {"name": "B\\uE000", "vendor": "V\\u00e9ndor", "core": "Cortex-M0", "has_wifi": false}
+                ]}
+                """);
+
+        final Path defaultIndexResultFile = tmpDir.resolve("default-index-" + COMBINED_RESULT_JSON_FILE);
+        final Path offHeapStoreResultFile = tmpDir.resolve("off-heap-store-" + COMBINED_RESULT_JSON_FILE);
+        final Path parallelOffHeapStoreResultFile = tmpDir.resolve("parallel-off-heap-store-" + COMBINED_RESULT_JSON_FILE);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, defaultIndexResultFile);
+        defaultMergeFilesService.merge(sourceDir, offHeapStoreResultFile, new MergeOptions().withOffHeapStore(true));
+        defaultMergeFilesService.merge(sourceDir, parallelOffHeapStoreResultFile, new MergeOptions().withOffHeapStore(true).withParallelism(3));
+
+        assertArrayEquals(readAllBytes(defaultIndexResultFile), readAllBytes(offHeapStoreResultFile), JSON_MISMATCHED_MESSAGE);
+        assertArrayEquals(readAllBytes(defaultIndexResultFile), readAllBytes(parallelOffHeapStoreResultFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When writing output fails then IOException is thrown, previous output file is kept & no temp file is left")
+    @Test
+    public void defaultMergeFilesServiceTest_WriteFails_KeepsPreviousOutputFile(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+        final Path outputDir = Files.createDirectory(tmpDir.resolve("output"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path combinedJsonResultFile = outputDir.resolve(COMBINED_RESULT_JSON_FILE);
+        new DefaultMergeFilesService().merge(sourceDir, combinedJsonResultFile);
+        final byte[] previousOutput = readAllBytes(combinedJsonResultFile);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService() {
+            private int noOfBoards;
+
+            @Override
+            protected void writeBoardData(final JsonGenerator jsonGenerator,
+                                          final String boardName,
+                                          final String vendorName,
+                                          final BoardDataSlice boardDataSlice) throws IOException {
+                if (++noOfBoards > 2000) {
+                    throw new IOException("No space left on device");
+                }
+                super.writeBoardData(jsonGenerator, boardName, vendorName, boardDataSlice);
+            }
+        };
+
+        //Method to test
+        final IOException ioException = assertThrows(IOException.class,
+                () -> defaultMergeFilesService.merge(sourceDir, combinedJsonResultFile, new MergeOptions().withFsync(true)));
+
+        assertEquals("No space left on device", ioException.getMessage());
+        assertArrayEquals(previousOutput, readAllBytes(combinedJsonResultFile), JSON_MISMATCHED_MESSAGE);
+        try (final Stream<Path> outputFiles = Files.list(outputDir)) {
+            assertEquals(List.of(combinedJsonResultFile), outputFiles.toList());
+        }
+    }
+
+    @DisplayName("When quarantine file path provided then reports rejected records & skipped files & adds counts to metadata")
+    @Test
+    public void defaultMergeFilesServiceTest_QuarantineFile_ReportsRejectedRecords(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_2 = "classpath:test-suite-2-partially-misspelled-fields";
+        final String expectedResultFile = "partial-combined-board-file-expected-result.json";
+        final String boardsMissingJson = "boards-3.json";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_2);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+        Files.writeString(sourceDir.resolve(boardsMissingJson), "{\"bords\": []}");
+
+        final Path combinedJsonResultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final Path quarantineFile = tmpDir.resolve("quarantine.ndjson");
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, combinedJsonResultFile, new MergeOptions().withQuarantineFilePath(quarantineFile));
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final JsonNode mergedJson = objectMapper.readTree(combinedJsonResultFile.toFile());
+        final JsonNode expectedJson = objectMapper.readTree(folder.toPath().resolve(expectedResultFile).toFile());
+        assertEquals(expectedJson.get("boards"), mergedJson.get("boards"), JSON_MISMATCHED_MESSAGE);
+        assertEquals(3, mergedJson.get("_metadata").get("rejected_records").asInt());
+        assertEquals(1, mergedJson.get("_metadata").get("skipped_files").asInt());
+        assertEquals(3, mergedJson.get("_metadata").get("rejections_by_reason").get("UNKNOWN_FIELD").asInt());
+        assertEquals(1, mergedJson.get("_metadata").get("rejections_by_reason").get("MISSING_BOARDS").asInt());
+
+        final List<String> quarantinedRecords = Files.readAllLines(quarantineFile).stream()
+                .map(line -> {
+                    try {
+                        final JsonNode rejectedRecord = objectMapper.readTree(line);
+                        return Path.of(rejectedRecord.get("source_file").asText()).getFileName() + ":"
+                                + rejectedRecord.path("index").asInt(-1) + ":" + rejectedRecord.get("reason").asText();
+                    } catch (IOException ioException) {
+                        throw new RuntimeException(ioException);
+                    }
+                })
+                .sorted()
+                .toList();
+        assertEquals(List.of(
+                BOARDS_1_JSON + ":0:UNKNOWN_FIELD",
+                BOARDS_2_JSON + ":0:UNKNOWN_FIELD",
+                BOARDS_2_JSON + ":1:UNKNOWN_FIELD",
+                boardsMissingJson + ":-1:MISSING_BOARDS"), quarantinedRecords);
+    }
+
+    @DisplayName("When incremental option is used then parses only new & changed files & generates the same combined json file as a full merge")
+    @Test
+    public void defaultMergeFilesServiceTest_Incremental_ParsesOnlyChangedFiles(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path fullResultFile = tmpDir.resolve("full-" + COMBINED_RESULT_JSON_FILE);
+        final Path incrementalResultFile = tmpDir.resolve("incremental-" + COMBINED_RESULT_JSON_FILE);
+        final List<String> parsedFiles = new ArrayList<>();
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService() {
+            @Override
+            protected boolean parseJsonFile(final JsonFactory jsonFactory,
+                                            final File jsonFile,
+                                            final BoardRecordBuffer boardRecordBuffer,
+                                            final RejectedRecordCollector rejectedRecordCollector) {
+                parsedFiles.add(jsonFile.getName());
+                return super.parseJsonFile(jsonFactory, jsonFile, boardRecordBuffer, rejectedRecordCollector);
+            }
+        };
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, incrementalResultFile, new MergeOptions().withIncremental(true));
+        assertEquals(List.of(BOARDS_1_JSON, BOARDS_2_JSON), parsedFiles);
+
+        // Replace boards-2.json by a file of different size
+        Files.writeString(sourceDir.resolve(BOARDS_2_JSON),
+                "{\"boards\": [{\"name\": \"X1\", \"vendor\": \"Zeta\", \"core\": \"Cortex-M3\", \"has_wifi\": true}]}");
+        parsedFiles.clear();
+        defaultMergeFilesService.merge(sourceDir, incrementalResultFile, new MergeOptions().withIncremental(true));
+        assertEquals(List.of(BOARDS_2_JSON), parsedFiles);
+        defaultMergeFilesService.merge(sourceDir, fullResultFile);
+        assertArrayEquals(readAllBytes(fullResultFile), readAllBytes(incrementalResultFile), JSON_MISMATCHED_MESSAGE);
+
+        // Deleted files are dropped without parsing any file
+        Files.delete(sourceDir.resolve(BOARDS_2_JSON));
+        parsedFiles.clear();
+        defaultMergeFilesService.merge(sourceDir, incrementalResultFile, new MergeOptions().withIncremental(true));
+        assertTrue(parsedFiles.isEmpty(), "Unchanged files were expected to be re-used from manifest");
+        defaultMergeFilesService.merge(sourceDir, fullResultFile);
+        assertArrayEquals(readAllBytes(fullResultFile), readAllBytes(incrementalResultFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When incremental manifest is damaged or a listed file is deleted before it is read then files are parsed again & merge succeeds")
+    @Test
+    public void defaultMergeFilesServiceTest_IncrementalDamagedManifestOrDeletedFile_ParsesFilesAgain(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path fullResultFile = tmpDir.resolve("full-" + COMBINED_RESULT_JSON_FILE);
+        final Path incrementalResultFile = tmpDir.resolve("incremental-" + COMBINED_RESULT_JSON_FILE);
+        final Path manifestFile = tmpDir.resolve("incremental-" + COMBINED_RESULT_JSON_FILE + ".manifest");
+        final List<String> parsedFiles = new ArrayList<>();
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService() {
+            @Override
+            protected boolean parseJsonFile(final JsonFactory jsonFactory,
+                                            final File jsonFile,
+                                            final BoardRecordBuffer boardRecordBuffer,
+                                            final RejectedRecordCollector rejectedRecordCollector) {
+                parsedFiles.add(jsonFile.getName());
+                return super.parseJsonFile(jsonFactory, jsonFile, boardRecordBuffer, rejectedRecordCollector);
+            }
+
+            @Override
+            protected List<Path> listFiles(final DirectoryWalker directoryWalker,
+                                           final Path outputFilePath,
+                                           final int parallelism) throws IOException {
+                // A file which is gone by the time it is read
+                final List<Path> jsonFiles = new ArrayList<>(super.listFiles(directoryWalker, outputFilePath, parallelism));
+                jsonFiles.add(sourceDir.resolve("boards-3.json"));
+                return jsonFiles;
+            }
+        };
+        new DefaultMergeFilesService().merge(sourceDir, fullResultFile);
+        defaultMergeFilesService.merge(sourceDir, incrementalResultFile, new MergeOptions().withIncremental(true));
+        assertArrayEquals(readAllBytes(fullResultFile), readAllBytes(incrementalResultFile), JSON_MISMATCHED_MESSAGE);
+
+        // Damage a byte in the middle of the manifest, partials of both files are kept before the index
+        final byte[] manifest = readAllBytes(manifestFile);
+        manifest[manifest.length / 4] ^= 0x5A;
+        Files.write(manifestFile, manifest);
+        parsedFiles.clear();
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, incrementalResultFile, new MergeOptions().withIncremental(true));
+
+        assertFalse(parsedFiles.isEmpty(), "File of the damaged partial was expected to be parsed again");
+        assertArrayEquals(readAllBytes(fullResultFile), readAllBytes(incrementalResultFile), JSON_MISMATCHED_MESSAGE);
+        // Damaged partial has been replaced, nothing is parsed on the next run
+        parsedFiles.clear();
+        defaultMergeFilesService.merge(sourceDir, incrementalResultFile, new MergeOptions().withIncremental(true));
+        assertTrue(parsedFiles.isEmpty(), "Unchanged files were expected to be re-used from manifest");
+        assertArrayEquals(readAllBytes(fullResultFile), readAllBytes(incrementalResultFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When metrics report path is provided then writes run report with counters matching the combined json file")
+    @Test
+    public void defaultMergeFilesServiceTest_MetricsReport_WritesRunReport(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path combinedJsonResultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final Path metricsReportFile = tmpDir.resolve("metrics-report.json");
+
+        //Method to test
+        new DefaultMergeFilesService().merge(sourceDir, combinedJsonResultFile,
+                new MergeOptions().withMetricsReportFilePath(metricsReportFile));
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final JsonNode mergedJson = objectMapper.readTree(combinedJsonResultFile.toFile());
+        final JsonNode metricsReport = objectMapper.readTree(metricsReportFile.toFile());
+        final long boardsRead = metricsReport.get("boards_read").asLong();
+        final long boardsWritten = metricsReport.get("boards_written").asLong();
+        assertEquals(2, metricsReport.get("files_read").asLong());
+        assertEquals(Files.size(sourceDir.resolve(BOARDS_1_JSON)) + Files.size(sourceDir.resolve(BOARDS_2_JSON)),
+                metricsReport.get("bytes_read").asLong());
+        assertEquals(Files.size(combinedJsonResultFile), metricsReport.get("bytes_written").asLong());
+        assertEquals(mergedJson.get("_metadata").get("total_boards").asLong(), boardsWritten);
+        assertEquals(boardsRead - boardsWritten, metricsReport.get("duplicates_dropped").asLong());
+        assertTrue(metricsReport.get("phases").has("parse_ms"), "Run report was expected to contain parse phase time");
+    }
+
+    @DisplayName("When output format is provided then generates output file of the format having the same content as pretty json")
+    @Test
+    public void defaultMergeFilesServiceTest_OutputFormat_GeneratesSameContent(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path prettyJsonResultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        defaultMergeFilesService.merge(sourceDir, prettyJsonResultFile);
+        final JsonNode expectedJson = new ObjectMapper().readTree(prettyJsonResultFile.toFile());
+
+        for (final OutputFormat outputFormat : List.of(OutputFormat.COMPACT_JSON, OutputFormat.SMILE, OutputFormat.CBOR)) {
+            final Path resultFile = tmpDir.resolve("combined-result." + outputFormat.getArgumentValue());
+
+            //Method to test
+            defaultMergeFilesService.merge(sourceDir, resultFile, new MergeOptions().withOutputFormat(outputFormat));
+
+            final JsonNode mergedJson = new ObjectMapper(outputFormat.createJsonFactory()).readTree(resultFile.toFile());
+            assertEquals(expectedJson, mergedJson, JSON_MISMATCHED_MESSAGE);
+            assertTrue(Files.size(resultFile) < Files.size(prettyJsonResultFile),
+                    "Output file of format %s was expected to be smaller than pretty json".formatted(outputFormat));
+        }
+    }
+
+    @DisplayName("When gzip compressed input files provided & output compression is used then generates the same combined json file gzip compressed")
+    @Test
+    public void defaultMergeFilesServiceTest_GzipInputAndOutput_GeneratesSameCombinedFile(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path plainSourceDir = Files.createDirectory(tmpDir.resolve("plain-source"));
+        final Path gzipSourceDir = Files.createDirectory(tmpDir.resolve("gzip-source"));
+
+        // Copy json files from test resources directory to tmp directory, boards-2.json gzip compressed
+        copy(folder.toPath().resolve(BOARDS_1_JSON), plainSourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), plainSourceDir.resolve(BOARDS_2_JSON));
+        copy(folder.toPath().resolve(BOARDS_1_JSON), gzipSourceDir.resolve(BOARDS_1_JSON));
+        try (final OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(gzipSourceDir.resolve(BOARDS_2_JSON + ".gz")))) {
+            Files.copy(folder.toPath().resolve(BOARDS_2_JSON), outputStream);
+        }
+
+        final Path plainResultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final Path gzipResultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE + ".gz");
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        defaultMergeFilesService.merge(plainSourceDir, plainResultFile);
+
+        //Method to test
+        defaultMergeFilesService.merge(gzipSourceDir, gzipResultFile, new MergeOptions().withOutputCompressionLevel(9));
+
+        try (final InputStream inputStream = new GZIPInputStream(Files.newInputStream(gzipResultFile))) {
+            assertArrayEquals(readAllBytes(plainResultFile), inputStream.readAllBytes(), JSON_MISMATCHED_MESSAGE);
+        }
+    }
+
+    @DisplayName("When source dir has a link loop, excluded & too deep dirs then merges only selected files, sequentially & in parallel")
+    @Test
+    public void defaultMergeFilesServiceTest_DirectoryWalkFilters_GeneratesSameCombinedFile(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_1 = "classpath:test-suite-1-example-files";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_1);
+        final Path plainSourceDir = Files.createDirectory(tmpDir.resolve("plain-source"));
+        final Path topLevelSourceDir = Files.createDirectory(tmpDir.resolve("top-level-source"));
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+        final Path nestedDir = Files.createDirectories(sourceDir.resolve("nested"));
+        final Path archiveDir = Files.createDirectories(sourceDir.resolve("archive"));
+
+        // Copy json files from test resources directory to tmp directory, archived file would override merged ones
+        copy(folder.toPath().resolve(BOARDS_1_JSON), plainSourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), plainSourceDir.resolve(BOARDS_2_JSON));
+        copy(folder.toPath().resolve(BOARDS_1_JSON), topLevelSourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), nestedDir.resolve(BOARDS_2_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), archiveDir.resolve(BOARDS_1_JSON));
+        Files.writeString(sourceDir.resolve("boards.txt"), "not a json file");
+        Files.createSymbolicLink(nestedDir.resolve("loop"), sourceDir);
+
+        final Path expectedResultFile = tmpDir.resolve("expected-" + COMBINED_RESULT_JSON_FILE);
+        final Path expectedTopLevelResultFile = tmpDir.resolve("expected-top-level-" + COMBINED_RESULT_JSON_FILE);
+        final Path sequentialResultFile = tmpDir.resolve("sequential-" + COMBINED_RESULT_JSON_FILE);
+        final Path parallelResultFile = tmpDir.resolve("parallel-" + COMBINED_RESULT_JSON_FILE);
+        final Path topLevelResultFile = tmpDir.resolve("top-level-" + COMBINED_RESULT_JSON_FILE);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        defaultMergeFilesService.merge(plainSourceDir, expectedResultFile);
+        defaultMergeFilesService.merge(topLevelSourceDir, expectedTopLevelResultFile);
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, sequentialResultFile,
+                new MergeOptions().withExcludeGlobs(List.of("archive")));
+        defaultMergeFilesService.merge(sourceDir, parallelResultFile,
+                new MergeOptions().withExcludeGlobs(List.of("archive")).withParallelism(4));
+        defaultMergeFilesService.merge(sourceDir, topLevelResultFile,
+                new MergeOptions().withIncludeGlobs(List.of("*.json")).withMaxDepth(1));
+
+        assertArrayEquals(readAllBytes(expectedResultFile), readAllBytes(sequentialResultFile), JSON_MISMATCHED_MESSAGE);
+        assertArrayEquals(readAllBytes(expectedResultFile), readAllBytes(parallelResultFile), JSON_MISMATCHED_MESSAGE);
+        assertArrayEquals(readAllBytes(expectedTopLevelResultFile), readAllBytes(topLevelResultFile), JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When newline-delimited json files provided & ndjson output format is used then generates one line per board of the combined json file")
+    @Test
+    public void defaultMergeFilesServiceTest_NdjsonInputAndOutput_GeneratesSameBoards(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path plainSourceDir = Files.createDirectory(tmpDir.resolve("plain-source"));
+        final Path ndjsonSourceDir = Files.createDirectory(tmpDir.resolve("ndjson-source"));
+        final ObjectMapper objectMapper = new ObjectMapper();
+
+        // Copy json files from test resources directory to tmp directory, one board per line, boards-2 gzip compressed
+        copy(folder.toPath().resolve(BOARDS_1_JSON), plainSourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), plainSourceDir.resolve(BOARDS_2_JSON));
+        try (final OutputStream outputStream = Files.newOutputStream(ndjsonSourceDir.resolve("boards-1.ndjson"))) {
+            for (final JsonNode board : objectMapper.readTree(folder.toPath().resolve(BOARDS_1_JSON).toFile()).get("boards")) {
+                outputStream.write((objectMapper.writeValueAsString(board) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        try (final OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(ndjsonSourceDir.resolve("boards-2.ndjson.gz")))) {
+            for (final JsonNode board : objectMapper.readTree(folder.toPath().resolve(BOARDS_2_JSON).toFile()).get("boards")) {
+                outputStream.write((objectMapper.writeValueAsString(board) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        final Path plainResultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final Path ndjsonResultFile = tmpDir.resolve("combined-json-file.ndjson");
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        defaultMergeFilesService.merge(plainSourceDir, plainResultFile);
+
+        //Method to test
+        defaultMergeFilesService.merge(ndjsonSourceDir, ndjsonResultFile, new MergeOptions().withOutputFormat(OutputFormat.NDJSON));
+
+        final List<JsonNode> expectedBoards = new ArrayList<>();
+        objectMapper.readTree(plainResultFile.toFile()).get("boards").forEach(expectedBoards::add);
+        final List<JsonNode> mergedBoards = new ArrayList<>();
+        for (final String line : Files.readAllLines(ndjsonResultFile)) {
+            mergedBoards.add(objectMapper.readTree(line));
+        }
+        assertEquals(expectedBoards, mergedBoards, JSON_MISMATCHED_MESSAGE);
+    }
+
+    @DisplayName("When output shards are requested then shards hold the boards of the combined json file in vendor ranges & manifest lists them")
+    @Test
+    public void defaultMergeFilesServiceTest_OutputShards_SplitCombinedFileByVendor(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path outputDir = Files.createDirectory(tmpDir.resolve("output"));
+        final Path singleResultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final Path manifestFile = outputDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, singleResultFile);
+        defaultMergeFilesService.merge(sourceDir, manifestFile, new MergeOptions().withOutputShards(3).withParallelism(2));
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final JsonNode expectedJson = objectMapper.readTree(singleResultFile.toFile());
+        final JsonNode manifestJson = objectMapper.readTree(manifestFile.toFile());
+        assertEquals(3, manifestJson.get("shards").size());
+        assertEquals(expectedJson.get("_metadata"), manifestJson.get("_metadata"), JSON_MISMATCHED_MESSAGE);
+
+        final List<JsonNode> mergedBoards = new ArrayList<>();
+        String lastVendor = "";
+        for (final JsonNode shard : manifestJson.get("shards")) {
+            final JsonNode shardJson = objectMapper.readTree(outputDir.resolve(shard.get("file").asText()).toFile());
+            assertEquals(shard.get("total_vendors"), shardJson.get("_metadata").get("total_vendors"));
+            assertEquals(shard.get("total_boards"), shardJson.get("_metadata").get("total_boards"));
+            // Vendor ranges are disjoint & in vendor order
+            assertTrue(lastVendor.compareTo(shard.get("first_vendor").asText()) < 0, "Shards were expected in vendor order");
+            lastVendor = shard.get("last_vendor").asText();
+            shardJson.get("boards").forEach(mergedBoards::add);
+        }
+        final List<JsonNode> expectedBoards = new ArrayList<>();
+        expectedJson.get("boards").forEach(expectedBoards::add);
+        assertEquals(expectedBoards, mergedBoards, JSON_MISMATCHED_MESSAGE);
+        try (final Stream<Path> outputFiles = Files.list(outputDir)) {
+            assertEquals(4, outputFiles.count());
+        }
+    }
+
+    @DisplayName("When sharded output is generated inside the source dir then shards, current & stale, are never merged as input")
+    @Test
+    public void defaultMergeFilesServiceTest_OutputShardsInSourceDir_AreNotMergedAgain(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path expectedSourceDir = Files.createDirectory(tmpDir.resolve("expected"));
+        final Path expectedResultFile = tmpDir.resolve(COMBINED_RESULT_JSON_FILE);
+        copy(folder.toPath().resolve(BOARDS_1_JSON), expectedSourceDir.resolve(BOARDS_1_JSON));
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        defaultMergeFilesService.merge(expectedSourceDir, expectedResultFile);
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final List<JsonNode> expectedBoards = new ArrayList<>();
+        objectMapper.readTree(expectedResultFile.toFile()).get("boards").forEach(expectedBoards::add);
+
+        for (final int parallelism : new int[] {1, 2}) {
+            final Path sourceDir = Files.createDirectory(tmpDir.resolve("source-" + parallelism));
+            final Path manifestFile = sourceDir.resolve(COMBINED_RESULT_JSON_FILE);
+
+            // Copy json files from test resources directory to tmp directory
+            copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+            copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+            //Method to test
+            defaultMergeFilesService.merge(sourceDir, manifestFile, new MergeOptions().withOutputShards(3).withParallelism(parallelism));
+            Files.delete(sourceDir.resolve(BOARDS_2_JSON));
+            defaultMergeFilesService.merge(sourceDir, manifestFile, new MergeOptions().withOutputShards(2).withParallelism(parallelism));
+
+            // Boards of the deleted file were expected to be gone, neither restored from current nor from stale shards
+            final List<JsonNode> mergedBoards = new ArrayList<>();
+            for (final JsonNode shard : objectMapper.readTree(manifestFile.toFile()).get("shards")) {
+                objectMapper.readTree(sourceDir.resolve(shard.get("file").asText()).toFile()).get("boards").forEach(mergedBoards::add);
+            }
+            assertEquals(expectedBoards, mergedBoards, JSON_MISMATCHED_MESSAGE);
+        }
+    }
+
+    @DisplayName("When output shards are generated then metrics report counts bytes of all shards & index of an earlier unsharded output is deleted")
+    @Test
+    public void defaultMergeFilesServiceTest_OutputShards_ReportsShardBytesAndDeletesStaleIndex(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path outputDir = Files.createDirectory(tmpDir.resolve("output"));
+        final Path manifestFile = outputDir.resolve(COMBINED_RESULT_JSON_FILE);
+        final Path metricsReportFile = tmpDir.resolve("metrics-report.json");
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        defaultMergeFilesService.merge(sourceDir, manifestFile, new MergeOptions().withOutputIndex(true));
+        assertTrue(Files.exists(OutputIndex.indexFilePath(manifestFile)), "Output index was expected next to the output file");
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, manifestFile,
+                new MergeOptions().withOutputShards(3).withMetricsReportFilePath(metricsReportFile));
+
+        assertFalse(Files.exists(OutputIndex.indexFilePath(manifestFile)), "Index of the unsharded output was expected to be deleted");
+        final ObjectMapper objectMapper = new ObjectMapper();
+        long expectedBytesWritten = Files.size(manifestFile);
+        for (final JsonNode shard : objectMapper.readTree(manifestFile.toFile()).get("shards")) {
+            expectedBytesWritten += Files.size(outputDir.resolve(shard.get("file").asText()));
+        }
+        assertEquals(expectedBytesWritten, objectMapper.readTree(metricsReportFile.toFile()).get("bytes_written").asLong());
+    }
 }
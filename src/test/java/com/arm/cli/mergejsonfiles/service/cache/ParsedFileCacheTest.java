@@ -0,0 +1,63 @@
+package com.arm.cli.mergejsonfiles.service.cache;
+
+import com.arm.cli.mergejsonfiles.service.quarantine.DeferredRejectedRecordCollector;
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParsedFileCacheTest {
+    @DisplayName("When file is rewritten with the same size & last modified time shortly after it was read then it's parsed again, settled files are restored from cache")
+    @Test
+    public void parsedFileCacheTest_RecentlyModifiedFile_IsParsedAgain(@TempDir Path tmpDir) throws IOException {
+        final Path filePath = tmpDir.resolve("boards.json");
+        final ParsedFileCache parsedFileCache = new ParsedFileCache(1000);
+        final BoardRecordBuffer boardRecordBuffer = new BoardRecordBuffer();
+        final FileTime recentLastModifiedTime = FileTime.fromMillis(System.currentTimeMillis());
+
+        //Method to test
+        Files.writeString(filePath, "Cortex-M4");
+        Files.setLastModifiedTime(filePath, recentLastModifiedTime);
+        parse(parsedFileCache, filePath, boardRecordBuffer);
+        assertEquals("Cortex-M4", boardRecordBuffer.getCore(0));
+
+        Files.writeString(filePath, "Cortex-M7");
+        Files.setLastModifiedTime(filePath, recentLastModifiedTime);
+        parse(parsedFileCache, filePath, boardRecordBuffer);
+        assertEquals("Cortex-M7", boardRecordBuffer.getCore(0));
+        assertEquals(0, parsedFileCache.getHits());
+        assertEquals(2, parsedFileCache.getMisses());
+
+        Files.setLastModifiedTime(filePath, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        parse(parsedFileCache, filePath, boardRecordBuffer);
+        parse(parsedFileCache, filePath, boardRecordBuffer);
+        assertEquals("Cortex-M7", boardRecordBuffer.getCore(0));
+        assertEquals(1, parsedFileCache.getHits());
+        assertEquals(3, parsedFileCache.getMisses());
+    }
+
+    /**
+     * Parses file content as the core of a single board.
+     */
+    private static void parse(final ParsedFileCache parsedFileCache,
+                              final Path filePath,
+                              final BoardRecordBuffer boardRecordBuffer) {
+        parsedFileCache.parse(filePath.toFile(), boardRecordBuffer, new DeferredRejectedRecordCollector(), rejectedRecordCollector -> {
+            try {
+                boardRecordBuffer.clear();
+                boardRecordBuffer.add("Board", "Vendor", Files.readString(filePath), false);
+                return true;
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package com.arm.cli.mergejsonfiles.service.index;
+
+import com.arm.cli.mergejsonfiles.constants.OutputFormat;
+import com.arm.cli.mergejsonfiles.model.Board;
+import com.arm.cli.mergejsonfiles.model.MergeOptions;
+import com.arm.cli.mergejsonfiles.service.DefaultMergeFilesService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.ResourceUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.nio.file.Files.copy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MergedOutputReaderTest {
+    private static final String BOARDS_1_JSON = "boards-1.json";
+    private static final String BOARDS_2_JSON = "boards-2.json";
+
+    @DisplayName("When output is indexed then boards of a vendor & single boards are found in every JSON text format, incl. escaped & non-ASCII names")
+    @Test
+    public void mergedOutputReaderTest_IndexedOutput_FindsBoards(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory, third file adds names needing escapes
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+        Files.writeString(sourceDir.resolve("boards-3.json"), """
+                {"boards": [
+                  {"name": "B\\uD83D\\uDE00", "vendor": "V\\u00e9ndor", "core": "Cortex-M4", "has_wifi": false},
+                  {"name": "B\\"quoted\\"", "vendor": "V\\u00e9ndor", "core": "Cortex\\tM7", "has_wifi": true}
+                ]}
+                """);
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        for (final OutputFormat outputFormat : List.of(OutputFormat.PRETTY_JSON, OutputFormat.COMPACT_JSON, OutputFormat.NDJSON)) {
+            for (final boolean offHeapStore : List.of(false, true)) {
+                final Path outputFile = tmpDir.resolve("combined-%s-%b.json".formatted(outputFormat.getArgumentValue(), offHeapStore));
+                defaultMergeFilesService.merge(sourceDir, outputFile, new MergeOptions()
+                        .withOutputIndex(true)
+                        .withOutputFormat(outputFormat)
+                        .withOffHeapStore(offHeapStore));
+
+                final List<JsonNode> boardNodes = new ArrayList<>();
+                if (outputFormat.isNewlineDelimited()) {
+                    for (final String line : Files.readAllLines(outputFile)) {
+                        boardNodes.add(objectMapper.readTree(line));
+                    }
+                } else {
+                    objectMapper.readTree(outputFile.toFile()).get("boards").forEach(boardNodes::add);
+                }
+                final Map<String, List<Board>> expectedBoards = new LinkedHashMap<>();
+                for (final JsonNode boardNode : boardNodes) {
+                    expectedBoards.computeIfAbsent(boardNode.get("vendor").asText(), vendorName -> new ArrayList<>())
+                            .add(new Board(boardNode.get("name").asText(), boardNode.get("vendor").asText(),
+                                    boardNode.get("core").asText(), boardNode.get("has_wifi").asBoolean()));
+                }
+
+                //Method to test
+                try (final MergedOutputReader mergedOutputReader = MergedOutputReader.open(outputFile)) {
+                    assertEquals(List.copyOf(expectedBoards.keySet()), List.copyOf(mergedOutputReader.getVendors()));
+                    for (final Map.Entry<String, List<Board>> vendorBoards : expectedBoards.entrySet()) {
+                        assertEquals(vendorBoards.getValue(), mergedOutputReader.findBoards(vendorBoards.getKey()));
+                        for (final Board board : vendorBoards.getValue()) {
+                            assertEquals(Optional.of(board), mergedOutputReader.findBoard(board.vendor(), board.name()));
+                        }
+                        assertTrue(mergedOutputReader.findBoard(vendorBoards.getKey(), "").isEmpty());
+                        assertTrue(mergedOutputReader.findBoard(vendorBoards.getKey(), "\uFFFF").isEmpty());
+                    }
+                    assertTrue(mergedOutputReader.findBoards("Unknown vendor").isEmpty());
+                }
+            }
+        }
+    }
+
+    @DisplayName("When output is replaced without index then index of the previous output is removed")
+    @Test
+    public void mergedOutputReaderTest_OutputReplacedWithoutIndex_Fails(@TempDir Path tmpDir) throws IOException {
+        final String TEST_SUITE_4 = "classpath:test-suite-4-large-records";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_4);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+
+        final Path outputFile = tmpDir.resolve("combined.json");
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        defaultMergeFilesService.merge(sourceDir, outputFile, new MergeOptions().withOutputIndex(true));
+        assertTrue(Files.exists(OutputIndex.indexFilePath(outputFile)), "Output index was expected next to the output");
+
+        //Method to test
+        defaultMergeFilesService.merge(sourceDir, outputFile, new MergeOptions().withOutputFormat(OutputFormat.COMPACT_JSON));
+
+        assertTrue(Files.notExists(OutputIndex.indexFilePath(outputFile)), "Output index of previous output was expected to be removed");
+        assertThrows(IOException.class, () -> MergedOutputReader.open(outputFile));
+    }
+}
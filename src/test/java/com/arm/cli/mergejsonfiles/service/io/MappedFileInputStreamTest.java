@@ -0,0 +1,44 @@
+package com.arm.cli.mergejsonfiles.service.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MappedFileInputStreamTest {
+    @DisplayName("When file is larger than a single mapping then reads whole file chunk by chunk")
+    @Test
+    public void mappedFileInputStreamTest_ReadsAcrossChunks(@TempDir Path tmpDir) throws IOException {
+        final byte[] content = new byte[10_000];
+        for (int index = 0; index < content.length; index++) {
+            content[index] = (byte) index;
+        }
+        final Path filePath = Files.write(tmpDir.resolve("boards.json"), content);
+
+        //Method to test
+        final ByteArrayOutputStream readContent = new ByteArrayOutputStream();
+        try (final InputStream inputStream = new MappedFileInputStream(filePath, 4096)) {
+            readContent.write(inputStream.read());
+            assertEquals(100, inputStream.skip(100));
+            final byte[] buffer = new byte[3000];
+            int noOfBytes;
+            while ((noOfBytes = inputStream.read(buffer, 0, buffer.length)) >= 0) {
+                readContent.write(buffer, 0, noOfBytes);
+            }
+            assertEquals(-1, inputStream.read());
+        }
+
+        final byte[] expectedContent = new byte[content.length - 100];
+        expectedContent[0] = content[0];
+        System.arraycopy(content, 101, expectedContent, 1, content.length - 101);
+        assertArrayEquals(expectedContent, readContent.toByteArray());
+    }
+}
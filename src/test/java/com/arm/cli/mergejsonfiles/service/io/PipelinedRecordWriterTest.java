@@ -0,0 +1,29 @@
+package com.arm.cli.mergejsonfiles.service.io;
+
+import com.arm.cli.mergejsonfiles.model.BoardDataSlice;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class PipelinedRecordWriterTest {
+    @DisplayName("When writer thread fails with an error then records are still accepted & error is rethrown instead of blocking")
+    @Test
+    public void pipelinedRecordWriterTest_WriterError_IsRethrown() {
+        final BoardDataSlice boardDataSlice = new BoardDataSlice("Cortex-M4", true);
+
+        //Method to test
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> assertThrows(StackOverflowError.class, () -> {
+            try (final PipelinedRecordWriter pipelinedRecordWriter = new PipelinedRecordWriter((vendorName, boardName, slice) -> {
+                throw new StackOverflowError();
+            })) {
+                for (int index = 0; index < 100_000; index++) {
+                    pipelinedRecordWriter.accept("vendor", "board-" + index, boardDataSlice);
+                }
+            }
+        }));
+    }
+}
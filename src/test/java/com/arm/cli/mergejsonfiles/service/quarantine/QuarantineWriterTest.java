@@ -0,0 +1,36 @@
+package com.arm.cli.mergejsonfiles.service.quarantine;
+
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuarantineWriterTest {
+    @DisplayName("When parsing thread is interrupted while handing over a batch then batch is still written to the report")
+    @Test
+    public void quarantineWriterTest_InterruptedFlush_WritesBatch(@TempDir Path tmpDir) throws IOException {
+        final Path quarantineFilePath = tmpDir.resolve("quarantine.ndjson");
+        try (final QuarantineWriter quarantineWriter = new QuarantineWriter(new JsonFactory(), quarantineFilePath)) {
+            for (int index = 0; index < 10; index++) {
+                quarantineWriter.reject("boards-1.json", index, RejectionReason.INVALID_NAME);
+            }
+            Thread.currentThread().interrupt();
+
+            //Method to test
+            quarantineWriter.flush();
+
+            // Interrupt is kept for the caller
+            assertTrue(Thread.interrupted());
+        }
+
+        assertEquals(10, Files.readAllLines(quarantineFilePath).size());
+    }
+}
@@ -0,0 +1,106 @@
+package com.arm.cli.mergejsonfiles.service.reader;
+
+import com.arm.cli.mergejsonfiles.constants.RejectionReason;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static com.arm.cli.mergejsonfiles.constants.RejectionReason.INVALID_HAS_WIFI;
+import static com.arm.cli.mergejsonfiles.constants.RejectionReason.INVALID_NAME;
+import static com.arm.cli.mergejsonfiles.constants.RejectionReason.INVALID_VENDOR;
+import static com.arm.cli.mergejsonfiles.constants.RejectionReason.NOT_AN_OBJECT;
+import static com.arm.cli.mergejsonfiles.constants.RejectionReason.UNKNOWN_FIELD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoardTokenReaderTest {
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @DisplayName("When valid board objects provided then reads fields into buffer, coercing scalar values & reusing repeated vendor names")
+    @Test
+    public void boardTokenReaderTest_ReadsValidBoards() throws IOException {
+        final String json = """
+                [
+                  {"name": "B7-400X", "vendor": "Boards R Us", "core": "Cortex-M7", "has_wifi": true},
+                  {"name": "D4-200S", "vendor": "Boards R Us", "core": 4, "has_wifi": "false"}
+                ]""";
+        final BoardTokenReader boardTokenReader = new BoardTokenReader();
+        final BoardRecordBuffer boardRecordBuffer = new BoardRecordBuffer();
+
+        try (final JsonParser parser = jsonFactory.createParser(json)) {
+            parser.nextToken(); // Move to START_ARRAY
+            parser.nextToken();
+            assertNull(boardTokenReader.read(parser, boardRecordBuffer));
+            parser.nextToken();
+            assertNull(boardTokenReader.read(parser, boardRecordBuffer));
+        }
+
+        assertEquals(2, boardRecordBuffer.size());
+        assertEquals("B7-400X", boardRecordBuffer.getName(0));
+        assertEquals("Cortex-M7", boardRecordBuffer.getCore(0));
+        assertTrue(boardRecordBuffer.isHasWifi(0));
+        assertEquals("4", boardRecordBuffer.getCore(1));
+        assertFalse(boardRecordBuffer.isHasWifi(1));
+        assertSame(boardRecordBuffer.getVendor(0), boardRecordBuffer.getVendor(1), "Repeated vendor name was expected to be cached");
+    }
+
+    @DisplayName("When invalid board values provided then rejects each record as a whole without throwing")
+    @Test
+    public void boardTokenReaderTest_RejectsInvalidBoards() throws IOException {
+        final String json = """
+                [
+                  {"na": "B7-400X", "vendor": "Boards R Us", "core": "Cortex-M7", "has_wifi": true},
+                  {"name": null, "vendor": "Boards R Us", "core": "Cortex-M7", "has_wifi": true},
+                  {"name": "B7-400X", "vendor": {"name": "nested"}, "core": "Cortex-M7", "has_wifi": true},
+                  {"name": "B7-400X", "vendor": "Boards R Us", "core": "Cortex-M7"},
+                  "B7-400X",
+                  {"name": "Low_Power", "vendor": "Tech Corp.", "core": "Cortex-M0+", "has_wifi": false}
+                ]""";
+        final RejectionReason[] expectedRejectionReasons = {UNKNOWN_FIELD, INVALID_NAME, INVALID_VENDOR, INVALID_HAS_WIFI, NOT_AN_OBJECT, null};
+        final BoardTokenReader boardTokenReader = new BoardTokenReader();
+        final BoardRecordBuffer boardRecordBuffer = new BoardRecordBuffer();
+
+        try (final JsonParser parser = jsonFactory.createParser(json)) {
+            parser.nextToken(); // Move to START_ARRAY
+            for (final RejectionReason expectedRejectionReason : expectedRejectionReasons) {
+                parser.nextToken();
+                assertEquals(expectedRejectionReason, boardTokenReader.read(parser, boardRecordBuffer));
+            }
+        }
+
+        assertEquals(1, boardRecordBuffer.size());
+        assertEquals("Low_Power", boardRecordBuffer.getName(0));
+    }
+
+    @DisplayName("When has_wifi is an integer beyond int range then it is coerced to true instead of rejecting the file")
+    @Test
+    public void boardTokenReaderTest_OutOfRangeIntegerHasWifi_IsTrue() throws IOException {
+        final String json = """
+                [
+                  {"name": "B7-400X", "vendor": "Boards R Us", "core": "Cortex-M7", "has_wifi": 10000000000},
+                  {"name": "D4-200S", "vendor": "Boards R Us", "core": "Cortex-M4", "has_wifi": 100000000000000000000},
+                  {"name": "Low_Power", "vendor": "Tech Corp.", "core": "Cortex-M0+", "has_wifi": 0}
+                ]""";
+        final BoardTokenReader boardTokenReader = new BoardTokenReader();
+        final BoardRecordBuffer boardRecordBuffer = new BoardRecordBuffer();
+
+        try (final JsonParser parser = jsonFactory.createParser(json)) {
+            parser.nextToken(); // Move to START_ARRAY
+            for (int index = 0; index < 3; index++) {
+                parser.nextToken();
+                assertNull(boardTokenReader.read(parser, boardRecordBuffer));
+            }
+        }
+
+        assertEquals(3, boardRecordBuffer.size());
+        assertTrue(boardRecordBuffer.isHasWifi(0));
+        assertTrue(boardRecordBuffer.isHasWifi(1));
+        assertFalse(boardRecordBuffer.isHasWifi(2));
+    }
+}
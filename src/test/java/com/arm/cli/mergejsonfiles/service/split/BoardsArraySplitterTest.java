@@ -0,0 +1,69 @@
+package com.arm.cli.mergejsonfiles.service.split;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoardsArraySplitterTest {
+    private static final String BOARD = "{\"name\": \"B%d\", \"vendor\": \"V\", \"core\": \"Cortex-M4\", \"has_wifi\": false}";
+
+    @DisplayName("When boards array has an empty value then no ranges are returned wherever ranges would be cut")
+    @Test
+    public void boardsArraySplitterTest_EmptyValue_ReturnsNoRanges(@TempDir Path tmpDir) throws IOException {
+        final String firstBoard = BOARD.formatted(1);
+        final String secondBoard = BOARD.formatted(2);
+        for (final String boardsArray : List.of(
+                "[" + firstBoard + ",," + secondBoard + "]",
+                "[" + firstBoard + ", ," + secondBoard + "]",
+                "[" + firstBoard + "," + secondBoard + ",]",
+                "[" + firstBoard + "," + secondBoard + ",  \n]",
+                "[," + firstBoard + "]",
+                "[ ]")) {
+            final Path jsonFile = Files.writeString(tmpDir.resolve("boards.json"), "{\"boards\": " + boardsArray + "}");
+            // A single range, ranges of each board & a range per byte
+            for (final int noOfRanges : List.of(1, 2, 1024)) {
+                try (final FileChannel fileChannel = FileChannel.open(jsonFile)) {
+                    //Method to test
+                    final List<BoardsArraySplitter.BoardsRange> boardsRanges = BoardsArraySplitter.split(fileChannel, noOfRanges);
+
+                    assertTrue(boardsRanges.isEmpty(), "No ranges expected for %s, got %s".formatted(boardsArray, boardsRanges));
+                }
+            }
+        }
+    }
+
+    @DisplayName("When boards array is valid then ranges cover all boards in array order")
+    @Test
+    public void boardsArraySplitterTest_ValidArray_ReturnsRangesOfWholeBoards(@TempDir Path tmpDir) throws IOException {
+        final StringBuilder boardsArray = new StringBuilder("[");
+        for (int index = 0; index < 10; index++) {
+            boardsArray.append(index > 0 ? ",\n" : "").append(BOARD.formatted(index));
+        }
+        final String content = "{\"boards\": " + boardsArray.append("]") + "}";
+        final Path jsonFile = Files.writeString(tmpDir.resolve("boards.json"), content);
+
+        try (final FileChannel fileChannel = FileChannel.open(jsonFile)) {
+            //Method to test
+            final List<BoardsArraySplitter.BoardsRange> boardsRanges = BoardsArraySplitter.split(fileChannel, 3);
+
+            assertEquals(3, boardsRanges.size());
+            int noOfBoards = 0;
+            for (final BoardsArraySplitter.BoardsRange boardsRange : boardsRanges) {
+                assertEquals(noOfBoards, boardsRange.firstIndex());
+                final String range = content.substring((int) boardsRange.startOffset(), (int) boardsRange.endOffset());
+                noOfBoards += range.split(",\n").length;
+                assertTrue(range.strip().startsWith("{") && range.strip().endsWith("}"), range);
+            }
+            assertEquals(10, noOfBoards);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.arm.cli.mergejsonfiles.service.store;
+
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CompactBoardStoreTest {
+    @DisplayName("When store of later files is combined then records of the earlier files win for duplicates & records are sorted")
+    @Test
+    public void compactBoardStoreTest_Combine_EarlierRecordsWin() throws IOException {
+        final BoardRecordBuffer earlierFile = new BoardRecordBuffer();
+        earlierFile.add("B1", "Beta", "Cortex-M4", true);
+        earlierFile.add("A1", "Alpha", "Cortex-M0", false);
+        final BoardRecordBuffer laterFile = new BoardRecordBuffer();
+        laterFile.add("A1", "Alpha", "Cortex-M7", true);
+        laterFile.add("A0", "Alpha", "Cortex-M3", false);
+        laterFile.add("B1", "Beta", "Cortex-M3", false);
+        final CompactBoardStore compactBoardStore = new CompactBoardStore();
+        compactBoardStore.addAll(earlierFile);
+        final CompactBoardStore nextCompactBoardStore = new CompactBoardStore();
+        nextCompactBoardStore.addAll(laterFile);
+
+        //Method to test
+        compactBoardStore.combine(nextCompactBoardStore);
+
+        assertEquals(List.of("Alpha/A0/Cortex-M3/false", "Alpha/A1/Cortex-M0/false", "Beta/B1/Cortex-M4/true"),
+                records(compactBoardStore));
+    }
+
+    @DisplayName("When a vendor has more boards than its initial table holds then table grows & duplicates are still skipped")
+    @Test
+    public void compactBoardStoreTest_ManyBoardsOfVendor_KeepsFirstRecords() throws IOException {
+        final BoardRecordBuffer firstFile = new BoardRecordBuffer();
+        final BoardRecordBuffer secondFile = new BoardRecordBuffer();
+        final List<String> expectedRecords = new ArrayList<>();
+        for (int index = 0; index < 1000; index++) {
+            final String boardName = "Board-%04d".formatted(index);
+            firstFile.add(boardName, "Vendor", "Cortex-M" + index % 8, index % 2 == 0);
+            secondFile.add(boardName, "Vendor", "Cortex-A53", false);
+            expectedRecords.add("Vendor/%s/Cortex-M%d/%s".formatted(boardName, index % 8, index % 2 == 0));
+        }
+        final CompactBoardStore compactBoardStore = new CompactBoardStore();
+
+        //Method to test
+        compactBoardStore.addAll(firstFile);
+        compactBoardStore.addAll(secondFile);
+
+        assertEquals(1000, compactBoardStore.size());
+        assertEquals(expectedRecords, records(compactBoardStore));
+    }
+
+    private static List<String> records(final CompactBoardStore compactBoardStore) throws IOException {
+        final List<String> records = new ArrayList<>();
+        compactBoardStore.forEachRecord((vendorName, boardName, boardDataSlice) -> records.add(
+                "%s/%s/%s/%s".formatted(vendorName, boardName, boardDataSlice.getCore(), boardDataSlice.isHasWifi())));
+        return records;
+    }
+}
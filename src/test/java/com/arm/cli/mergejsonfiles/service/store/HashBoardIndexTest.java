@@ -0,0 +1,83 @@
+package com.arm.cli.mergejsonfiles.service.store;
+
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HashBoardIndexTest {
+    @DisplayName("When board names have colliding hashes then index resizes & keeps every distinct record once, first one added wins")
+    @Test
+    public void hashBoardIndexTest_CollidingHashesAcrossResize_KeepsFirstRecords() throws IOException {
+        // "Aa" & "BB" share their hash code, so do all names of the same no. of these pairs
+        final List<String> boardNames = collidingNames(11);
+        final BoardRecordBuffer firstFile = new BoardRecordBuffer();
+        final BoardRecordBuffer secondFile = new BoardRecordBuffer();
+        for (final String boardName : boardNames) {
+            firstFile.add(boardName, "Vendor", "Cortex-M4", true);
+            secondFile.add(boardName, "Vendor", "Cortex-M7", false);
+        }
+        secondFile.add("Extra", "Vendor", "Cortex-M7", false);
+        final HashBoardIndex hashBoardIndex = new HashBoardIndex();
+
+        //Method to test
+        hashBoardIndex.addAll(firstFile);
+        hashBoardIndex.addAll(secondFile);
+
+        assertEquals(boardNames.size() + 1, hashBoardIndex.size());
+        final List<String> expectedRecords = new ArrayList<>();
+        for (final String boardName : boardNames.stream().sorted().toList()) {
+            expectedRecords.add("Vendor/%s/Cortex-M4/true".formatted(boardName));
+        }
+        expectedRecords.add("Vendor/Extra/Cortex-M7/false");
+        assertEquals(expectedRecords, records(hashBoardIndex));
+    }
+
+    @DisplayName("When index of later files is combined then records of the earlier files win for duplicates")
+    @Test
+    public void hashBoardIndexTest_Combine_EarlierRecordsWin() throws IOException {
+        final BoardRecordBuffer earlierFile = new BoardRecordBuffer();
+        earlierFile.add("B1", "Beta", "Cortex-M4", true);
+        earlierFile.add("A1", "Alpha", "Cortex-M0", false);
+        final BoardRecordBuffer laterFile = new BoardRecordBuffer();
+        laterFile.add("A1", "Alpha", "Cortex-M7", true);
+        laterFile.add("A0", "Alpha", "Cortex-M3", false);
+        final HashBoardIndex hashBoardIndex = new HashBoardIndex();
+        hashBoardIndex.addAll(earlierFile);
+        final HashBoardIndex nextHashBoardIndex = new HashBoardIndex();
+        nextHashBoardIndex.addAll(laterFile);
+
+        //Method to test
+        hashBoardIndex.combine(nextHashBoardIndex);
+
+        assertEquals(List.of("Alpha/A0/Cortex-M3/false", "Alpha/A1/Cortex-M0/false", "Beta/B1/Cortex-M4/true"), records(hashBoardIndex));
+    }
+
+    private static List<String> records(final HashBoardIndex hashBoardIndex) throws IOException {
+        final List<String> records = new ArrayList<>();
+        hashBoardIndex.forEachRecord((vendorName, boardName, boardDataSlice) -> records.add(
+                "%s/%s/%s/%s".formatted(vendorName, boardName, boardDataSlice.getCore(), boardDataSlice.isHasWifi())));
+        return records;
+    }
+
+    /**
+     * @return all 2^noOfPairs names made of "Aa" & "BB" pairs, names of the same length have the same hash code.
+     */
+    private static List<String> collidingNames(final int noOfPairs) {
+        List<String> names = List.of("");
+        for (int pair = 0; pair < noOfPairs; pair++) {
+            final List<String> longerNames = new ArrayList<>(names.size() * 2);
+            for (final String name : names) {
+                longerNames.add(name + "Aa");
+                longerNames.add(name + "BB");
+            }
+            names = longerNames;
+        }
+        return names;
+    }
+}
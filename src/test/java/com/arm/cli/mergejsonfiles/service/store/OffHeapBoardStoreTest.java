@@ -0,0 +1,72 @@
+package com.arm.cli.mergejsonfiles.service.store;
+
+import com.arm.cli.mergejsonfiles.service.reader.BoardRecordBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapBoardStoreTest {
+    private static final int ARENA_SIZE = 256;
+
+    @DisplayName("When records don't fit into a single arena then further arenas are allocated & a record larger than an arena gets its own")
+    @Test
+    public void offHeapBoardStoreTest_MultipleArenasAndOversizedRecord_KeepsAllRecords() throws IOException {
+        final String oversizedBoardName = "X".repeat(ARENA_SIZE * 3) + "-é€";
+        final BoardRecordBuffer firstFile = new BoardRecordBuffer();
+        final BoardRecordBuffer secondFile = new BoardRecordBuffer();
+        final List<String> expectedRecords = new ArrayList<>();
+        for (int index = 0; index < 100; index++) {
+            final String boardName = "Board-%03d".formatted(index);
+            firstFile.add(boardName, "Vendor", "Cortex-M4", index % 2 == 0);
+            secondFile.add(boardName, "Vendor", "Cortex-M7", false);
+            expectedRecords.add("Vendor/%s/Cortex-M4/%s".formatted(boardName, index % 2 == 0));
+        }
+        firstFile.add(oversizedBoardName, "Vendor", "Cortex-A53", true);
+        secondFile.add(oversizedBoardName, "Vendor", "Cortex-A72", false);
+        expectedRecords.add("Vendor/%s/Cortex-A53/true".formatted(oversizedBoardName));
+        final OffHeapBoardStore offHeapBoardStore = new OffHeapBoardStore(ARENA_SIZE);
+
+        //Method to test
+        offHeapBoardStore.addAll(firstFile);
+        offHeapBoardStore.addAll(secondFile);
+
+        assertTrue(offHeapBoardStore.getNoOfArenas() > 2, "Records were expected to be spread over several arenas");
+        assertEquals(101, offHeapBoardStore.size());
+        assertEquals(expectedRecords, records(offHeapBoardStore));
+    }
+
+    @DisplayName("When store of later files is combined then records of the earlier files win for duplicates & records are sorted")
+    @Test
+    public void offHeapBoardStoreTest_Combine_EarlierRecordsWin() throws IOException {
+        final BoardRecordBuffer earlierFile = new BoardRecordBuffer();
+        earlierFile.add("B1", "Beta", "Cortex-M4", true);
+        earlierFile.add("A1", "Alpha", "Cortex-M0", false);
+        final BoardRecordBuffer laterFile = new BoardRecordBuffer();
+        laterFile.add("A1", "Alpha", "Cortex-M7", true);
+        laterFile.add("A0", "Alpha", "Cortex-M3", false);
+        laterFile.add("B1", "Beta", "Cortex-M3", false);
+        final OffHeapBoardStore offHeapBoardStore = new OffHeapBoardStore(ARENA_SIZE);
+        offHeapBoardStore.addAll(earlierFile);
+        final OffHeapBoardStore nextOffHeapBoardStore = new OffHeapBoardStore(ARENA_SIZE);
+        nextOffHeapBoardStore.addAll(laterFile);
+
+        //Method to test
+        offHeapBoardStore.combine(nextOffHeapBoardStore);
+
+        assertEquals(List.of("Alpha/A0/Cortex-M3/false", "Alpha/A1/Cortex-M0/false", "Beta/B1/Cortex-M4/true"),
+                records(offHeapBoardStore));
+    }
+
+    private static List<String> records(final OffHeapBoardStore offHeapBoardStore) throws IOException {
+        final List<String> records = new ArrayList<>();
+        offHeapBoardStore.forEachRecord((vendorName, boardName, boardDataSlice) -> records.add(
+                "%s/%s/%s/%s".formatted(vendorName, boardName, boardDataSlice.getCore(), boardDataSlice.isHasWifi())));
+        return records;
+    }
+}
@@ -0,0 +1,115 @@
+package com.arm.cli.mergejsonfiles.service.watch;
+
+import com.arm.cli.mergejsonfiles.model.MergeOptions;
+import com.arm.cli.mergejsonfiles.service.DefaultMergeFilesService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.ResourceUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.file.Files.copy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SourceDirectoryWatcherTest {
+    private static final String BOARDS_1_JSON = "boards-1.json";
+    private static final String BOARDS_2_JSON = "boards-2.json";
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @DisplayName("When a json file is added to a sub dir of the watched source dir then output file is re-merged")
+    @Test
+    public void sourceDirectoryWatcherTest_FileAdded_ReMergesOutputFile(@TempDir Path tmpDir) throws IOException, InterruptedException {
+        final String TEST_SUITE_1 = "classpath:test-suite-1-example-files";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_1);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+        copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+        final Path combinedJsonResultFile = tmpDir.resolve("combined-json-file.json");
+        final MergeOptions mergeOptions = new MergeOptions().withIncremental(true);
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService();
+        defaultMergeFilesService.merge(sourceDir, combinedJsonResultFile, mergeOptions);
+        assertFalse(Files.readString(combinedJsonResultFile).contains("W1-100A"));
+
+        //Method to test
+        final SourceDirectoryWatcher sourceDirectoryWatcher =
+                new SourceDirectoryWatcher(defaultMergeFilesService, sourceDir, combinedJsonResultFile, mergeOptions, 50);
+        final Thread watcherThread = new Thread(sourceDirectoryWatcher::run);
+        watcherThread.start();
+        try {
+            final Path subDir = Files.createDirectory(sourceDir.resolve("sub-dir"));
+            // Give watcher the chance to register the new dir before the file is written into it
+            Thread.sleep(200);
+            Files.writeString(subDir.resolve("boards-3.json"),
+                    "{\"boards\": [{\"name\": \"W1-100A\", \"vendor\": \"Watch Ltd.\", \"core\": \"Cortex-M33\", \"has_wifi\": true}]}");
+
+            final long deadlineMillis = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            boolean reMerged = false;
+            while (!reMerged && System.currentTimeMillis() < deadlineMillis) {
+                Thread.sleep(50);
+                reMerged = Files.readString(combinedJsonResultFile).contains("W1-100A");
+            }
+            assertTrue(reMerged, "Output file was expected to be re-merged after a file has been added");
+        } finally {
+            sourceDirectoryWatcher.close();
+            watcherThread.join(TIMEOUT_MILLIS);
+        }
+        assertFalse(watcherThread.isAlive(), "Watcher was expected to stop once closed");
+    }
+
+    @DisplayName("When sharded output is generated inside the watched source dir then rewritten shards don't trigger another merge")
+    @Test
+    public void sourceDirectoryWatcherTest_OutputShardsInSourceDir_AreIgnored(@TempDir Path tmpDir) throws IOException, InterruptedException {
+        final String TEST_SUITE_1 = "classpath:test-suite-1-example-files";
+        final File folder = ResourceUtils.getFile(TEST_SUITE_1);
+        final Path sourceDir = Files.createDirectory(tmpDir.resolve("source"));
+
+        // Copy json files from test resources directory to tmp directory
+        copy(folder.toPath().resolve(BOARDS_1_JSON), sourceDir.resolve(BOARDS_1_JSON));
+
+        final Path manifestFile = sourceDir.resolve("combined-json-file.json");
+        final MergeOptions mergeOptions = new MergeOptions().withOutputShards(2);
+        final AtomicInteger noOfMerges = new AtomicInteger();
+        final DefaultMergeFilesService defaultMergeFilesService = new DefaultMergeFilesService() {
+            @Override
+            public void merge(final Path sourceDirPath,
+                              final Path outputFilePath,
+                              final MergeOptions mergeOptions) throws IOException {
+                super.merge(sourceDirPath, outputFilePath, mergeOptions);
+                noOfMerges.incrementAndGet();
+            }
+        };
+        defaultMergeFilesService.merge(sourceDir, manifestFile, mergeOptions);
+
+        //Method to test
+        final SourceDirectoryWatcher sourceDirectoryWatcher =
+                new SourceDirectoryWatcher(defaultMergeFilesService, sourceDir, manifestFile, mergeOptions, 50);
+        final Thread watcherThread = new Thread(sourceDirectoryWatcher::run);
+        watcherThread.start();
+        try {
+            copy(folder.toPath().resolve(BOARDS_2_JSON), sourceDir.resolve(BOARDS_2_JSON));
+
+            final long deadlineMillis = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (noOfMerges.get() < 2 && System.currentTimeMillis() < deadlineMillis) {
+                Thread.sleep(50);
+            }
+            assertEquals(2, noOfMerges.get(), "Output file was expected to be re-merged after a file has been added");
+            // Give watcher the chance to pick up events of the rewritten shards
+            Thread.sleep(1000);
+            assertEquals(2, noOfMerges.get(), "Rewritten shards weren't expected to trigger another merge");
+        } finally {
+            sourceDirectoryWatcher.close();
+            watcherThread.join(TIMEOUT_MILLIS);
+        }
+        assertFalse(watcherThread.isAlive(), "Watcher was expected to stop once closed");
+    }
+}